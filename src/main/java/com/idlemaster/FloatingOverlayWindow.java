@@ -5,6 +5,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
+import com.idlemaster.alerts.AlertLatencyTracker;
 import net.runelite.client.util.ImageUtil;
 import net.runelite.client.config.ConfigManager;
 
@@ -53,6 +54,7 @@ public class FloatingOverlayWindow extends JFrame {
     private final SalvageInfo salvageInfo;
     private final IdleMasterConfig config;
     private final ConfigManager configManager;
+    private final AlertLatencyTracker latencyTracker;
     private JPanel contentPanel;
     private JPanel infoPanel;
     
@@ -88,11 +90,16 @@ public class FloatingOverlayWindow extends JFrame {
     // Monster alert flash state
     private Timer flashTimer;
     private boolean flashState = false;
+    
+    // Set once disposed so queued updates from the client thread become no-ops
+    private volatile boolean disposed = false;
 
-    public FloatingOverlayWindow(SalvageInfo salvageInfo, IdleMasterConfig config, ConfigManager configManager) {
+    public FloatingOverlayWindow(SalvageInfo salvageInfo, IdleMasterConfig config, ConfigManager configManager,
+                                 AlertLatencyTracker latencyTracker) {
         this.salvageInfo = salvageInfo;
         this.config = config;
         this.configManager = configManager;
+        this.latencyTracker = latencyTracker;
         
         initializeWindow();
         loadIcons();
@@ -145,6 +152,7 @@ public class FloatingOverlayWindow extends JFrame {
                 }
                 
                 g2d.dispose();
+                latencyTracker.onOverlayPainted();
             }
         };
         
@@ -181,6 +189,18 @@ public class FloatingOverlayWindow extends JFrame {
         }
     }
     
+    @Override
+    public void dispose() {
+        // A running Swing Timer is referenced from the shared timer queue and would keep this window alive
+        disposed = true;
+        stopFlashTimer();
+        super.dispose();
+    }
+    
+    public boolean isDisposed() {
+        return disposed;
+    }
+    
     private void setupLabels() {
         boatHealthPanel = createHealthBarPanel();
         inventoryLabel = createLabel("Inv: 0/28", inventoryIcon);
@@ -224,6 +244,10 @@ public class FloatingOverlayWindow extends JFrame {
                 
                 // Draw text in center
                 String text = salvageInfo.getBoatHealth() + "/" + salvageInfo.getMaxBoatHealth();
+                String hullEta = salvageInfo.getHullEtaText();
+                if (!hullEta.isEmpty()) {
+                    text += " - " + hullEta;
+                }
                 g2d.setFont(new Font("Arial", Font.BOLD, 11));
                 FontMetrics fm = g2d.getFontMetrics();
                 int textWidth = fm.stringWidth(text);
@@ -828,7 +852,18 @@ public class FloatingOverlayWindow extends JFrame {
     }
     
     public void updateDisplay() {
+        updateDisplay(-1);
+    }
+
+    /**
+     * Applies the current info on the EDT. infoTick is the game tick the info was
+     * published on, or -1 when the update is not driven by a tick.
+     */
+    public void updateDisplay(int infoTick) {
         SwingUtilities.invokeLater(() -> {
+            if (disposed) {
+                return;
+            }
             updateBoatHealthDisplay();
             updateInventoryDisplay();
             updateCargoDisplay();
@@ -837,6 +872,9 @@ public class FloatingOverlayWindow extends JFrame {
             updateCrewStatusDisplay();
             updateMonsterAlertDisplay();
             updateXpBarDisplay();
+            if (infoTick >= 0) {
+                latencyTracker.onInfoApplied(infoTick);
+            }
             contentPanel.repaint();
         });
     }
@@ -858,7 +896,7 @@ public class FloatingOverlayWindow extends JFrame {
     
     private void updateCargoDisplay() {
         if (config.showCargo()) {
-            cargoLabel.setText("Cargo: " + salvageInfo.getCargoText());
+            cargoLabel.setText("Cargo: " + salvageInfo.getCargoText() + salvageInfo.getCargoEtaText());
             int cargoPercent = salvageInfo.getCargoPercentage();
             cargoLabel.setForeground(getCargoColor(cargoPercent));
         }
@@ -866,7 +904,7 @@ public class FloatingOverlayWindow extends JFrame {
     
     private void updateSalvageSpotsDisplay() {
         if (config.showSalvageSpots()) {
-            salvageSpotsLabel.setText("Spots: " + salvageInfo.getSalvageSpotsText());
+            salvageSpotsLabel.setText("Spots: " + salvageInfo.getSalvageSpotsText() + salvageInfo.getWreckRespawnEtaText());
             int active = salvageInfo.getActiveSalvageSpots();
             int total = salvageInfo.getTotalSalvageSpots();
             if (total == 0) {
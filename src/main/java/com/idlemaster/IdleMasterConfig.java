@@ -1,7 +1,14 @@
 package com.idlemaster;
 
+import com.idlemaster.alerts.AlertSound;
+import com.idlemaster.history.HistoryExportFormat;
+import com.idlemaster.render.CullCategory;
+import com.idlemaster.skills.thieving.HighlightStyle;
 import net.runelite.client.config.*;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @ConfigGroup("idlemaster")
 public interface IdleMasterConfig extends Config {
 
@@ -61,6 +68,16 @@ public interface IdleMasterConfig extends Config {
     )
     default boolean playBoatHealthSound() { return true; }
 
+    @ConfigItem(
+        keyName = "hullGoneLeadSeconds",
+        name = "Warn before hull gone (s)",
+        description = "Play the low health sound when the boat is estimated to reach 0 health within this many seconds. 0 disables.",
+        section = boatHealthSection,
+        position = 4
+    )
+    @Range(min = 0, max = 300)
+    default int hullGoneLeadSeconds() { return 0; }
+
     // --- Inventory Section ---
     @ConfigSection(
         name = "Sailing - Inventory",
@@ -115,6 +132,16 @@ public interface IdleMasterConfig extends Config {
     )
     default boolean playCargoSound() { return true; }
 
+    @ConfigItem(
+        keyName = "cargoFullLeadSeconds",
+        name = "Warn before full (s)",
+        description = "Play the cargo sound when cargo is estimated to be full within this many seconds. 0 disables.",
+        section = cargoSection,
+        position = 3
+    )
+    @Range(min = 0, max = 600)
+    default int cargoFullLeadSeconds() { return 0; }
+
     @ConfigItem(
         keyName = "showSalvageSpots",
         name = "Show Salvage Spots",
@@ -133,6 +160,17 @@ public interface IdleMasterConfig extends Config {
     )
     default boolean playSalvageSpotSound() { return true; }
 
+    @ConfigItem(
+        keyName = "salvageSpotLeadSeconds",
+        name = "Warn before respawn (s)",
+        description = "Play the salvage spot sound when a depleted wreck is expected back within this many seconds, "
+            + "based on the respawn times seen at that wreck. 0 disables.",
+        section = salvagingSection,
+        position = 3
+    )
+    @Range(min = 0, max = 120)
+    default int salvageSpotLeadSeconds() { return 0; }
+
     // --- Player Status Section ---
     @ConfigSection(
         name = "Sailing - Player Status",
@@ -318,7 +356,7 @@ public interface IdleMasterConfig extends Config {
     @ConfigItem(
         keyName = "soundVolume",
         name = "Sound Volume",
-        description = "Volume for alert sounds.",
+        description = "Master volume for alert sounds.",
         section = windowSection,
         position = 6
     )
@@ -343,6 +381,388 @@ public interface IdleMasterConfig extends Config {
     )
     default boolean showOverlay() { return false; }
 
+    @ConfigItem(
+        keyName = "showDebugPanel",
+        name = "Show Debug Panel",
+        description = "Add a sidebar panel with alert latency percentiles and history statistics.",
+        section = windowSection,
+        position = 9
+    )
+    default boolean showDebugPanel() { return false; }
+
+    @ConfigItem(
+        keyName = "eventJournal",
+        name = "Event Journal",
+        description = "Keep the most recent game events in memory so they can be dumped from the debug panel.",
+        section = windowSection,
+        position = 10
+    )
+    default boolean eventJournal() { return true; }
+
+    // --- Alert Sounds Section ---
+    @ConfigSection(
+        name = "Alert Sounds",
+        description = "Sound clip and volume of each alert.",
+        position = 75,
+        closedByDefault = true
+    )
+    String alertSoundSection = "alertSoundSection";
+
+    @ConfigItem(
+        keyName = "lowBoatHealthSound",
+        name = "Low Boat Health Sound",
+        description = "Sound played for the low boat health alert.",
+        section = alertSoundSection,
+        position = 1
+    )
+    default AlertSound lowBoatHealthSound() { return AlertSound.ALARM; }
+
+    @ConfigItem(
+        keyName = "lowBoatHealthVolume",
+        name = "Low Boat Health Volume",
+        description = "Volume of the low boat health alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 2
+    )
+    @Range(min = 0, max = 100)
+    default int lowBoatHealthVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "inventoryFullSound",
+        name = "Inventory Full Sound",
+        description = "Sound played for the inventory full alert.",
+        section = alertSoundSection,
+        position = 3
+    )
+    default AlertSound inventoryFullSound() { return AlertSound.BELL; }
+
+    @ConfigItem(
+        keyName = "inventoryFullVolume",
+        name = "Inventory Full Volume",
+        description = "Volume of the inventory full alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 4
+    )
+    @Range(min = 0, max = 100)
+    default int inventoryFullVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "cargoFullSound",
+        name = "Cargo Full Sound",
+        description = "Sound played for the cargo full alert.",
+        section = alertSoundSection,
+        position = 5
+    )
+    default AlertSound cargoFullSound() { return AlertSound.BELL; }
+
+    @ConfigItem(
+        keyName = "cargoFullVolume",
+        name = "Cargo Full Volume",
+        description = "Volume of the cargo full alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 6
+    )
+    @Range(min = 0, max = 100)
+    default int cargoFullVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "playerIdleSound",
+        name = "Player Idle Sound",
+        description = "Sound played for the player idle alert.",
+        section = alertSoundSection,
+        position = 7
+    )
+    default AlertSound playerIdleSound() { return AlertSound.CHIME; }
+
+    @ConfigItem(
+        keyName = "playerIdleVolume",
+        name = "Player Idle Volume",
+        description = "Volume of the player idle alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 8
+    )
+    @Range(min = 0, max = 100)
+    default int playerIdleVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "sortingDoneSound",
+        name = "Sorting Done Sound",
+        description = "Sound played for the sorting done alert.",
+        section = alertSoundSection,
+        position = 9
+    )
+    default AlertSound sortingDoneSound() { return AlertSound.CHIME; }
+
+    @ConfigItem(
+        keyName = "sortingDoneVolume",
+        name = "Sorting Done Volume",
+        description = "Volume of the sorting done alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 10
+    )
+    @Range(min = 0, max = 100)
+    default int sortingDoneVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "crewIdleSound",
+        name = "Crew Idle Sound",
+        description = "Sound played for the crew idle alert.",
+        section = alertSoundSection,
+        position = 11
+    )
+    default AlertSound crewIdleSound() { return AlertSound.BLIP; }
+
+    @ConfigItem(
+        keyName = "crewIdleVolume",
+        name = "Crew Idle Volume",
+        description = "Volume of the crew idle alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 12
+    )
+    @Range(min = 0, max = 100)
+    default int crewIdleVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "monsterAttackSound",
+        name = "Monster Attack Sound",
+        description = "Sound played for the monster attack alert.",
+        section = alertSoundSection,
+        position = 13
+    )
+    default AlertSound monsterAttackSound() { return AlertSound.ALARM; }
+
+    @ConfigItem(
+        keyName = "monsterAttackVolume",
+        name = "Monster Attack Volume",
+        description = "Volume of the monster attack alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 14
+    )
+    @Range(min = 0, max = 100)
+    default int monsterAttackVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "salvageSpotSound",
+        name = "Salvage Spot Active Sound",
+        description = "Sound played for the salvage spot active alert.",
+        section = alertSoundSection,
+        position = 15
+    )
+    default AlertSound salvageSpotSound() { return AlertSound.CHIME; }
+
+    @ConfigItem(
+        keyName = "salvageSpotVolume",
+        name = "Salvage Spot Active Volume",
+        description = "Volume of the salvage spot active alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 16
+    )
+    @Range(min = 0, max = 100)
+    default int salvageSpotVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "distractionStartSound",
+        name = "Distraction Start Sound",
+        description = "Sound played for the distraction start alert.",
+        section = alertSoundSection,
+        position = 17
+    )
+    default AlertSound distractionStartSound() { return AlertSound.CHIME; }
+
+    @ConfigItem(
+        keyName = "distractionStartVolume",
+        name = "Distraction Start Volume",
+        description = "Volume of the distraction start alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 18
+    )
+    @Range(min = 0, max = 100)
+    default int distractionStartVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "distractionEndSound",
+        name = "Distraction End Sound",
+        description = "Sound played for the distraction end alert.",
+        section = alertSoundSection,
+        position = 19
+    )
+    default AlertSound distractionEndSound() { return AlertSound.BLIP; }
+
+    @ConfigItem(
+        keyName = "distractionEndVolume",
+        name = "Distraction End Volume",
+        description = "Volume of the distraction end alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 20
+    )
+    @Range(min = 0, max = 100)
+    default int distractionEndVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "pouchesFullSound",
+        name = "Coin Pouches Full Sound",
+        description = "Sound played for the coin pouches full alert.",
+        section = alertSoundSection,
+        position = 21
+    )
+    default AlertSound pouchesFullSound() { return AlertSound.BELL; }
+
+    @ConfigItem(
+        keyName = "pouchesFullVolume",
+        name = "Coin Pouches Full Volume",
+        description = "Volume of the coin pouches full alert, as a percentage of the sound volume.",
+        section = alertSoundSection,
+        position = 22
+    )
+    @Range(min = 0, max = 100)
+    default int pouchesFullVolume() { return 100; }
+
+    @ConfigItem(
+        keyName = "customSoundFile",
+        name = "Custom Sound File",
+        description = "Path to a WAV file used by alerts set to the Custom file sound.",
+        section = alertSoundSection,
+        position = 23
+    )
+    default String customSoundFile() { return ""; }
+
+    @ConfigItem(
+        keyName = "alertMinGapMs",
+        name = "Min Gap Between Alerts (ms)",
+        description = "Minimum time between two alert sounds. A more important alert may still interrupt a less important one.",
+        section = alertSoundSection,
+        position = 24
+    )
+    @Range(min = 0, max = 10000)
+    default int alertMinGapMs() { return 1500; }
+
+    @ConfigItem(
+        keyName = "sameAlertMinGapSeconds",
+        name = "Min Gap Same Alert (s)",
+        description = "Minimum time before the same alert can sound again.",
+        section = alertSoundSection,
+        position = 25
+    )
+    @Range(min = 0, max = 300)
+    default int sameAlertMinGapSeconds() { return 5; }
+
+    // --- Session History Section ---
+    @ConfigSection(
+        name = "Session History",
+        description = "Settings for the recorded salvaging and thieving history.",
+        position = 80,
+        closedByDefault = true
+    )
+    String historySection = "historySection";
+
+    @ConfigItem(
+        keyName = "recordSessionHistory",
+        name = "Record History",
+        description = "Record XP, cargo, pouches, idle time, attacks and distractions to disk for each account.",
+        section = historySection,
+        position = 1
+    )
+    default boolean recordSessionHistory() { return true; }
+
+    @ConfigItem(
+        keyName = "exportFormat",
+        name = "Export Format",
+        description = "File format of the history export: CSV or one JSON object per line.",
+        section = historySection,
+        position = 2
+    )
+    default HistoryExportFormat exportFormat() { return HistoryExportFormat.CSV; }
+
+    @ConfigItem(
+        keyName = "exportDays",
+        name = "Export Days",
+        description = "Number of past days to export. Raw events are only kept for the last 7 days.",
+        section = historySection,
+        position = 3
+    )
+    @Range(min = 1, max = 7)
+    default int exportDays() { return 7; }
+
+    @ConfigItem(
+        keyName = "exportHistory",
+        name = "Export History",
+        description = "Export the recorded history of all accounts to .runelite/idlemaster/exports. Untick to cancel a running export.",
+        section = historySection,
+        position = 4
+    )
+    default boolean exportHistory() { return false; }
+
+    // --- Performance Section ---
+    @ConfigSection(
+        name = "Performance",
+        description = "Skip drawing parts of the scene while salvaging or thieving.",
+        position = 90,
+        closedByDefault = true
+    )
+    String performanceSection = "performanceSection";
+
+    @ConfigItem(
+        keyName = "cullingMode",
+        name = "FPS Saver",
+        description = "While salvaging or thieving, don't draw the selected kinds of entities. "
+            + "Salvage monsters and Wealthy citizens are always drawn.",
+        section = performanceSection,
+        position = 1
+    )
+    default boolean cullingMode() { return false; }
+
+    @ConfigItem(
+        keyName = "cullCategories",
+        name = "Hide",
+        description = "Kinds of entities the FPS saver hides.",
+        section = performanceSection,
+        position = 2
+    )
+    default Set<CullCategory> cullCategories() {
+        return EnumSet.of(CullCategory.OTHER_PLAYERS, CullCategory.OTHER_BOATS,
+            CullCategory.PROJECTILES, CullCategory.GRAPHICS_OBJECTS);
+    }
+
+    @ConfigItem(
+        keyName = "cullRadius",
+        name = "Radius",
+        description = "Tiles around your boat, or you when on foot, outside of which entities are hidden "
+            + "when 'Outside radius' is selected.",
+        section = performanceSection,
+        position = 3
+    )
+    @Range(min = 5, max = 64)
+    default int cullRadius() { return 24; }
+
+    @ConfigItem(
+        keyName = "lowPowerMode",
+        name = "Low Power Mode",
+        description = "Stop drawing the scene while salvaging or thieving without any input, until you move the mouse, "
+            + "press a key, an alert plays or the activity changes.",
+        section = performanceSection,
+        position = 4
+    )
+    default boolean lowPowerMode() { return false; }
+
+    @ConfigItem(
+        keyName = "lowPowerDelaySeconds",
+        name = "Low Power Delay (s)",
+        description = "Seconds without input before the scene is blanked.",
+        section = performanceSection,
+        position = 5
+    )
+    @Range(min = 5, max = 600)
+    default int lowPowerDelaySeconds() { return 30; }
+
+    @ConfigItem(
+        keyName = "lowPowerKeepFocus",
+        name = "Keep Boat / Citizens",
+        description = "Keep drawing your boat, yourself, salvage monsters and Wealthy citizens in low power mode.",
+        section = performanceSection,
+        position = 6
+    )
+    default boolean lowPowerKeepFocus() { return true; }
+
     // ==================== THIEVING ====================
     @ConfigSection(
         name = "Thieving - Wealthy Citizens",
@@ -436,7 +856,7 @@ public interface IdleMasterConfig extends Config {
     @ConfigItem(
         keyName = "thievingIdleThreshold",
         name = "Idle Threshold (seconds)",
-        description = "Seconds of inactivity before playing idle sound.",
+        description = "Seconds without pickpocketing before the player is shown as idle and the idle sound plays.",
         section = thievingSection,
         position = 9
     )
@@ -446,7 +866,7 @@ public interface IdleMasterConfig extends Config {
     @ConfigItem(
         keyName = "hideNpcsDuringDistraction",
         name = "Hide NPCs During Distraction",
-        description = "Hide all NPCs except the distracted citizen when in thieving area.",
+        description = "Hide all NPCs except the distracted citizens when in thieving area.",
         section = thievingSection,
         position = 10
     )
@@ -455,9 +875,28 @@ public interface IdleMasterConfig extends Config {
     @ConfigItem(
         keyName = "highlightDistractedCitizen",
         name = "Highlight Distracted Citizen",
-        description = "Highlight the distracted wealthy citizen with a green outline.",
+        description = "Highlight distracted wealthy citizens with a green outline.",
         section = thievingSection,
         position = 11
     )
     default boolean highlightDistractedCitizen() { return true; }
+
+    @ConfigItem(
+        keyName = "highlightStyle",
+        name = "Highlight Style",
+        description = "How distracted citizens are highlighted. The outline is the most expensive to draw, the minimap dot the cheapest. The debug panel shows the measured cost of each.",
+        section = thievingSection,
+        position = 12
+    )
+    default HighlightStyle highlightStyle() { return HighlightStyle.OUTLINE; }
+
+    @ConfigItem(
+        keyName = "pouchesFullLeadSeconds",
+        name = "Sound: Pouches Full Soon (s)",
+        description = "Play the pouches full sound when coin pouches are estimated to be full within this many seconds. 0 disables.",
+        section = thievingSection,
+        position = 13
+    )
+    @Range(min = 0, max = 300)
+    default int pouchesFullLeadSeconds() { return 0; }
 }
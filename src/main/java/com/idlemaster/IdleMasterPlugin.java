@@ -1,37 +1,84 @@
 package com.idlemaster;
 
 import com.google.inject.Provides;
+import com.idlemaster.activity.ActivityState;
+import com.idlemaster.activity.ActivityStateMachine;
+import com.idlemaster.alerts.AlertAudioService;
+import com.idlemaster.alerts.AlertBus;
+import com.idlemaster.alerts.AlertEngine;
+import com.idlemaster.alerts.AlertInput;
+import com.idlemaster.alerts.AlertLatencyTracker;
+import com.idlemaster.alerts.AlertListener;
+import com.idlemaster.alerts.AlertRule;
+import com.idlemaster.alerts.AlertType;
+import com.idlemaster.alerts.RateEstimator;
+import com.idlemaster.chat.ChatMessageRouter;
+import com.idlemaster.debug.EventJournal;
+import com.idlemaster.debug.IdleMasterDebugPanel;
+import com.idlemaster.debug.JournalEventType;
+import com.idlemaster.events.TickBatcher;
+import com.idlemaster.history.HistoryEventType;
+import com.idlemaster.history.HistoryExporter;
+import com.idlemaster.history.HistoryFiles;
+import com.idlemaster.history.HistoryQueryEngine;
+import com.idlemaster.history.SessionHistoryLog;
+import com.idlemaster.items.ContainerDiffEngine;
+import com.idlemaster.items.YieldTracker;
+import com.idlemaster.render.CullCategory;
+import com.idlemaster.render.LowPowerMode;
+import com.idlemaster.render.SceneCuller;
+import com.idlemaster.skills.sailing.CargoStateStore;
+import com.idlemaster.skills.sailing.CrewTracker;
+import com.idlemaster.skills.sailing.HullDamageTracker;
+import com.idlemaster.skills.sailing.SceneShipwrecks;
+import com.idlemaster.skills.sailing.ShipwreckTracker;
+import com.idlemaster.skills.sailing.WorldEntityTracker;
 import com.idlemaster.skills.thieving.ThievingManager;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
-import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameObjectDespawned;
 import net.runelite.api.events.GameObjectSpawned;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.InteractingChanged;
 import net.runelite.api.events.ItemContainerChanged;
-import net.runelite.api.events.MenuOptionClicked;
+import net.runelite.api.events.ItemSpawned;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
 import net.runelite.api.events.OverheadTextChanged;
+import net.runelite.api.events.PostClientTick;
 import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WorldEntityDespawned;
+import net.runelite.api.events.WorldEntitySpawned;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.widgets.Widget;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.callback.Hooks;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.input.MouseManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.util.ImageUtil;
 
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import java.awt.Image;
+import java.io.File;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 @Slf4j
@@ -48,27 +95,17 @@ public class IdleMasterPlugin extends Plugin {
     private static final int SALVAGING_ANIMATION_3 = 13584;
     private static final int SORTING_SALVAGE_ANIMATION = 13599;
     
-    // Shipwreck IDs - Salvageable (Active)
-    private static final Set<Integer> SHIPWRECK_SALVAGEABLE_IDS = Set.of(
-        60464, 60466, 60468, 60470, 60472, 60474, 60476, 60478
-    );
-    
-    // Shipwreck IDs - Depleted (Inactive)
-    private static final Set<Integer> SHIPWRECK_DEPLETED_IDS = Set.of(
-        60465, 60467, 60469, 60471, 60473, 60475, 60477, 60479
-    );
-    
     private static final int SALVAGE_RANGE = 9;
     private static final int SHIPWRECK_SIZE = 2;
     
-    // Cargo hold inventory IDs
-    private static final Set<Integer> CARGO_INVENTORY_IDS = Set.of(
+    // Cargo hold inventory IDs, indexed by boat slot
+    private static final int[] CARGO_INVENTORY_IDS = {
         InventoryID.SAILING_BOAT_1_CARGOHOLD,
         InventoryID.SAILING_BOAT_2_CARGOHOLD,
         InventoryID.SAILING_BOAT_3_CARGOHOLD,
         InventoryID.SAILING_BOAT_4_CARGOHOLD,
         InventoryID.SAILING_BOAT_5_CARGOHOLD
-    );
+    };
     
     // Monster NPC IDs that attack during salvaging
     private static final Set<Integer> SALVAGE_MONSTER_IDS = Set.of(15210, 15196, 15207, 15206, 15208, 15209, 15212, 15200, 15201, 15198, 15199);
@@ -80,6 +117,9 @@ public class IdleMasterPlugin extends Plugin {
     private static final int CARGO_OCCUPIED_WIDGET_ID = 61800452; // OCCUPIEDSLOTS - current cargo count
     private static final int CARGO_CAPACITY_WIDGET_ID = 61800453; // CAPACITY - max cargo capacity
     
+    // Coins, counted against the coin pouches opened
+    private static final int COINS_ITEM_ID = 995;
+    
     // Crew overhead text when they store salvage
     private static final String CREW_SALVAGE_OVERHEAD = "Managed to hook some salvage! I'll put it in the cargo hold.";
     
@@ -89,25 +129,16 @@ public class IdleMasterPlugin extends Plugin {
     // Chat message when shipwreck is depleted
     private static final String SHIPWRECK_DEPLETED_MESSAGE = "You salvage all you can from the shipwreck before it is reclaimed by the sea.";
     
-    // Chat message for repair kit usage
-    private static final String REPAIR_KIT_MESSAGE = "You use the repair kit to fix up the boat.";
-    
-    // Repair kit heal amounts by tier
-    private static final java.util.Map<Integer, Integer> REPAIR_KIT_HEALS = java.util.Map.of(
-        31964, 5,   // Wooden repair kit
-        31967, 10,  // Oak repair kit
-        31970, 20,  // Teak repair kit
-        31973, 30,  // Mahogany repair kit
-        31976, 40,  // Camphor repair kit
-        31979, 45,  // Ironwood repair kit
-        31982, 50   // Rosewood repair kit
-    );
-    
-    // Track last used repair kit
-    private int lastUsedRepairKitHeal = 0;
-    
-    // Sound effect ID for alerts
-    private static final int SOUND_ID = 3817;
+    // Repair kits by tier, sorted for binary search
+    private static final int[] REPAIR_KIT_IDS = {
+        31964,  // Wooden repair kit
+        31967,  // Oak repair kit
+        31970,  // Teak repair kit
+        31973,  // Mahogany repair kit
+        31976,  // Camphor repair kit
+        31979,  // Ironwood repair kit
+        31982   // Rosewood repair kit
+    };
 
     @Inject
     private Client client;
@@ -130,103 +161,224 @@ public class IdleMasterPlugin extends Plugin {
     @Inject
     private ThievingManager thievingManager;
 
+    @Inject
+    private CargoStateStore cargoStateStore;
+
+    @Inject
+    private SessionHistoryLog sessionHistory;
+
+    @Inject
+    private HistoryQueryEngine historyQueryEngine;
+
+    @Inject
+    private HistoryExporter historyExporter;
+
+    @Inject
+    private AlertAudioService alertAudio;
+
+    @Inject
+    private AlertBus alertBus;
+
+    @Inject
+    private AlertLatencyTracker latencyTracker;
+
+    @Inject
+    private ClientThread clientThread;
+
+    @Inject
+    private ClientToolbar clientToolbar;
+
+    @Inject
+    private KeyManager keyManager;
+
+    @Inject
+    private MouseManager mouseManager;
+
+    @Inject
+    private ChatMessageRouter chatRouter;
+
+    @Inject
+    private YieldTracker yieldTracker;
+
+    @Inject
+    private TickBatcher tickBatcher;
+
+    @Inject
+    private ShipwreckTracker shipwrecks;
+
+    @Inject
+    private EventJournal journal;
+
+    @Inject
+    private IdleMasterDebugPanel debugPanel;
+
     @Inject
     private com.idlemaster.skills.thieving.ThievingHighlightOverlay thievingHighlightOverlay;
 
-    private FloatingOverlayWindow floatingWindow;
+    @Inject
+    private com.idlemaster.skills.thieving.ThievingMinimapOverlay thievingMinimapOverlay;
+
+    // Assigned and cleared on the EDT, read on the client thread
+    private volatile FloatingOverlayWindow floatingWindow;
+    private NavigationButton debugNavButton;
     private SalvageInfo salvageInfo;
     private SalvageInfo previousSalvageInfo;
     
-    private Instant lastActive = Instant.now();
-    private final Set<GameObject> activeShipwrecks = new HashSet<>();
+    private final SceneShipwrecks activeShipwrecks = new SceneShipwrecks();
     private boolean inSalvageRange = false;
     
-    // Track which alerts have been played (only play once per condition)
-    private boolean alertedLowBoatHealth = false;
-    private boolean alertedInventoryFull = false;
-    private boolean alertedCargoFull = false;
-    private boolean alertedPlayerIdle = false;
-    private boolean alertedCrewIdle = false;
-    private boolean alertedMonsterAttack = false;
-    private boolean alertedSalvageSpotActive = false;
-    private int previousActiveSalvageSpots = 0;
-    private Instant salvageSpotsDepletedTime = null;
-    private static final int SALVAGE_SPOT_DEPLETED_THRESHOLD_SECONDS = 10;
-    
-    // Cargo tracking
-    private int cargoCount = 0;
-    private int maxCargoCapacity = 0;
+    // Salvaging alerts, rules are rebuilt from the config on every change
+    private final AlertEngine salvageAlerts = new AlertEngine(
+        (type, priority, causeTick, causeNanos) -> alertBus.submit(type, priority, causeTick, causeNanos));
+    
+    // Cargo stored by crew and boat damage per tick, for the "full in" / "gone in" estimates
+    private final RateEstimator cargoFillRate = new RateEstimator(100);
+    private final RateEstimator hullLossRate = new RateEstimator(10);
+    
+    // Boat slot of the cargo hold last seen in an ItemContainerChanged event
+    private int activeBoatSlot = 0;
+    
+    // Per-item changes of the inventory and cargo holds, feeding the yield tracker
+    private final ContainerDiffEngine containerDiff = new ContainerDiffEngine();
+    private final ContainerDiffEngine.Listener itemDeltaListener = new ContainerDiffEngine.Listener() {
+        @Override
+        public void onItemDelta(int containerId, int itemId, int delta) {
+            IdleMasterPlugin.this.onItemDelta(containerId, itemId, delta);
+        }
+        
+        @Override
+        public void onDiffComplete(int containerId) {
+            onItemDiffComplete(containerId);
+        }
+    };
+    // Coin pouch and coin changes within the current inventory diff
+    private int diffPouchDelta = 0;
+    private int diffCoinDelta = 0;
+    // Repair kits that left the inventory or went into a cargo hold during this tick's diffs
+    private int diffRepairKitsUsed = 0;
+    private int diffRepairKitsStored = 0;
+    // Last tick the bank changed or a repair kit was dropped, kits leaving then weren't used
+    private int bankChangedTick = -1;
+    private int kitDroppedTick = -1;
+    
+    // Changes recorded by event handlers during the tick, processed once by flushTick
+    private final Runnable tickFlusher = this::flushTick;
+    private final int[] pendingContainerIds = new int[8];
+    private final ItemContainer[] pendingContainers = new ItemContainer[8];
+    private int pendingContainerCount = 0;
+    private int pendingCrewStores = 0;
+    // Chat messages by type, several can arrive in one tick
+    private int pendingSortingDone = 0;
+    private int pendingWrecksDepleted = 0;
+    
+    // Last values written to the session history, -1 until first seen
+    private int lastRecordedCargoCount = -1;
+    private int lastRecordedSailingXp = -1;
     
     // Track previous boat health to detect damage (boat under attack)
     private int previousBoatHealth = -1;
-    private Instant lastBoatDamageTime = null;
-    private static final int BOAT_ATTACK_TIMEOUT_SECONDS = 10;
+    // Health widget text last parsed, and whether a var changed since the widget was last read
+    private String lastBoatHealthText;
+    private boolean boatHealthDirty = false;
+    private final HullDamageTracker hullDamage = new HullDamageTracker();
     
-    // Idle timer tracking
-    private Instant idleStartTime = null;
+    // Crewmates on our boat by NPC index, with salvage stored per crewmate
+    private final CrewTracker crew = new CrewTracker();
+    
+    // Our own boat and those of other players, the boat location is refreshed once per tick
+    private final WorldEntityTracker boats = new WorldEntityTracker();
+    
+    // Salvaging activity, driven by animation and movement events
+    private final ActivityStateMachine salvageActivity = new ActivityStateMachine(
+        new int[]{SALVAGING_ANIMATION_1, SALVAGING_ANIMATION_2, SALVAGING_ANIMATION_3},
+        new int[]{SORTING_SALVAGE_ANIMATION},
+        this::onSalvageActivityChanged);
     private WorldPoint lastPlayerPosition = null;
-    private int lastPlayerAnimation = -1;
     
-    // Hide boats draw listener
-    private final Hooks.RenderableDrawListener drawListener = this::shouldDraw;
+    // Draw listener, what to hide is decided once per tick by the culler
+    private final LowPowerMode lowPower = new LowPowerMode();
+    private final SceneCuller culler = new SceneCuller(lowPower);
+    private final AlertListener lowPowerWake = (type, priority, causeTick, causeNanos) -> lowPower.wake();
+    private final Hooks.RenderableDrawListener drawListener = culler::shouldDraw;
+    
+    // Culling config, read on start and config changes rather than per tick
+    private boolean cullingMode = false;
+    private Set<CullCategory> cullCategories = EnumSet.noneOf(CullCategory.class);
+    private int cullRadius = 0;
+    private boolean lowPowerMode = false;
+    private long lowPowerDelayMillis = 0;
+    
+    // Thieving state last tick, changes bring the scene back in low power mode
+    private ActivityState lastThievingState = null;
+    private int lastDistractedCount = 0;
+    private final Set<CullCategory> tickCullCategories = EnumSet.noneOf(CullCategory.class);
+    
+    private final SceneCuller.NpcRules cullNpcRules = new SceneCuller.NpcRules() {
+        @Override
+        public boolean isRelevant(NPC npc) {
+            return SALVAGE_MONSTER_IDS.contains(npc.getId()) || thievingManager.isCitizen(npc);
+        }
+        
+        @Override
+        public boolean isHidden(NPC npc) {
+            // Hide NPCs during thieving distraction
+            return config.enableThievingOverlay() && thievingManager.shouldHideNpc(npc);
+        }
+        
+        @Override
+        public boolean isHiding() {
+            return config.enableThievingOverlay() && thievingManager.isHidingNpcs();
+        }
+    };
 
     @Override
     protected void startUp() throws Exception {
         log.info("Idle Master plugin started!");
         
         salvageInfo = new SalvageInfo();
-        loadCargoData(); // Load saved cargo data
+        journal.setEnabled(config.eventJournal());
+        containerDiff.track(InventoryID.INV);
+        for (int containerId : CARGO_INVENTORY_IDS) {
+            containerDiff.track(containerId);
+        }
+        yieldTracker.reset();
+        tickBatcher.register(tickFlusher);
+        salvageActivity.setGraceMillis(config.idleThresholdMs());
+        rebuildAlertRules();
+        loadCullingConfig();
+        registerChatHandlers();
+        alertAudio.startUp(); // Decodes the alert clips on the audio thread
+        cargoStateStore.startUp(); // Cargo data is loaded lazily once a profile is logged in
+        shipwrecks.startUp();
         createAndShowWindow();
         overlayManager.add(overlay);
         hooks.registerRenderableDrawListener(drawListener);
+        keyManager.registerKeyListener(lowPower);
+        mouseManager.registerMouseListener(lowPower.getMouseListener());
+        mouseManager.registerMouseWheelListener(lowPower.getWheelListener());
+        alertBus.addListener(lowPowerWake);
+        updateDebugPanel();
         
         // Start thieving manager and overlay
         if (config.enableThievingOverlay()) {
             thievingManager.startUp();
             overlayManager.add(thievingHighlightOverlay);
+            overlayManager.add(thievingMinimapOverlay);
         }
     }
     
-    private void loadCargoData() {
-        // Load saved cargo count
-        String savedCount = configManager.getConfiguration("idlemaster", "savedCargoCount");
-        if (savedCount != null) {
-            try {
-                cargoCount = Integer.parseInt(savedCount);
-                salvageInfo.setCargoCount(cargoCount);
-                log.debug("Loaded saved cargo count: {}", cargoCount);
-            } catch (NumberFormatException e) {
-                cargoCount = 0;
-            }
-        }
-        
-        // Load saved max capacity
-        String savedCapacity = configManager.getConfiguration("idlemaster", "savedCargoCapacity");
-        if (savedCapacity != null) {
-            try {
-                maxCargoCapacity = Integer.parseInt(savedCapacity);
-                salvageInfo.setMaxCargoCount(maxCargoCapacity);
-                log.debug("Loaded saved cargo capacity: {}", maxCargoCapacity);
-            } catch (NumberFormatException e) {
-                maxCargoCapacity = 60;
-            }
-        }
-    }
-    
-    private void saveCargoData() {
-        configManager.setConfiguration("idlemaster", "savedCargoCount", String.valueOf(cargoCount));
-        configManager.setConfiguration("idlemaster", "savedCargoCapacity", String.valueOf(maxCargoCapacity));
-    }
-
     private void createAndShowWindow() {
         SwingUtilities.invokeLater(() -> {
-            floatingWindow = new FloatingOverlayWindow(salvageInfo, config, configManager);
+            if (floatingWindow != null) {
+                return;
+            }
+            floatingWindow = new FloatingOverlayWindow(salvageInfo, config, configManager, latencyTracker);
             
             try {
                 Image icon = ImageUtil.loadImageResource(getClass(), "/icon.png");
                 if (icon != null) {
                     floatingWindow.setIconImage(icon);
-                    floatingWindow.setIconImages(java.util.Arrays.asList(icon));
+                    floatingWindow.setIconImages(Arrays.asList(icon));
                 }
             } catch (IllegalArgumentException e) {
                 // Silently fall back to default icon
@@ -236,107 +388,441 @@ public class IdleMasterPlugin extends Plugin {
         });
     }
 
+    private void updateDebugPanel() {
+        if (!config.showDebugPanel()) {
+            removeDebugPanel();
+            return;
+        }
+        if (debugNavButton == null) {
+            debugNavButton = NavigationButton.builder()
+                .tooltip("Idle Master Debug")
+                .icon(ImageUtil.loadImageResource(getClass(), "/com/idlemaster/icons/alert.png"))
+                .priority(10)
+                .panel(debugPanel)
+                .build();
+            clientToolbar.addNavigation(debugNavButton);
+        }
+    }
+
+    private void removeDebugPanel() {
+        if (debugNavButton != null) {
+            clientToolbar.removeNavigation(debugNavButton);
+            debugNavButton = null;
+        }
+    }
+
     @Override
     protected void shutDown() throws Exception {
         log.info("Idle Master plugin stopped!");
         
         hooks.unregisterRenderableDrawListener(drawListener);
+        keyManager.unregisterKeyListener(lowPower);
+        mouseManager.unregisterMouseListener(lowPower.getMouseListener());
+        mouseManager.unregisterMouseWheelListener(lowPower.getWheelListener());
+        alertBus.removeListener(lowPowerWake);
+        lowPower.reset();
         overlayManager.remove(overlay);
+        removeDebugPanel();
+        chatRouter.unregister(this);
+        tickBatcher.unregister(tickFlusher);
         activeShipwrecks.clear();
+        shipwrecks.shutDown();
+        boats.clear();
+        culler.reset();
+        crew.clear();
+        inSalvageRange = false;
+        salvageActivity.reset();
+        lastPlayerPosition = null;
         
-        if (floatingWindow != null) {
-            SwingUtilities.invokeLater(() -> {
+        // Check on the EDT so a window still being created by startUp is disposed too
+        SwingUtilities.invokeLater(() -> {
+            if (floatingWindow != null) {
                 floatingWindow.savePositionAndSize();
                 floatingWindow.dispose();
                 floatingWindow = null;
-            });
-        }
+            }
+        });
         
         // Shutdown thieving manager and overlay
         overlayManager.remove(thievingHighlightOverlay);
+        overlayManager.remove(thievingMinimapOverlay);
         thievingManager.shutDown();
+        
+        cargoStateStore.shutDown();
+        sessionHistory.close();
+        historyQueryEngine.shutDown();
+        historyExporter.shutDown();
+        alertAudio.shutDown();
+        alertBus.reset();
     }
     
     /**
      * Hides other players' boats when in salvage range, and NPCs during thieving distraction.
      */
-    private boolean shouldDraw(Renderable renderable, boolean drawingUI) {
-        // Hide other boats during salvaging
-        if (config.hideOtherBoats() && renderable instanceof Scene) {
-            Scene scene = (Scene) renderable;
-            
-            if (client.getTopLevelWorldView() != null) {
-                WorldEntity we = client.getTopLevelWorldView().worldEntities().byIndex(scene.getWorldViewId());
-                if (we != null && we.getOwnerType() == WorldEntity.OWNER_TYPE_OTHER_PLAYER && inSalvageRange) {
-                    return false;
-                }
-            }
-        }
-        
-        // Hide NPCs during thieving distraction
-        if (config.enableThievingOverlay() && renderable instanceof NPC) {
-            NPC npc = (NPC) renderable;
-            if (thievingManager.shouldHideNpc(npc)) {
-                return false;
-            }
-        }
-        
-        return true;
-    }
-
     @Subscribe
     public void onGameTick(GameTick event) {
+        boats.onTick(client);
+        updatePlayerMovement();
+        salvageActivity.onTick(client.getTickCount());
         updateSalvageInfo();
         checkThresholdsAndPlaySounds();
         
+        if (inSalvageRange) {
+            sessionHistory.recordTick(!salvageInfo.isPlayerSalvaging() && !salvageInfo.isPlayerSortingSalvage());
+        }
+        
         // Update thieving
         if (config.enableThievingOverlay()) {
             thievingManager.onGameTick();
         }
+        
+        updateCulling();
+    }
+    
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event) {
+        // The boat HUD is redrawn from vars, its text can only change in a cycle where one changed
+        if (inSalvageRange) {
+            boatHealthDirty = true;
+        }
+    }
+    
+    /**
+     * Re-reads the boat health at the end of a cycle in which a var changed, rather than on
+     * the next game tick. Damage only sets the attack input, the alert is decided with the
+     * rest of the tick's alerts.
+     */
+    @Subscribe
+    public void onPostClientTick(PostClientTick event) {
+        if (!boatHealthDirty) {
+            return;
+        }
+        boatHealthDirty = false;
+        if (inSalvageRange && client.getGameState() == GameState.LOGGED_IN) {
+            updateBoatHealth();
+        }
+    }
+    
+    /**
+     * Decides what the draw listener hides until the next tick.
+     */
+    private void updateCulling() {
+        tickCullCategories.clear();
+        boolean thieving = config.enableThievingOverlay() && thievingManager.getThievingInfo().isInThievingArea();
+        if (cullingMode && (inSalvageRange || thieving)) {
+            tickCullCategories.addAll(cullCategories);
+        }
+        // Hide other boats during salvaging
+        if (inSalvageRange && config.hideOtherBoats()) {
+            tickCullCategories.add(CullCategory.OTHER_BOATS);
+        }
+        culler.update(client, boats, tickCullCategories, cullRadius, cullNpcRules);
+        
+        // Low power: blank once the activity settled and nobody touched the client for a while
+        ActivityState thievingState = thievingManager.getActivityState();
+        int distractedCount = thievingManager.getThievingInfo().getDistractedCitizenCount();
+        if (thievingState != lastThievingState || distractedCount != lastDistractedCount) {
+            lastThievingState = thievingState;
+            lastDistractedCount = distractedCount;
+            lowPower.wake();
+        }
+        boolean steady = (inSalvageRange && !salvageInfo.isMonsterAttacking()) || thieving;
+        lowPower.update(lowPowerMode && steady, lowPowerDelayMillis);
+    }
+    
+    private void loadCullingConfig() {
+        cullingMode = config.cullingMode();
+        Set<CullCategory> categories = config.cullCategories();
+        cullCategories = categories != null && !categories.isEmpty()
+            ? EnumSet.copyOf(categories) : EnumSet.noneOf(CullCategory.class);
+        cullRadius = config.cullRadius();
+        lowPowerMode = config.lowPowerMode();
+        lowPowerDelayMillis = config.lowPowerDelaySeconds() * 1000L;
+        culler.setKeepFocus(config.lowPowerKeepFocus());
+        if (!lowPowerMode) {
+            lowPower.reset();
+        }
     }
 
     @Subscribe
     public void onGameStateChanged(GameStateChanged event) {
-        if (event.getGameState() == GameState.LOGGED_IN) {
+        GameState state = event.getGameState();
+        journal.record(JournalEventType.GAME_STATE, client.getTickCount(), state.getState());
+        if (state == GameState.LOGGED_IN) {
+            openSessionHistory();
             updateSalvageInfo();
-        } else if (event.getGameState() == GameState.LOADING) {
+        } else if (state == GameState.LOADING || state == GameState.LOGIN_SCREEN || state == GameState.HOPPING) {
+            // Scene objects are not despawned individually on logout or hop, drop them here
             activeShipwrecks.clear();
+            shipwrecks.onSceneCleared();
+            boats.clear();
+            culler.reset();
+        }
+        
+        if (state == GameState.LOGIN_SCREEN) {
+            cargoStateStore.onLogout();
+            sessionHistory.close();
+            lastRecordedCargoCount = -1;
+            lastRecordedSailingXp = -1;
+            cargoFillRate.reset();
+            hullLossRate.reset();
+            hullDamage.reset();
+            crew.clear();
+            shipwrecks.clear();
+            containerDiff.reset();
+            yieldTracker.reset();
+            clearPendingChanges();
+            salvageActivity.reset();
+            lastPlayerPosition = null;
+            thievingManager.onLogout();
+        } else if (state == GameState.HOPPING) {
+            crew.clear();
+            shipwrecks.clear();
+            thievingManager.clearDistractions();
+        }
+    }
+    
+    private void openSessionHistory() {
+        long accountHash = client.getAccountHash();
+        if (config.recordSessionHistory() && accountHash != -1) {
+            sessionHistory.open(accountHash);
+        }
+    }
+    
+    @Subscribe
+    public void onAnimationChanged(AnimationChanged event) {
+        Player player = client.getLocalPlayer();
+        if (player == null || event.getActor() != player) {
+            return;
+        }
+        int tick = client.getTickCount();
+        int animation = player.getAnimation();
+        journal.record(JournalEventType.ANIMATION, tick, animation);
+        salvageActivity.onAnimationChanged(animation, tick);
+        if (config.enableThievingOverlay()) {
+            thievingManager.onAnimationChanged(animation, tick);
+        }
+    }
+
+    @Subscribe
+    public void onNpcSpawned(NpcSpawned event) {
+        NPC npc = event.getNpc();
+        journal.record(JournalEventType.NPC_SPAWNED, client.getTickCount(), npc.getIndex(), npc.getId());
+        crew.onNpcSpawned(event.getNpc());
+        culler.onNpcSpawned(npc, cullNpcRules);
+        if (config.enableThievingOverlay()) {
+            thievingManager.onNpcSpawned(event.getNpc());
+        }
+    }
+
+    @Subscribe
+    public void onNpcDespawned(NpcDespawned event) {
+        NPC npc = event.getNpc();
+        journal.record(JournalEventType.NPC_DESPAWNED, client.getTickCount(), npc.getIndex(), npc.getId());
+        crew.onNpcDespawned(event.getNpc());
+        culler.onNpcDespawned(npc);
+        thievingManager.onNpcDespawned(event.getNpc());
+    }
+
+    @Subscribe
+    public void onInteractingChanged(InteractingChanged event) {
+        journal.record(JournalEventType.INTERACTING, client.getTickCount(),
+            journalIndex(event.getSource()), journalIndex(event.getTarget()));
+        // Remember who targets us, to name the attacker once damage lands
+        if (inSalvageRange && event.getSource() instanceof NPC && event.getTarget() == client.getLocalPlayer()) {
+            hullDamage.onTargetedBy(event.getSource().getName(), client.getTickCount());
+        }
+        if (config.enableThievingOverlay()) {
+            thievingManager.onInteractingChanged(event.getSource(), event.getTarget());
         }
     }
     
+    @Subscribe
+    public void onWorldEntitySpawned(WorldEntitySpawned event) {
+        boats.onSpawned(event.getWorldEntity());
+    }
+    
+    @Subscribe
+    public void onWorldEntityDespawned(WorldEntityDespawned event) {
+        boats.onDespawned(event.getWorldEntity());
+    }
+    
     @Subscribe
     public void onGameObjectSpawned(GameObjectSpawned event) {
         GameObject gameObject = event.getGameObject();
         int id = gameObject.getId();
-        if (SHIPWRECK_SALVAGEABLE_IDS.contains(id) || SHIPWRECK_DEPLETED_IDS.contains(id)) {
-            activeShipwrecks.add(gameObject);
-            log.debug("Shipwreck spawned: ID={}, Location={}", id, gameObject.getWorldLocation());
+        if (ShipwreckTracker.isShipwreck(id)) {
+            WorldPoint location = gameObject.getWorldLocation();
+            long packed = ShipwreckTracker.pack(location);
+            activeShipwrecks.add(packed, id);
+            log.debug("Shipwreck spawned: ID={}, Location={}", id, location);
+            
+            if (shipwrecks.onSpawned(id, packed, client.getTickCount())) {
+                // A depleted wreck in range came back
+                WorldPoint boatLocation = boats.getBoatLocation();
+                if (boatLocation != null && isInSalvageRange(boatLocation, packed)) {
+                    salvageAlerts.pulse(AlertInput.SALVAGE_SPOT_RESPAWNED);
+                    log.debug("Salvage spot respawned: {}", location);
+                }
+            }
         }
     }
     
     @Subscribe
     public void onGameObjectDespawned(GameObjectDespawned event) {
-        activeShipwrecks.remove(event.getGameObject());
+        GameObject gameObject = event.getGameObject();
+        if (ShipwreckTracker.isShipwreck(gameObject.getId())) {
+            activeShipwrecks.remove(ShipwreckTracker.pack(gameObject.getWorldLocation()), gameObject.getId());
+        }
     }
     
     @Subscribe
     public void onItemContainerChanged(ItemContainerChanged event) {
-        // Track cargo hold changes
+        // Only the last contents of each container in a tick matter, they are processed in flushTick
         // Mask the container ID as sailing-main does: containerId & 0x4FFF
         int containerId = event.getContainerId() & 0x4FFF;
-        if (CARGO_INVENTORY_IDS.contains(containerId)) {
-            ItemContainer container = event.getItemContainer();
-            if (container != null) {
-                Item[] items = container.getItems();
-                int count = 0;
-                for (Item item : items) {
-                    if (item != null && item.getId() != -1) {
-                        count++;
-                    }
+        if (containerId == InventoryID.BANK) {
+            bankChangedTick = client.getTickCount();
+        }
+        ItemContainer container = event.getItemContainer();
+        if (container == null || !containerDiff.isTracked(containerId)) {
+            return;
+        }
+        journal.record(JournalEventType.CONTAINER, client.getTickCount(), containerId, container.getItems().length);
+        
+        for (int i = 0; i < pendingContainerCount; i++) {
+            if (pendingContainerIds[i] == containerId) {
+                pendingContainers[i] = container;
+                return;
+            }
+        }
+        pendingContainerIds[pendingContainerCount] = containerId;
+        pendingContainers[pendingContainerCount++] = container;
+        tickBatcher.markDirty();
+    }
+    
+    /**
+     * Processes the container changes, crew stores and chat messages recorded during this
+     * tick, then publishes the result once.
+     */
+    private void flushTick() {
+        for (int i = 0; i < pendingContainerCount; i++) {
+            processContainer(pendingContainerIds[i], pendingContainers[i]);
+            pendingContainers[i] = null;
+        }
+        pendingContainerCount = 0;
+        checkRepairKitUse();
+        
+        if (pendingCrewStores > 0) {
+            // Crew stored salvage - add to cargo count, persisted by the store's next flush
+            int cargoCount = cargoStateStore.add(activeBoatSlot, pendingCrewStores);
+            cargoFillRate.record(pendingCrewStores, client.getTickCount());
+            salvageInfo.setCargoCount(cargoCount);
+            log.debug("Crew stored {} salvage (overhead), cargo now: {}", pendingCrewStores, cargoCount);
+            pendingCrewStores = 0;
+        }
+        
+        if (pendingSortingDone > 0) {
+            onSortingDone();
+            pendingSortingDone = 0;
+        }
+        if (pendingWrecksDepleted > 0) {
+            onShipwreckDepleted(pendingWrecksDepleted);
+            pendingWrecksDepleted = 0;
+        }
+        
+        if (inSalvageRange) {
+            publishSalvageInfo();
+        }
+    }
+    
+    private void clearPendingChanges() {
+        for (int i = 0; i < pendingContainerCount; i++) {
+            pendingContainers[i] = null;
+        }
+        pendingContainerCount = 0;
+        pendingCrewStores = 0;
+        pendingSortingDone = 0;
+        pendingWrecksDepleted = 0;
+        diffRepairKitsUsed = 0;
+        diffRepairKitsStored = 0;
+    }
+    
+    private void processContainer(int containerId, ItemContainer container) {
+        Item[] items = container.getItems();
+        containerDiff.update(containerId, items, itemDeltaListener);
+        
+        // Track cargo hold changes
+        int boatSlot = getBoatSlot(containerId);
+        if (boatSlot >= 0) {
+            int count = 0;
+            for (Item item : items) {
+                if (item != null && item.getId() != -1) {
+                    count++;
                 }
-                cargoCount = count;
-                log.debug("Cargo updated via ItemContainerChanged: {} items (containerId={})", cargoCount, containerId);
             }
+            activeBoatSlot = boatSlot;
+            cargoStateStore.setCount(boatSlot, count);
+            salvageInfo.setCargoCount(cargoStateStore.getCount(activeBoatSlot));
+            log.debug("Cargo updated via ItemContainerChanged: {} items (containerId={})", count, containerId);
+        }
+    }
+    
+    private void onItemDelta(int containerId, int itemId, int delta) {
+        if (containerId != InventoryID.INV) {
+            if (delta > 0 && isRepairKit(itemId) && getBoatSlot(containerId) >= 0) {
+                diffRepairKitsStored += delta;
+            }
+            return;
+        }
+        if (itemId == COINS_ITEM_ID) {
+            diffCoinDelta += delta;
+        } else if (delta < 0 && isRepairKit(itemId)) {
+            diffRepairKitsUsed -= delta;
+        } else if (ThievingManager.isCoinPouch(itemId)) {
+            diffPouchDelta += delta;
+        } else if (delta > 0 && salvageActivity.isBusy(ActivityState.SORTING)) {
+            // Items appearing while sorting are the sorted salvage
+            yieldTracker.recordSorted(itemId, delta);
+        }
+    }
+    
+    private void onItemDiffComplete(int containerId) {
+        if (diffPouchDelta < 0 && diffCoinDelta > 0) {
+            yieldTracker.recordPouchesOpened(-diffPouchDelta, diffCoinDelta);
+        }
+        diffPouchDelta = 0;
+        diffCoinDelta = 0;
+    }
+    
+    /**
+     * Re-reads the boat health once when a repair kit was used this tick. Kits that were
+     * banked, stored in the cargo hold or dropped left the inventory without a repair.
+     */
+    private void checkRepairKitUse() {
+        int used = diffRepairKitsUsed - diffRepairKitsStored;
+        diffRepairKitsUsed = 0;
+        diffRepairKitsStored = 0;
+        int tick = client.getTickCount();
+        if (used <= 0 || bankChangedTick == tick || kitDroppedTick == tick
+            || !inSalvageRange || boats.getBoatLocation() == null) {
+            return;
+        }
+        
+        // The widget already shows the repaired health, read it instead of adding a heal amount
+        updateBoatHealth();
+        log.debug("Repair kit used ({}), boat health now {}/{}", used,
+            salvageInfo.getBoatHealth(), salvageInfo.getMaxBoatHealth());
+    }
+    
+    private static boolean isRepairKit(int itemId) {
+        return Arrays.binarySearch(REPAIR_KIT_IDS, itemId) >= 0;
+    }
+    
+    @Subscribe
+    public void onItemSpawned(ItemSpawned event) {
+        if (isRepairKit(event.getItem().getId())) {
+            kitDroppedTick = client.getTickCount();
         }
     }
     
@@ -348,26 +834,18 @@ public class IdleMasterPlugin extends Plugin {
             return;
         }
         
-        NPC npc = (NPC) actor;
-        
-        // Check if this NPC is on OUR boat (same WorldView as local player)
-        Player localPlayer = client.getLocalPlayer();
-        if (localPlayer == null || npc.getWorldView() != localPlayer.getWorldView()) {
-            return; // NPC is on a different boat
+        // Anyone but our own crew is dropped here, before any string is compared
+        int slot = crew.slotOf((NPC) actor);
+        if (slot < 0) {
+            return;
         }
         
-        String npcName = npc.getName();
-        
-        // Check if this is one of our crew members
-        if (npcName != null && isCrewMember(npcName)) {
-            String text = event.getOverheadText();
-            if (text != null && text.equals(CREW_SALVAGE_OVERHEAD)) {
-                // Crew member stored salvage - increment cargo count
-                cargoCount++;
-                salvageInfo.setCargoCount(cargoCount);
-                saveCargoData();
-                log.debug("Crew {} stored salvage (overhead), cargo now: {}", npcName, cargoCount);
-            }
+        if (CREW_SALVAGE_OVERHEAD.equals(event.getOverheadText())) {
+            journal.record(JournalEventType.OVERHEAD, client.getTickCount(), ((NPC) actor).getIndex(), slot);
+            // Counted here, the cargo hold is updated once in flushTick
+            crew.recordSalvageStored(slot);
+            pendingCrewStores++;
+            tickBatcher.markDirty();
         }
     }
 
@@ -375,63 +853,55 @@ public class IdleMasterPlugin extends Plugin {
     public void onChatMessage(ChatMessage event) {
         if (event.getType() == ChatMessageType.SPAM || event.getType() == ChatMessageType.GAMEMESSAGE) {
             String message = event.getMessage();
-            if (message == null) {
-                return;
-            }
-            
-            // Check for sorting salvage complete message
-            if (message.equals(SORTING_DONE_MESSAGE)) {
-                // Player finished sorting salvage - play alert sound
-                if (config.playSortingDoneSound()) {
-                    playSoundEffect();
-                }
-                // Update player status to idle
-                salvageInfo.setPlayerSortingSalvage(false);
-                salvageInfo.setPlayerSalvaging(false);
-                log.debug("Sorting salvage complete");
-            }
-            
-            // Check for shipwreck depleted message (player finished salvaging a spot)
-            if (message.equals(SHIPWRECK_DEPLETED_MESSAGE)) {
-                // Player finished salvaging - play idle alert sound
-                if (config.playPlayerIdleSound()) {
-                    playSoundEffect();
-                }
-                // Update player status to idle
-                salvageInfo.setPlayerSalvaging(false);
-                log.debug("Shipwreck depleted - player now idle");
-            }
-            
-            // Check for repair kit usage message
-            if (message.equals(REPAIR_KIT_MESSAGE) && lastUsedRepairKitHeal > 0) {
-                // Update boat health using the tracked heal amount
-                int currentHealth = salvageInfo.getBoatHealth();
-                int maxHealth = salvageInfo.getMaxBoatHealth();
-                int newHealth = Math.min(currentHealth + lastUsedRepairKitHeal, maxHealth);
-                salvageInfo.setBoatHealth(newHealth);
-                previousBoatHealth = newHealth; // Update tracking to prevent false attack detection
-                
-                log.debug("Repair kit used: +{} HP, boat health now {}/{}", lastUsedRepairKitHeal, newHealth, maxHealth);
-                lastUsedRepairKitHeal = 0; // Reset after use
+            if (message != null) {
+                journal.record(JournalEventType.CHAT, client.getTickCount(), event.getType().ordinal(), message.hashCode());
+                chatRouter.route(message);
             }
         }
     }
     
-    @Subscribe
-    public void onMenuOptionClicked(MenuOptionClicked event) {
-        // Track when player clicks "Use" on a repair kit
-        int itemId = event.getItemId();
-        if (REPAIR_KIT_HEALS.containsKey(itemId)) {
-            lastUsedRepairKitHeal = REPAIR_KIT_HEALS.get(itemId);
-            log.debug("Repair kit clicked: itemId={}, heal={}", itemId, lastUsedRepairKitHeal);
-        }
+    private void registerChatHandlers() {
+        // Only counted here, the messages are processed once in flushTick
+        chatRouter.onExact(this, SORTING_DONE_MESSAGE, message -> {
+            pendingSortingDone++;
+            tickBatcher.markDirty();
+        });
+        chatRouter.onExact(this, SHIPWRECK_DEPLETED_MESSAGE, message -> {
+            pendingWrecksDepleted++;
+            tickBatcher.markDirty();
+        });
     }
-
+    
+    private void onSortingDone() {
+        // Player finished sorting salvage - alert on this tick's evaluation
+        salvageAlerts.pulse(AlertInput.SORTING_DONE);
+        // Update player status to idle
+        salvageInfo.setPlayerSortingSalvage(false);
+        salvageInfo.setPlayerSalvaging(false);
+        log.debug("Sorting salvage complete");
+    }
+    
+    private void onShipwreckDepleted(int messages) {
+        // Player finished salvaging - alert on this tick's evaluation
+        salvageAlerts.pulse(AlertInput.WRECK_DEPLETED);
+        // Update player status to idle
+        salvageInfo.setPlayerSalvaging(false);
+        sessionHistory.record(HistoryEventType.WRECK_DEPLETED,
+            salvageInfo.getActiveSalvageSpots(), salvageInfo.getTotalSalvageSpots());
+        log.debug("Shipwreck depleted ({}) - player now idle", messages);
+    }
+    
     @Subscribe
     public void onStatChanged(StatChanged event) {
         // Update sailing XP when it changes
         if (event.getSkill() == Skill.SAILING) {
             updateSailingXp();
+            
+            int xp = event.getXp();
+            if (lastRecordedSailingXp >= 0 && xp > lastRecordedSailingXp) {
+                sessionHistory.record(HistoryEventType.SAILING_XP, xp, xp - lastRecordedSailingXp);
+            }
+            lastRecordedSailingXp = xp;
         }
         
         // Update thieving XP when it changes
@@ -443,18 +913,39 @@ public class IdleMasterPlugin extends Plugin {
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
         if (event.getGroup().equals("idlemaster")) {
+            FloatingOverlayWindow window = floatingWindow;
             if (event.getKey().equals("showOverlay") && config.showOverlay()) {
-                if (floatingWindow == null) {
+                if (window == null) {
                     createAndShowWindow();
-                } else if (!floatingWindow.isVisible()) {
-                    floatingWindow.setVisible(true);
+                } else if (!window.isVisible()) {
+                    window.setVisible(true);
                 }
                 configManager.setConfiguration("idlemaster", "showOverlay", false);
             }
             
-            if (floatingWindow != null) {
+            if (window != null) {
                 previousSalvageInfo = null;
-                SwingUtilities.invokeLater(() -> floatingWindow.updateConfig());
+                SwingUtilities.invokeLater(() -> {
+                    if (!window.isDisposed()) {
+                        window.updateConfig();
+                    }
+                });
+            }
+            
+            if (event.getKey().equals("recordSessionHistory")) {
+                if (config.recordSessionHistory() && client.getGameState() == GameState.LOGGED_IN) {
+                    openSessionHistory();
+                } else if (!config.recordSessionHistory()) {
+                    sessionHistory.close();
+                }
+            }
+            
+            if (event.getKey().equals("exportHistory")) {
+                if (config.exportHistory()) {
+                    startHistoryExport();
+                } else if (historyExporter.isRunning()) {
+                    historyExporter.cancel();
+                }
             }
             
             // Handle thieving config changes
@@ -465,10 +956,75 @@ public class IdleMasterPlugin extends Plugin {
                     thievingManager.shutDown();
                 }
             }
-            thievingManager.onConfigChanged();
+            if (event.getKey().equals("customSoundFile")) {
+                alertAudio.reloadCustomClip();
+            }
+            if (event.getKey().equals("showDebugPanel")) {
+                updateDebugPanel();
+            }
+            if (event.getKey().equals("eventJournal")) {
+                journal.setEnabled(config.eventJournal());
+            }
+            
+            // Config changes arrive on the EDT, the alert engines and culling state are used on the client thread
+            clientThread.invoke(() -> {
+                loadCullingConfig();
+                salvageActivity.setGraceMillis(config.idleThresholdMs());
+                rebuildAlertRules();
+                thievingManager.onConfigChanged();
+            });
+        }
+    }
+
+    private void startHistoryExport() {
+        List<String> accounts = HistoryFiles.accounts();
+        if (accounts.isEmpty()) {
+            sendChatMessage("Idle Master: no session history recorded yet.");
+            configManager.setConfiguration("idlemaster", "exportHistory", false);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long from = now - Duration.ofDays(config.exportDays()).toMillis();
+        boolean started = historyExporter.export(accounts, from, now, config.exportFormat(), new HistoryExporter.Listener() {
+            @Override
+            public void onProgress(int percent) {
+                if (percent > 0 && percent < 100 && percent % 25 == 0) {
+                    sendChatMessage("Idle Master: history export " + percent + "% done.");
+                }
+            }
+
+            @Override
+            public void onComplete(File file, long rows) {
+                sendChatMessage("Idle Master: exported " + rows + " history records to " + file.getAbsolutePath());
+                configManager.setConfiguration("idlemaster", "exportHistory", false);
+            }
+
+            @Override
+            public void onCancelled() {
+                sendChatMessage("Idle Master: history export cancelled.");
+            }
+
+            @Override
+            public void onError(Exception e) {
+                sendChatMessage("Idle Master: history export failed: " + e.getMessage());
+                configManager.setConfiguration("idlemaster", "exportHistory", false);
+            }
+        });
+
+        if (started) {
+            sendChatMessage("Idle Master: exporting the last " + config.exportDays() + " days of history...");
         }
     }
 
+    private void sendChatMessage(String message) {
+        clientThread.invokeLater(() -> {
+            if (client.getGameState() == GameState.LOGGED_IN) {
+                client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", message, null);
+            }
+        });
+    }
+
     private void updateSalvageInfo() {
         if (client.getGameState() != GameState.LOGGED_IN) {
             return;
@@ -484,16 +1040,28 @@ public class IdleMasterPlugin extends Plugin {
         inSalvageRange = isPlayerInSalvageRange();
         
         // Show/hide overlay based on salvage range
-        if (floatingWindow != null && wasInRange != inSalvageRange) {
-            SwingUtilities.invokeLater(() -> floatingWindow.setVisible(inSalvageRange));
+        FloatingOverlayWindow window = floatingWindow;
+        if (window != null && wasInRange != inSalvageRange) {
+            boolean visible = inSalvageRange;
+            SwingUtilities.invokeLater(() -> {
+                // Showing a disposed window would recreate its native peer
+                if (!window.isDisposed()) {
+                    window.setVisible(visible);
+                }
+            });
             
             // Reset boat attack tracking when entering salvage range
             // This prevents false attack alerts from HP changes that happened while sailing
             if (inSalvageRange) {
                 previousBoatHealth = -1;
-                lastBoatDamageTime = null;
+                lastBoatHealthText = null;
+                hullDamage.reset();
                 salvageInfo.setBoatUnderAttack(false);
-                alertedMonsterAttack = false;
+                salvageAlerts.reset(AlertType.MONSTER_ATTACK);
+                hullLossRate.reset();
+            } else {
+                // No respawn countdown away from the wrecks
+                salvageInfo.setWreckRespawnEtaSeconds(-1);
             }
         }
         
@@ -510,6 +1078,7 @@ public class IdleMasterPlugin extends Plugin {
 
         // Update boat health (using varbits - needs actual varbit IDs)
         updateBoatHealth();
+        updateAttackState();
 
         // Update inventory
         updateInventoryUsage();
@@ -518,7 +1087,7 @@ public class IdleMasterPlugin extends Plugin {
         updateCargoCount();
 
         // Update player salvaging status
-        updatePlayerSalvagingStatus(player);
+        updatePlayerSalvagingStatus();
 
         // Update crew status
         updateCrewStatus();
@@ -531,13 +1100,25 @@ public class IdleMasterPlugin extends Plugin {
         
         // Update salvage spot count
         updateSalvageSpotCount();
+        
+        // Update "full in" / "gone in" estimates
+        updateEstimates();
 
         // Update the floating window
-        if (floatingWindow != null && (previousSalvageInfo == null || !previousSalvageInfo.equals(salvageInfo))) {
+        publishSalvageInfo();
+    }
+    
+    private void publishSalvageInfo() {
+        FloatingOverlayWindow window = floatingWindow;
+        if (window != null && (previousSalvageInfo == null || !previousSalvageInfo.equals(salvageInfo))) {
             previousSalvageInfo = new SalvageInfo(salvageInfo);
+            String characterName = salvageInfo.getCharacterName();
+            int tick = client.getTickCount();
             SwingUtilities.invokeLater(() -> {
-                floatingWindow.updateDisplay();
-                floatingWindow.updateCharacterName(salvageInfo.getCharacterName());
+                if (!window.isDisposed()) {
+                    window.updateDisplay(tick);
+                    window.updateCharacterName(characterName);
+                }
             });
         }
     }
@@ -546,25 +1127,15 @@ public class IdleMasterPlugin extends Plugin {
      * Checks if the player's boat is within salvage range of any active shipwreck.
      */
     private boolean isPlayerInSalvageRange() {
-        WorldPoint boatLocation = getPlayerBoatLocation();
+        WorldPoint boatLocation = boats.getBoatLocation();
         if (boatLocation == null) {
             return false;
         }
         
-        for (GameObject shipwreck : activeShipwrecks) {
+        for (int i = 0; i < activeShipwrecks.size(); i++) {
             // Check both active AND depleted shipwrecks for overlay visibility
             // (we want to show overlay even at depleted wrecks)
-            WorldPoint shipwreckLocation = shipwreck.getWorldLocation();
-            
-            // Check if boat is within the salvage range
-            int minX = shipwreckLocation.getX() - SALVAGE_RANGE;
-            int maxX = shipwreckLocation.getX() + SHIPWRECK_SIZE - 1 + SALVAGE_RANGE;
-            int minY = shipwreckLocation.getY() - SALVAGE_RANGE;
-            int maxY = shipwreckLocation.getY() + SHIPWRECK_SIZE - 1 + SALVAGE_RANGE;
-            
-            if (boatLocation.getPlane() == shipwreckLocation.getPlane() &&
-                boatLocation.getX() >= minX && boatLocation.getX() <= maxX &&
-                boatLocation.getY() >= minY && boatLocation.getY() <= maxY) {
+            if (isInSalvageRange(boatLocation, activeShipwrecks.locationAt(i))) {
                 return true;
             }
         }
@@ -572,103 +1143,64 @@ public class IdleMasterPlugin extends Plugin {
         return false;
     }
     
+    /**
+     * Checks if the boat is within salvage range of the shipwreck at the given location.
+     */
+    private static boolean isInSalvageRange(WorldPoint boatLocation, long shipwreckLocation) {
+        int x = ShipwreckTracker.xOf(shipwreckLocation);
+        int y = ShipwreckTracker.yOf(shipwreckLocation);
+        int minX = x - SALVAGE_RANGE;
+        int maxX = x + SHIPWRECK_SIZE - 1 + SALVAGE_RANGE;
+        int minY = y - SALVAGE_RANGE;
+        int maxY = y + SHIPWRECK_SIZE - 1 + SALVAGE_RANGE;
+        
+        return boatLocation.getPlane() == ShipwreckTracker.planeOf(shipwreckLocation) &&
+            boatLocation.getX() >= minX && boatLocation.getX() <= maxX &&
+            boatLocation.getY() >= minY && boatLocation.getY() <= maxY;
+    }
+    
     /**
      * Counts active and total salvage spots near the player's boat.
      */
     private void updateSalvageSpotCount() {
-        WorldPoint boatLocation = getPlayerBoatLocation();
+        WorldPoint boatLocation = boats.getBoatLocation();
         if (boatLocation == null) {
             salvageInfo.setActiveSalvageSpots(0);
             salvageInfo.setTotalSalvageSpots(0);
+            salvageInfo.setWreckRespawnEtaSeconds(-1);
             return;
         }
         
         int activeCount = 0;
         int totalCount = 0;
+        int respawnTicks = -1;
+        int tick = client.getTickCount();
         
-        for (GameObject shipwreck : activeShipwrecks) {
-            WorldPoint shipwreckLocation = shipwreck.getWorldLocation();
+        for (int i = 0; i < activeShipwrecks.size(); i++) {
+            long shipwreckLocation = activeShipwrecks.locationAt(i);
+            if (!isInSalvageRange(boatLocation, shipwreckLocation)) {
+                continue;
+            }
             
-            // Check if this shipwreck is within salvage range
-            int minX = shipwreckLocation.getX() - SALVAGE_RANGE;
-            int maxX = shipwreckLocation.getX() + SHIPWRECK_SIZE - 1 + SALVAGE_RANGE;
-            int minY = shipwreckLocation.getY() - SALVAGE_RANGE;
-            int maxY = shipwreckLocation.getY() + SHIPWRECK_SIZE - 1 + SALVAGE_RANGE;
+            totalCount++;
             
-            if (boatLocation.getPlane() == shipwreckLocation.getPlane() &&
-                boatLocation.getX() >= minX && boatLocation.getX() <= maxX &&
-                boatLocation.getY() >= minY && boatLocation.getY() <= maxY) {
-                
-                totalCount++;
-                
-                // Check if it's an active (salvageable) shipwreck
-                if (SHIPWRECK_SALVAGEABLE_IDS.contains(shipwreck.getId())) {
-                    activeCount++;
-                }
-            }
-        }
-        
-        // Track when spots become depleted
-        if (activeCount == 0 && totalCount > 0) {
-            if (salvageSpotsDepletedTime == null) {
-                // Just became depleted, start timer
-                salvageSpotsDepletedTime = Instant.now();
-            }
-            // Reset alert when all spots are depleted
-            alertedSalvageSpotActive = false;
-        } else if (activeCount > 0) {
-            // Check if spots went from 0 to 1+ (respawn alert)
-            // Only alert if spots were depleted for at least 10 seconds
-            if (config.playSalvageSpotSound() && previousActiveSalvageSpots == 0 && totalCount > 0) {
-                if (!alertedSalvageSpotActive && salvageSpotsDepletedTime != null) {
-                    long secondsDepleted = Duration.between(salvageSpotsDepletedTime, Instant.now()).getSeconds();
-                    if (secondsDepleted >= SALVAGE_SPOT_DEPLETED_THRESHOLD_SECONDS) {
-                        playSoundEffect();
-                        alertedSalvageSpotActive = true;
-                        log.debug("Salvage spot respawned after {}s: {} active", secondsDepleted, activeCount);
-                    }
+            // Check if it's an active (salvageable) shipwreck
+            if (activeShipwrecks.isSalvageableAt(i)) {
+                activeCount++;
+            } else {
+                // Countdown to the first depleted wreck expected back
+                int ticks = shipwrecks.ticksUntilRespawn(shipwreckLocation, tick);
+                if (ticks >= 0 && (respawnTicks < 0 || ticks < respawnTicks)) {
+                    respawnTicks = ticks;
                 }
             }
-            // Clear depleted timer since spots are now active
-            salvageSpotsDepletedTime = null;
-        } else {
-            // No spots in range, reset everything
-            salvageSpotsDepletedTime = null;
-            alertedSalvageSpotActive = false;
         }
         
-        previousActiveSalvageSpots = activeCount;
         salvageInfo.setActiveSalvageSpots(activeCount);
         salvageInfo.setTotalSalvageSpots(totalCount);
+        salvageInfo.setWreckRespawnEtaSeconds(respawnTicks < 0 ? -1 : (respawnTicks * 600 + 999) / 1000);
     }
     
-    /**
-     * Gets the world location of the player's boat.
-     */
-    private WorldPoint getPlayerBoatLocation() {
-        if (client.getTopLevelWorldView() == null) {
-            return null;
-        }
-        
-        for (WorldEntity we : client.getTopLevelWorldView().worldEntities()) {
-            // Our boat is OWNER_TYPE_SELF_PLAYER
-            if (we != null && we.getOwnerType() == WorldEntity.OWNER_TYPE_SELF_PLAYER) {
-                LocalPoint localPoint = we.getLocalLocation();
-                if (localPoint != null) {
-                    return WorldPoint.fromLocal(client, localPoint);
-                }
-            }
-        }
-        
-        // Fallback to player location if not on a boat
-        Player localPlayer = client.getLocalPlayer();
-        if (localPlayer != null) {
-            return localPlayer.getWorldLocation();
-        }
-        
-        return null;
-    }
-
     private void updateBoatHealth() {
         // Read boat health from widget - the text is in a child widget
         // Widget 61407235 is the container, we need to find the child with text
@@ -705,38 +1237,36 @@ public class IdleMasterPlugin extends Plugin {
                 }
             }
             
-            if (text != null && text.contains("/")) {
+            // Only parsed when the text changed
+            if (text == null || text.equals(lastBoatHealthText)) {
+                return;
+            }
+            lastBoatHealthText = text;
+            
+            if (text.contains("/")) {
                 String[] parts = text.split("/");
                 if (parts.length == 2) {
                     int health = Integer.parseInt(parts[0].trim());
                     int maxHealth = Integer.parseInt(parts[1].trim());
                     
+                    salvageInfo.setBoatHealth(health);
+                    salvageInfo.setMaxBoatHealth(maxHealth);
+                    
                     // Only detect boat attacks while in salvage range
                     if (inSalvageRange) {
                         // Check if boat took damage (HP decreased)
                         if (previousBoatHealth > 0 && health < previousBoatHealth) {
-                            lastBoatDamageTime = Instant.now();
-                            salvageInfo.setBoatUnderAttack(true);
-                            salvageInfo.setMonsterAlertText("UNDER ATTACK!");
-                        }
-                        
-                        // Check if attack timeout has passed (10 seconds without damage)
-                        if (lastBoatDamageTime != null) {
-                            long secondsSinceDamage = Duration.between(lastBoatDamageTime, Instant.now()).getSeconds();
-                            if (secondsSinceDamage >= BOAT_ATTACK_TIMEOUT_SECONDS) {
-                                salvageInfo.setBoatUnderAttack(false);
-                                lastBoatDamageTime = null;
-                            }
+                            int drop = previousBoatHealth - health;
+                            int tick = client.getTickCount();
+                            hullLossRate.record(drop, tick);
+                            recordHullDamage(drop, tick);
                         }
                     } else {
                         // Reset attack state when not in salvage range
-                        salvageInfo.setBoatUnderAttack(false);
-                        lastBoatDamageTime = null;
+                        hullDamage.reset();
                     }
                     
                     previousBoatHealth = health;
-                    salvageInfo.setBoatHealth(health);
-                    salvageInfo.setMaxBoatHealth(maxHealth);
                 }
             }
         } catch (Exception e) {
@@ -744,6 +1274,30 @@ public class IdleMasterPlugin extends Plugin {
         }
     }
 
+    private void recordHullDamage(int amount, int tick) {
+        if (!hullDamage.isUnderAttack(tick)) {
+            sessionHistory.record(HistoryEventType.BOAT_ATTACK, salvageInfo.getBoatHealth(), salvageInfo.getMaxBoatHealth());
+        }
+        hullDamage.record(amount, tick);
+        updateAttackState();
+        // Set right away so the alert's latency is measured from the damage itself
+        salvageAlerts.set(AlertInput.MONSTER_ATTACKING, true);
+    }
+    
+    /**
+     * The boat is under attack until the attacker's next hit is overdue and the damage rate drops to zero.
+     */
+    private void updateAttackState() {
+        int tick = client.getTickCount();
+        boolean underAttack = hullDamage.isUnderAttack(tick);
+        salvageInfo.setBoatUnderAttack(underAttack);
+        if (underAttack) {
+            String attacker = hullDamage.getAttacker();
+            salvageInfo.setMonsterAlertText(String.format("%s (%.1f/s)",
+                attacker.isEmpty() ? "UNDER ATTACK!" : attacker + " ATTACKING!", hullDamage.damagePerSecond(tick)));
+        }
+    }
+
     private void updateInventoryUsage() {
         try {
             ItemContainer inventory = client.getItemContainer(InventoryID.INV);
@@ -765,20 +1319,14 @@ public class IdleMasterPlugin extends Plugin {
     }
 
     private void updateCargoCount() {
-        // Read cargo from widgets when available, otherwise use saved values
+        // Read cargo from widgets when available, otherwise use stored values
         try {
-            boolean dataChanged = false;
-            
             // Read occupied slots from widget (only update if widget is visible)
             Widget occupiedWidget = client.getWidget(CARGO_OCCUPIED_WIDGET_ID);
             if (occupiedWidget != null && !occupiedWidget.isHidden() && occupiedWidget.getText() != null) {
                 String text = occupiedWidget.getText().trim();
                 if (!text.isEmpty()) {
-                    int widgetCargoCount = Integer.parseInt(text);
-                    if (widgetCargoCount != cargoCount) {
-                        cargoCount = widgetCargoCount;
-                        dataChanged = true;
-                    }
+                    cargoStateStore.setCount(activeBoatSlot, Integer.parseInt(text));
                 }
             }
             
@@ -787,27 +1335,40 @@ public class IdleMasterPlugin extends Plugin {
             if (capacityWidget != null && !capacityWidget.isHidden() && capacityWidget.getText() != null) {
                 String text = capacityWidget.getText().trim();
                 if (!text.isEmpty()) {
-                    int widgetMaxCapacity = Integer.parseInt(text);
-                    if (widgetMaxCapacity != maxCargoCapacity) {
-                        maxCargoCapacity = widgetMaxCapacity;
-                        dataChanged = true;
-                    }
+                    cargoStateStore.setCapacity(activeBoatSlot, Integer.parseInt(text));
                 }
             }
             
-            // Update salvageInfo with current values (saved or from widget)
+            // Update salvageInfo with current values (stored or from widget)
+            int maxCargoCapacity = cargoStateStore.getCapacity(activeBoatSlot);
+            int cargoCount = cargoStateStore.getCount(activeBoatSlot);
             salvageInfo.setCargoCount(cargoCount);
             salvageInfo.setMaxCargoCount(maxCargoCapacity > 0 ? maxCargoCapacity : 60);
             
-            // Save if any data changed
-            if (dataChanged) {
-                saveCargoData();
+            if (cargoCount != lastRecordedCargoCount) {
+                if (lastRecordedCargoCount >= 0) {
+                    sessionHistory.record(HistoryEventType.CARGO, cargoCount, salvageInfo.getMaxCargoCount(),
+                        cargoCount - lastRecordedCargoCount);
+                }
+                lastRecordedCargoCount = cargoCount;
             }
         } catch (Exception e) {
             log.debug("Error reading cargo: {}", e.getMessage());
         }
     }
     
+    /**
+     * Maps a cargo hold inventory ID to its boat slot, or -1 if it is not a cargo hold.
+     */
+    private static int getBoatSlot(int containerId) {
+        for (int slot = 0; slot < CARGO_INVENTORY_IDS.length; slot++) {
+            if (CARGO_INVENTORY_IDS[slot] == containerId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+    
     private void updateSailingXp() {
         try {
             int currentXp = client.getSkillExperience(Skill.SAILING);
@@ -837,92 +1398,94 @@ public class IdleMasterPlugin extends Plugin {
         }
     }
 
-    private void updatePlayerSalvagingStatus(Player player) {
-        int animation = player.getAnimation();
-        WorldPoint currentPosition = player.getWorldLocation();
-        
-        // Check if currently doing salvaging animation
-        boolean isSalvaging = (animation == SALVAGING_ANIMATION_1 || animation == SALVAGING_ANIMATION_2 || 
-                               animation == SALVAGING_ANIMATION_3);
-        boolean isSortingSalvage = (animation == SORTING_SALVAGE_ANIMATION);
+    /**
+     * Feeds tile changes to the activity state machines. There is no movement event for
+     * the local player, so this compares the location once per tick.
+     */
+    private void updatePlayerMovement() {
+        Player player = client.getLocalPlayer();
+        if (player == null) {
+            return;
+        }
         
-        Instant now = Instant.now();
-        if (isSalvaging || isSortingSalvage) {
-            lastActive = now;
-            salvageInfo.setPlayerSalvaging(isSalvaging);
-            salvageInfo.setPlayerSortingSalvage(isSortingSalvage);
-        } else {
-            long millisSinceActive = Duration.between(lastActive, now).toMillis();
-            int idleThreshold = config.idleThresholdMs();
-            boolean stillActive = millisSinceActive < idleThreshold;
-            salvageInfo.setPlayerSalvaging(stillActive && !salvageInfo.isPlayerSortingSalvage());
-            salvageInfo.setPlayerSortingSalvage(stillActive && salvageInfo.isPlayerSortingSalvage());
-            if (!stillActive) {
-                salvageInfo.setPlayerSortingSalvage(false);
+        WorldPoint position = player.getWorldLocation();
+        int tick = client.getTickCount();
+        if (lastPlayerPosition == null) {
+            // First tick after login or startup: the current animation fired no event
+            salvageActivity.onAnimationChanged(player.getAnimation(), tick);
+            if (config.enableThievingOverlay()) {
+                thievingManager.onAnimationChanged(player.getAnimation(), tick);
+            }
+        } else if (!position.equals(lastPlayerPosition)) {
+            salvageActivity.onMoved(tick);
+            if (config.enableThievingOverlay()) {
+                thievingManager.onMoved(tick);
             }
         }
-        
-        // Update idle timer - player is idle if animation is -1 AND position hasn't changed
-        updateIdleTimer(animation, currentPosition);
+        lastPlayerPosition = position;
     }
     
-    private void updateIdleTimer(int currentAnimation, WorldPoint currentPosition) {
-        boolean animationIdle = (currentAnimation == -1);
-        boolean positionChanged = (lastPlayerPosition != null && !currentPosition.equals(lastPlayerPosition));
-        boolean animationChanged = (lastPlayerAnimation != -1 && currentAnimation != -1 && currentAnimation != lastPlayerAnimation);
-        
-        // If player moved or started an animation, reset idle timer
-        if (positionChanged || animationChanged) {
-            idleStartTime = null;
-            salvageInfo.setIdleTimeSeconds(0);
-        } else if (animationIdle && !positionChanged) {
-            // Player is idle (animation -1 and hasn't moved)
-            if (idleStartTime == null) {
-                idleStartTime = Instant.now();
-            }
-            long idleSeconds = Duration.between(idleStartTime, Instant.now()).getSeconds();
-            salvageInfo.setIdleTimeSeconds((int) idleSeconds);
+    private void updatePlayerSalvagingStatus() {
+        salvageInfo.setPlayerSalvaging(salvageActivity.isBusy(ActivityState.ACTIVE));
+        salvageInfo.setPlayerSortingSalvage(salvageActivity.isBusy(ActivityState.SORTING));
+        salvageInfo.setIdleTimeSeconds(salvageActivity.idleSeconds(client.getTickCount()));
+    }
+    
+    private void onSalvageActivityChanged(ActivityState from, ActivityState to, int tick) {
+        journal.record(JournalEventType.SALVAGE_ACTIVITY, tick, from.ordinal(), to.ordinal());
+        lowPower.wake();
+        if (!inSalvageRange) {
+            return;
         }
-        
-        // Update tracking for next tick
-        lastPlayerPosition = currentPosition;
-        lastPlayerAnimation = currentAnimation;
+        if (to == ActivityState.IDLE) {
+            sessionHistory.record(HistoryEventType.IDLE_START);
+        } else if (from == ActivityState.IDLE) {
+            sessionHistory.record(HistoryEventType.IDLE_END, salvageInfo.getIdleTimeSeconds());
+        }
+    }
+
+    /**
+     * NPC index of an actor for the event journal, -2 for players and -1 for none.
+     */
+    private static int journalIndex(Actor actor) {
+        if (actor instanceof NPC) {
+            return ((NPC) actor).getIndex();
+        }
+        return actor == null ? -1 : -2;
     }
 
     private void updateCrewStatus() {
-        // Check for crew NPCs on the boat and their animation states
-        // Only track NPCs on our own boat (same WorldView as player)
+        // Crew are registered from spawn events on our boat's world view, so only their
+        // slots are read here instead of every NPC on the boat
         // Note: Crew can only salvage, not sort salvage
         try {
-            int crewCount = 0;
-            int activeCrew = 0;
-            
             Player player = client.getLocalPlayer();
             if (player == null) {
                 return;
             }
             
-            // Get the player's WorldView - crew on our boat share the same WorldView
+            // Crew only exist aboard a boat, never on the top level world view
             WorldView playerWorldView = player.getWorldView();
+            crew.setWorldView(playerWorldView == client.getTopLevelWorldView() ? null : playerWorldView);
             if (playerWorldView == null) {
                 return;
             }
             
-            // Get NPCs from the player's WorldView (our boat only)
-            for (NPC npc : playerWorldView.npcs()) {
+            int crewCount = 0;
+            int activeCrew = 0;
+            for (int slot = 0; slot < CrewTracker.MAX_CREW; slot++) {
+                int index = crew.getNpcIndex(slot);
+                if (index < 0) continue;
+                NPC npc = playerWorldView.npcs().byIndex(index);
                 if (npc == null) continue;
                 
-                // Check if this NPC is a crew member by name
-                String npcName = npc.getName();
-                if (npcName != null && isCrewMember(npcName)) {
-                    crewCount++;
-                    
-                    // Check if crew is actively salvaging
-                    int npcAnimation = npc.getAnimation();
-                    if (npcAnimation == SALVAGING_ANIMATION_1 || npcAnimation == SALVAGING_ANIMATION_2 || 
-                        npcAnimation == SALVAGING_ANIMATION_3) {
-                        activeCrew++;
-                    }
+                crewCount++;
+                
+                // Check if crew is actively salvaging
+                int npcAnimation = npc.getAnimation();
+                if (npcAnimation == SALVAGING_ANIMATION_1 || npcAnimation == SALVAGING_ANIMATION_2 || 
+                    npcAnimation == SALVAGING_ANIMATION_3) {
+                    activeCrew++;
                 }
             }
             
@@ -934,24 +1497,6 @@ public class IdleMasterPlugin extends Plugin {
         }
     }
 
-    // Crewmate names from the wiki
-    private static final Set<String> CREWMATE_NAMES = Set.of(
-        "Jobless Jim",
-        "Ex-Captain Siad",
-        "Adventurer Ada",
-        "Cabin Boy Jenkins",
-        "Oarswoman Olga",
-        "Jittery Jim",
-        "Bosun Zarah",
-        "Jolly Jim",
-        "Spotter Virginia",
-        "Sailor Jakob"
-    );
-    
-    private boolean isCrewMember(String npcName) {
-        return CREWMATE_NAMES.contains(npcName);
-    }
-
     private void updateMonsterAlert() {
         // Detect monster attack by:
         // 1. Checking if specific salvage monsters (IDs 15210, 15196) are in range
@@ -960,16 +1505,16 @@ public class IdleMasterPlugin extends Plugin {
             boolean monsterAttacking = false;
             String monsterName = "";
             
-            // Method 1: Check if boat is flagged as under attack (set by updateBoatHealth when HP decreases)
+            // Method 1: Check if boat is flagged as under attack (set from hull damage)
             if (salvageInfo.isBoatUnderAttack()) {
                 monsterAttacking = true;
-                monsterName = "Under Attack!";
+                monsterName = hullDamage.getAttacker();
             }
             
             // Method 2: Check for specific salvage monster NPCs in range
             // Monsters are on the TOP LEVEL world view (the sea), not on our boat
             if (!monsterAttacking) {
-                WorldPoint boatLocation = getPlayerBoatLocation();
+                WorldPoint boatLocation = boats.getBoatLocation();
                 if (boatLocation != null && client.getTopLevelWorldView() != null) {
                     int alertRange = config.monsterAlertRange();
                     
@@ -1011,75 +1556,87 @@ public class IdleMasterPlugin extends Plugin {
             return;
         }
 
-        boolean shouldPlaySound = false;
+        // Inputs only mark their rules dirty when the value actually changes
+        int maxBoatHealth = salvageInfo.getMaxBoatHealth();
+        salvageAlerts.set(AlertInput.BOAT_HEALTH_PERCENT, maxBoatHealth > 0 ? salvageInfo.getBoatHealthPercentage() : 100);
+        salvageAlerts.set(AlertInput.INVENTORY_USED, salvageInfo.getInventoryUsedSlots());
+        salvageAlerts.set(AlertInput.PLAYER_SALVAGING, salvageInfo.isPlayerSalvaging());
+        int maxCargo = salvageInfo.getMaxCargoCount();
+        salvageAlerts.set(AlertInput.CARGO_FREE, maxCargo > 0 ? maxCargo - salvageInfo.getCargoCount() : Integer.MAX_VALUE);
+        salvageAlerts.set(AlertInput.CREW_IDLE, salvageInfo.getCrewCount() > 0 && !salvageInfo.isCrewSalvaging());
+        salvageAlerts.set(AlertInput.MONSTER_ATTACKING, salvageInfo.isMonsterAttacking());
+        salvageAlerts.set(AlertInput.CARGO_ETA_SECONDS, etaInput(salvageInfo.getCargoFullEtaSeconds()));
+        salvageAlerts.set(AlertInput.HULL_ETA_SECONDS, etaInput(salvageInfo.getHullGoneEtaSeconds()));
+        salvageAlerts.set(AlertInput.WRECK_RESPAWN_ETA_SECONDS, etaInput(salvageInfo.getWreckRespawnEtaSeconds()));
 
-        // Check boat health - only alert once when it drops below threshold
-        boolean lowBoatHealth = salvageInfo.getBoatHealthPercentage() <= config.lowBoatHealthThreshold();
-        if (config.playBoatHealthSound() && lowBoatHealth && !alertedLowBoatHealth) {
-            shouldPlaySound = true;
-            alertedLowBoatHealth = true;
-        } else if (!lowBoatHealth) {
-            alertedLowBoatHealth = false; // Reset when health recovers
+        // Triggered alerts go to the shared bus, which picks one per tick across all modules
+        salvageAlerts.evaluate(client.getTickCount());
+    }
+    
+    // Unknown estimates never come within a lead time
+    private static int etaInput(int etaSeconds) {
+        return etaSeconds < 0 ? Integer.MAX_VALUE : etaSeconds;
+    }
+    
+    private void updateEstimates() {
+        int tick = client.getTickCount();
+        
+        int maxCargo = salvageInfo.getMaxCargoCount();
+        salvageInfo.setCargoFullEtaSeconds(maxCargo > 0
+            ? cargoFillRate.secondsUntil(maxCargo - salvageInfo.getCargoCount(), tick) : -1);
+        
+        // Only estimate hull failure during an attack, the loss rate decays slowly afterwards
+        salvageInfo.setHullGoneEtaSeconds(salvageInfo.isBoatUnderAttack()
+            ? hullLossRate.secondsUntil(salvageInfo.getBoatHealth(), tick) : -1);
+    }
+    
+    private void rebuildAlertRules() {
+        List<AlertRule> rules = new ArrayList<>();
+        if (config.playMonsterAlertSound()) {
+            rules.add(AlertRule.whenSet(AlertType.MONSTER_ATTACK, AlertInput.MONSTER_ATTACKING).priority(100));
         }
-
-        // Check inventory full - only alert once when it becomes full AND player is salvaging
-        // This prevents alerts when taking items out of cargo to clean
-        boolean inventoryFull = salvageInfo.getInventoryUsedSlots() >= 28;
-        boolean playerIsSalvaging = salvageInfo.isPlayerSalvaging();
-        if (config.playInventorySound() && inventoryFull && playerIsSalvaging && !alertedInventoryFull) {
-            shouldPlaySound = true;
-            alertedInventoryFull = true;
-        } else if (!inventoryFull) {
-            alertedInventoryFull = false; // Reset when inventory has space
+        if (config.playBoatHealthSound()) {
+            // Re-arm only once health is clearly back above the threshold
+            int threshold = config.lowBoatHealthThreshold();
+            rules.add(AlertRule.below(AlertType.LOW_BOAT_HEALTH, AlertInput.BOAT_HEALTH_PERCENT,
+                threshold, Math.min(threshold + 5, 100)).priority(90));
+            if (config.hullGoneLeadSeconds() > 0) {
+                rules.add(AlertRule.ahead(AlertType.HULL_FAILING_SOON, AlertInput.HULL_ETA_SECONDS,
+                    config.hullGoneLeadSeconds()).priority(95));
+            }
         }
-
-        // Check cargo full - only alert once when it becomes full
-        boolean cargoFull = salvageInfo.getCargoCount() >= salvageInfo.getMaxCargoCount() && salvageInfo.getMaxCargoCount() > 0;
-        if (config.playCargoSound() && cargoFull && !alertedCargoFull) {
-            shouldPlaySound = true;
-            alertedCargoFull = true;
-        } else if (!cargoFull) {
-            alertedCargoFull = false; // Reset when cargo has space
+        if (config.playCargoSound()) {
+            rules.add(AlertRule.below(AlertType.CARGO_FULL, AlertInput.CARGO_FREE, 0, 0).priority(70));
+            if (config.cargoFullLeadSeconds() > 0) {
+                rules.add(AlertRule.ahead(AlertType.CARGO_FULL_SOON, AlertInput.CARGO_ETA_SECONDS,
+                    config.cargoFullLeadSeconds()).priority(65));
+            }
         }
-
-        // Player idle sound is now only triggered by shipwreck depleted chat message
-        // Keep tracking idle state for the alert reset logic
-        boolean playerIdle = !salvageInfo.isPlayerSalvaging() && !salvageInfo.isPlayerSortingSalvage();
-        if (!playerIdle) {
-            alertedPlayerIdle = false; // Reset when player starts salvaging or sorting
+        if (config.playInventorySound()) {
+            // Only while salvaging, so taking items out of the cargo hold doesn't alert
+            rules.add(AlertRule.above(AlertType.INVENTORY_FULL, AlertInput.INVENTORY_USED, 28, 28)
+                .when(AlertInput.PLAYER_SALVAGING).priority(60));
         }
-
-        // Check crew idle - only alert once when crew becomes idle
-        boolean crewIdle = salvageInfo.getCrewCount() > 0 && !salvageInfo.isCrewSalvaging();
-        if (config.playCrewIdleSound() && crewIdle && !alertedCrewIdle) {
-            shouldPlaySound = true;
-            alertedCrewIdle = true;
-        } else if (!crewIdle) {
-            alertedCrewIdle = false; // Reset when crew starts salvaging
+        if (config.playPlayerIdleSound()) {
+            rules.add(AlertRule.whenSet(AlertType.WRECK_DEPLETED, AlertInput.WRECK_DEPLETED).priority(50));
         }
-
-        // Check monster attack - only alert once per attack
-        boolean monsterAttacking = salvageInfo.isMonsterAttacking();
-        if (config.playMonsterAlertSound() && monsterAttacking && !alertedMonsterAttack) {
-            shouldPlaySound = true;
-            alertedMonsterAttack = true;
-        } else if (!monsterAttacking) {
-            alertedMonsterAttack = false; // Reset when monster stops attacking
+        if (config.playSortingDoneSound()) {
+            rules.add(AlertRule.whenSet(AlertType.SORTING_DONE, AlertInput.SORTING_DONE).priority(50));
         }
-
-        if (shouldPlaySound) {
-            playSoundEffect();
+        if (config.playCrewIdleSound()) {
+            // Crew briefly stop between salvage attempts
+            rules.add(AlertRule.whenSet(AlertType.CREW_IDLE, AlertInput.CREW_IDLE).debounce(2).priority(40));
+        }
+        if (config.playSalvageSpotSound()) {
+            rules.add(AlertRule.whenSet(AlertType.SALVAGE_SPOT_RESPAWN, AlertInput.SALVAGE_SPOT_RESPAWNED).priority(30));
+            if (config.salvageSpotLeadSeconds() > 0) {
+                rules.add(AlertRule.ahead(AlertType.SALVAGE_SPOT_RESPAWN_SOON, AlertInput.WRECK_RESPAWN_ETA_SECONDS,
+                    config.salvageSpotLeadSeconds()).priority(35));
+            }
         }
+        salvageAlerts.compile(rules);
     }
     
-    private void playSoundEffect() {
-        Preferences preferences = client.getPreferences();
-        int previousVolume = preferences.getSoundEffectVolume();
-        preferences.setSoundEffectVolume(config.soundVolume());
-        client.playSoundEffect(SOUND_ID, config.soundVolume());
-        preferences.setSoundEffectVolume(previousVolume);
-    }
-
     @Provides
     IdleMasterConfig provideConfig(ConfigManager configManager) {
         return configManager.getConfig(IdleMasterConfig.class);
@@ -33,6 +33,9 @@ public class SalvageInfo {
         this.xpForCurrentLevel = other.xpForCurrentLevel;
         this.activeSalvageSpots = other.activeSalvageSpots;
         this.totalSalvageSpots = other.totalSalvageSpots;
+        this.cargoFullEtaSeconds = other.cargoFullEtaSeconds;
+        this.hullGoneEtaSeconds = other.hullGoneEtaSeconds;
+        this.wreckRespawnEtaSeconds = other.wreckRespawnEtaSeconds;
     }
     
     // Boat health
@@ -79,6 +82,13 @@ public class SalvageInfo {
     private int activeSalvageSpots = 0;
     private int totalSalvageSpots = 0;
     
+    // Estimated seconds until cargo is full / boat health reaches 0, -1 if unknown
+    private int cargoFullEtaSeconds = -1;
+    private int hullGoneEtaSeconds = -1;
+    
+    // Expected seconds until the next depleted wreck in range respawns, -1 if unknown
+    private int wreckRespawnEtaSeconds = -1;
+    
     // Getters for display text
     
     public int getBoatHealthPercentage() {
@@ -107,6 +117,20 @@ public class SalvageInfo {
         return String.format("%d/%d (%d%%)", cargoCount, maxCargoCount, getCargoPercentage());
     }
     
+    public String getCargoEtaText() {
+        if (cargoFullEtaSeconds < 0) {
+            return "";
+        }
+        return " - full in " + formatEta(cargoFullEtaSeconds);
+    }
+    
+    public String getHullEtaText() {
+        if (hullGoneEtaSeconds < 0) {
+            return "";
+        }
+        return "gone in " + formatEta(hullGoneEtaSeconds);
+    }
+    
     public String getSalvageSpotsText() {
         if (totalSalvageSpots == 0) {
             return "No spots";
@@ -114,6 +138,13 @@ public class SalvageInfo {
         return String.format("%d/%d", activeSalvageSpots, totalSalvageSpots);
     }
     
+    public String getWreckRespawnEtaText() {
+        if (wreckRespawnEtaSeconds < 0) {
+            return "";
+        }
+        return wreckRespawnEtaSeconds == 0 ? " - respawn due" : " - respawn in " + formatEta(wreckRespawnEtaSeconds);
+    }
+    
     public String getPlayerStatusText() {
         if (playerSortingSalvage) {
             return "SORTING SALVAGE";
@@ -179,4 +210,15 @@ public class SalvageInfo {
         }
         return String.valueOf(num);
     }
+    
+    // Format an estimated time such as "40s" or "3m"
+    private static String formatEta(int seconds) {
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return (seconds / 60) + "m";
+        }
+        return String.format("%dh %dm", seconds / 3600, (seconds % 3600) / 60);
+    }
 }
@@ -0,0 +1,11 @@
+package com.idlemaster.activity;
+
+/**
+ * What the local player is doing, as tracked by {@link ActivityStateMachine}.
+ */
+public enum ActivityState {
+    ACTIVE,     // Playing the activity animation (salvaging, pickpocketing)
+    SORTING,    // Playing the sorting animation
+    GRACE,      // Stopped recently, still counted as busy until the grace period runs out
+    IDLE
+}
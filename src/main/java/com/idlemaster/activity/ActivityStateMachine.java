@@ -0,0 +1,154 @@
+package com.idlemaster.activity;
+
+import lombok.Getter;
+
+/**
+ * Tracks the local player's activity from animation and movement events.
+ *
+ * The activity and sorting animations put the machine into ACTIVE and SORTING. When
+ * the animation stops it moves to GRACE, and to IDLE once the grace period has run out
+ * without any animation or movement. Transitions happen on the tick of the event, and
+ * the only per-tick work is comparing the grace deadline.
+ */
+public final class ActivityStateMachine {
+
+    public interface Listener {
+        void onStateChanged(ActivityState from, ActivityState to, int tick);
+    }
+
+    private static final int NO_ANIMATION = -1;
+    private static final int MILLIS_PER_TICK = 600;
+
+    private final int[] activityAnimations;
+    private final int[] sortingAnimations;
+    private final Listener listener;
+
+    private int graceTicks;
+
+    @Getter
+    private ActivityState state = ActivityState.IDLE;
+    // State that was left for GRACE, so the activity is still shown during the grace period
+    @Getter
+    private ActivityState graceFrom = ActivityState.IDLE;
+    @Getter
+    private int enteredTick = -1;
+    @Getter
+    private long enteredMillis;
+    @Getter
+    private int lastActiveTick = -1;
+
+    public ActivityStateMachine(int[] activityAnimations, int[] sortingAnimations, Listener listener) {
+        this.activityAnimations = activityAnimations.clone();
+        this.sortingAnimations = sortingAnimations.clone();
+        this.listener = listener;
+    }
+
+    public void setGraceTicks(int graceTicks) {
+        this.graceTicks = Math.max(graceTicks, 0);
+    }
+
+    /**
+     * Sets the grace period in milliseconds, rounded up to whole ticks.
+     */
+    public void setGraceMillis(int graceMillis) {
+        setGraceTicks((graceMillis + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK);
+    }
+
+    public void onAnimationChanged(int animation, int tick) {
+        if (contains(activityAnimations, animation)) {
+            lastActiveTick = tick;
+            transition(ActivityState.ACTIVE, tick);
+        } else if (contains(sortingAnimations, animation)) {
+            lastActiveTick = tick;
+            transition(ActivityState.SORTING, tick);
+        } else if (animation == NO_ANIMATION) {
+            if (state == ActivityState.ACTIVE || state == ActivityState.SORTING) {
+                lastActiveTick = tick;
+                stop(tick);
+            }
+        } else {
+            // Any other animation (eating, emotes) means the player is not idle
+            lastActiveTick = tick;
+            if (state != ActivityState.GRACE) {
+                stop(tick);
+            }
+        }
+    }
+
+    /**
+     * The player moved to another tile. Movement alone never counts as the activity.
+     */
+    public void onMoved(int tick) {
+        if (state == ActivityState.ACTIVE || state == ActivityState.SORTING) {
+            return;
+        }
+        lastActiveTick = tick;
+        if (state == ActivityState.IDLE) {
+            stop(tick);
+        }
+    }
+
+    /**
+     * Ends the grace period once it has run out. Called once per game tick.
+     */
+    public void onTick(int tick) {
+        if (state == ActivityState.GRACE && tick - lastActiveTick >= graceTicks) {
+            transition(ActivityState.IDLE, tick);
+        }
+    }
+
+    public boolean isBusy(ActivityState activity) {
+        return state == activity || (state == ActivityState.GRACE && graceFrom == activity);
+    }
+
+    /**
+     * Ticks since the player last did anything, 0 unless idle.
+     */
+    public int idleTicks(int tick) {
+        if (state != ActivityState.IDLE || lastActiveTick < 0) {
+            return 0;
+        }
+        return tick - lastActiveTick;
+    }
+
+    public int idleSeconds(int tick) {
+        return idleTicks(tick) * MILLIS_PER_TICK / 1000;
+    }
+
+    public void reset() {
+        state = ActivityState.IDLE;
+        graceFrom = ActivityState.IDLE;
+        enteredTick = -1;
+        enteredMillis = 0;
+        lastActiveTick = -1;
+    }
+
+    private void stop(int tick) {
+        if (graceTicks == 0) {
+            transition(ActivityState.IDLE, tick);
+        } else {
+            graceFrom = state;
+            transition(ActivityState.GRACE, tick);
+        }
+    }
+
+    private void transition(ActivityState to, int tick) {
+        if (state == to) {
+            return;
+        }
+        ActivityState from = state;
+        state = to;
+        enteredTick = tick;
+        enteredMillis = System.currentTimeMillis();
+        listener.onStateChanged(from, to, tick);
+    }
+
+    private static boolean contains(int[] animations, int animation) {
+        for (int id : animations) {
+            if (id == animation) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,324 @@
+package com.idlemaster.alerts;
+
+import com.idlemaster.IdleMasterConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Plays alert sounds on a dedicated audio thread through its own output line.
+ *
+ * Clips are decoded to 16-bit PCM once when the service starts, and volume is applied
+ * by scaling the samples, so playing an alert never touches the client's sound
+ * preferences. Requests are queued without blocking; when the queue is full the
+ * request is dropped rather than delaying the caller.
+ */
+@Slf4j
+@Singleton
+public class AlertAudioService {
+
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int WRITE_CHUNK_BYTES = 4096;
+
+    private final IdleMasterConfig config;
+    private final AlertLatencyTracker latencyTracker;
+    private final BlockingQueue<Playback> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private Thread thread;
+    private Worker worker;
+
+    @Inject
+    public AlertAudioService(IdleMasterConfig config, AlertLatencyTracker latencyTracker) {
+        this.config = config;
+        this.latencyTracker = latencyTracker;
+    }
+
+    public synchronized void startUp() {
+        if (thread != null) {
+            return;
+        }
+        worker = new Worker();
+        thread = new Thread(worker, "idlemaster-alert-audio");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void shutDown() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+            worker = null;
+        }
+        queue.clear();
+    }
+
+    /**
+     * Queues the configured clip of an alert at its configured volume. Never blocks.
+     * The cause tick and time are used to measure the latency until the clip starts.
+     */
+    public void play(AlertType type, int causeTick, long causeNanos) {
+        float gain = config.soundVolume() / 100f * volumeFor(type) / 100f;
+        if (gain <= 0) {
+            return;
+        }
+        if (!queue.offer(new Playback(type, clipFor(type), gain, causeTick, causeNanos))) {
+            log.debug("Alert audio queue full, dropping {}", type);
+        }
+    }
+
+    /**
+     * Decodes the custom clip again before the next playback.
+     */
+    public synchronized void reloadCustomClip() {
+        if (worker != null) {
+            worker.customClipChanged = true;
+        }
+    }
+
+    /**
+     * Audio thread state. Each start gets a new worker, so a worker that is still
+     * finishing after a restart never shares its line or clips with the next one.
+     */
+    private final class Worker implements Runnable {
+        private final Map<AlertSound, PcmClip> clips = new EnumMap<>(AlertSound.class);
+        private final byte[] writeBuffer = new byte[WRITE_CHUNK_BYTES];
+        private SourceDataLine line;
+        private volatile boolean customClipChanged = true;
+
+        @Override
+        public void run() {
+            loadBundledClips();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Playback playback = queue.take();
+                    if (customClipChanged) {
+                        customClipChanged = false;
+                        loadCustomClip();
+                    }
+
+                    PcmClip clip = clips.get(playback.sound);
+                    if (clip != null) {
+                        write(clip, playback);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (line != null) {
+                    line.close();
+                    line = null;
+                }
+            }
+        }
+
+        private void write(PcmClip clip, Playback playback) {
+            if (!openLine(clip.format)) {
+                return;
+            }
+            latencyTracker.record(AlertLatencyTracker.Stage.AUDIO, playback.type, playback.causeTick, playback.causeNanos);
+
+            float gain = playback.gain;
+
+            byte[] data = clip.data;
+            for (int offset = 0; offset < data.length; offset += WRITE_CHUNK_BYTES) {
+                int length = Math.min(WRITE_CHUNK_BYTES, data.length - offset);
+                // Scale each 16-bit little-endian sample
+                for (int i = 0; i + 1 < length; i += 2) {
+                    int sample = (short) ((data[offset + i] & 0xFF) | (data[offset + i + 1] << 8));
+                    int scaled = (int) (sample * gain);
+                    writeBuffer[i] = (byte) scaled;
+                    writeBuffer[i + 1] = (byte) (scaled >> 8);
+                }
+                line.write(writeBuffer, 0, length);
+            }
+            line.drain();
+        }
+
+        /**
+         * Keeps one line open across alerts, reopening it only when a clip has a different format.
+         */
+        private boolean openLine(AudioFormat format) {
+            if (line != null && line.getFormat().matches(format)) {
+                return true;
+            }
+            if (line != null) {
+                line.close();
+                line = null;
+            }
+
+            try {
+                SourceDataLine newLine = AudioSystem.getSourceDataLine(format);
+                newLine.open(format);
+                newLine.start();
+                line = newLine;
+                return true;
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                log.debug("Unable to open alert audio line: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        private void loadBundledClips() {
+            for (AlertSound sound : AlertSound.values()) {
+                if (sound.getResource() == null) {
+                    continue;
+                }
+                try (InputStream in = AlertAudioService.class.getResourceAsStream("/com/idlemaster/sounds/" + sound.getResource())) {
+                    if (in == null) {
+                        log.warn("Missing alert sound {}", sound.getResource());
+                        continue;
+                    }
+                    clips.put(sound, decode(AudioSystem.getAudioInputStream(new BufferedInputStream(in))));
+                } catch (IOException | UnsupportedAudioFileException e) {
+                    log.warn("Unable to decode alert sound {}", sound.getResource(), e);
+                }
+            }
+        }
+
+        private void loadCustomClip() {
+            clips.remove(AlertSound.CUSTOM);
+            String path = config.customSoundFile();
+            if (path == null || path.trim().isEmpty()) {
+                return;
+            }
+
+            File file = new File(path.trim());
+            try {
+                clips.put(AlertSound.CUSTOM, decode(AudioSystem.getAudioInputStream(file)));
+                log.debug("Loaded custom alert sound {}", file);
+            } catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e) {
+                log.warn("Unable to decode custom alert sound {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Converts a clip to signed 16-bit little-endian PCM, keeping its sample rate and channels.
+     */
+    private static PcmClip decode(AudioInputStream source) throws IOException {
+        AudioFormat sourceFormat = source.getFormat();
+        int channels = sourceFormat.getChannels();
+        AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(),
+            16, channels, channels * 2, sourceFormat.getSampleRate(), false);
+
+        try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = pcm.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return new PcmClip(pcmFormat, out.toByteArray());
+        }
+    }
+
+    private AlertSound clipFor(AlertType type) {
+        switch (type) {
+            case LOW_BOAT_HEALTH:
+            case HULL_FAILING_SOON:
+                return config.lowBoatHealthSound();
+            case INVENTORY_FULL:
+                return config.inventoryFullSound();
+            case CARGO_FULL:
+            case CARGO_FULL_SOON:
+                return config.cargoFullSound();
+            case CREW_IDLE:
+                return config.crewIdleSound();
+            case MONSTER_ATTACK:
+                return config.monsterAttackSound();
+            case SALVAGE_SPOT_RESPAWN:
+            case SALVAGE_SPOT_RESPAWN_SOON:
+                return config.salvageSpotSound();
+            case WRECK_DEPLETED:
+            case THIEVING_IDLE:
+                return config.playerIdleSound();
+            case SORTING_DONE:
+                return config.sortingDoneSound();
+            case DISTRACTION_START:
+                return config.distractionStartSound();
+            case DISTRACTION_END:
+                return config.distractionEndSound();
+            case POUCHES_FULL:
+            case POUCHES_FULL_SOON:
+                return config.pouchesFullSound();
+            default:
+                return AlertSound.CHIME;
+        }
+    }
+
+    private int volumeFor(AlertType type) {
+        switch (type) {
+            case LOW_BOAT_HEALTH:
+            case HULL_FAILING_SOON:
+                return config.lowBoatHealthVolume();
+            case INVENTORY_FULL:
+                return config.inventoryFullVolume();
+            case CARGO_FULL:
+            case CARGO_FULL_SOON:
+                return config.cargoFullVolume();
+            case CREW_IDLE:
+                return config.crewIdleVolume();
+            case MONSTER_ATTACK:
+                return config.monsterAttackVolume();
+            case SALVAGE_SPOT_RESPAWN:
+            case SALVAGE_SPOT_RESPAWN_SOON:
+                return config.salvageSpotVolume();
+            case WRECK_DEPLETED:
+            case THIEVING_IDLE:
+                return config.playerIdleVolume();
+            case SORTING_DONE:
+                return config.sortingDoneVolume();
+            case DISTRACTION_START:
+                return config.distractionStartVolume();
+            case DISTRACTION_END:
+                return config.distractionEndVolume();
+            case POUCHES_FULL:
+            case POUCHES_FULL_SOON:
+                return config.pouchesFullVolume();
+            default:
+                return 100;
+        }
+    }
+
+    private static final class PcmClip {
+        final AudioFormat format;
+        final byte[] data;
+
+        PcmClip(AudioFormat format, byte[] data) {
+            this.format = format;
+            this.data = data;
+        }
+    }
+
+    private static final class Playback {
+        final AlertType type;
+        final AlertSound sound;
+        final float gain;
+        final int causeTick;
+        final long causeNanos;
+
+        Playback(AlertType type, AlertSound sound, float gain, int causeTick, long causeNanos) {
+            this.type = type;
+            this.sound = sound;
+            this.gain = gain;
+            this.causeTick = causeTick;
+            this.causeNanos = causeNanos;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.idlemaster.alerts;
+
+import com.idlemaster.IdleMasterConfig;
+import com.idlemaster.debug.EventJournal;
+import com.idlemaster.debug.JournalEventType;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.callback.ClientThread;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single alert channel shared by every module.
+ *
+ * Alerts submitted during a tick are collapsed at the end of the tick into one
+ * notification for the highest priority alert. Notifications are then rate limited
+ * globally and per alert type, so a burst of events never stacks overlapping sounds.
+ * A higher priority alert may interrupt the global limit of a lower priority one.
+ * All methods are called on the client thread.
+ */
+@Slf4j
+@Singleton
+public class AlertBus {
+
+    private final ClientThread clientThread;
+    private final IdleMasterConfig config;
+    private final AlertAudioService audio;
+    private final AlertLatencyTracker latencyTracker;
+    private final EventJournal journal;
+
+    // Notified of every alert that passed the rate limits
+    private final List<AlertListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final long[] lastNotifiedMillis = new long[AlertType.values().length];
+    private long lastNotificationMillis;
+    private int lastNotificationPriority;
+
+    // Highest priority alert submitted on the current tick
+    private AlertType pending;
+    private int pendingPriority;
+    private int pendingCauseTick;
+    private long pendingCauseNanos;
+    private int pendingCount;
+    private boolean flushScheduled;
+
+    @Inject
+    public AlertBus(ClientThread clientThread, IdleMasterConfig config, AlertAudioService audio,
+                    AlertLatencyTracker latencyTracker, EventJournal journal) {
+        this.clientThread = clientThread;
+        this.config = config;
+        this.audio = audio;
+        this.latencyTracker = latencyTracker;
+        this.journal = journal;
+    }
+
+    public void submit(AlertType type, int priority, int causeTick, long causeNanos) {
+        if (pending == null || priority > pendingPriority) {
+            pending = type;
+            pendingPriority = priority;
+            pendingCauseTick = causeTick;
+            pendingCauseNanos = causeNanos;
+        }
+        pendingCount++;
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            clientThread.invokeAtTickEnd(this::flush);
+        }
+    }
+
+    public void addListener(AlertListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AlertListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forgets pending alerts and rate limit history.
+     */
+    public void reset() {
+        pending = null;
+        pendingCount = 0;
+        lastNotificationMillis = 0;
+        lastNotificationPriority = 0;
+        Arrays.fill(lastNotifiedMillis, 0);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        AlertType type = pending;
+        int priority = pendingPriority;
+        int causeTick = pendingCauseTick;
+        long causeNanos = pendingCauseNanos;
+        int count = pendingCount;
+        pending = null;
+        pendingCount = 0;
+        if (type == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean globalLimited = now - lastNotificationMillis < config.alertMinGapMs()
+            && priority <= lastNotificationPriority;
+        boolean typeLimited = now - lastNotifiedMillis[type.ordinal()] < config.sameAlertMinGapSeconds() * 1000L;
+        if (globalLimited || typeLimited) {
+            journal.record(JournalEventType.ALERT_RATE_LIMITED, causeTick, type.ordinal(), priority, count);
+            log.debug("Rate limited alert {} ({} submitted this tick)", type, count);
+            return;
+        }
+
+        lastNotificationMillis = now;
+        lastNotificationPriority = priority;
+        lastNotifiedMillis[type.ordinal()] = now;
+        log.debug("Alert {} ({} submitted this tick)", type, count);
+        journal.record(JournalEventType.ALERT, causeTick, type.ordinal(), priority, causeTick);
+        latencyTracker.onDecided(type, causeTick, causeNanos);
+        for (AlertListener listener : listeners) {
+            listener.onAlert(type, priority, causeTick, causeNanos);
+        }
+        audio.play(type, causeTick, causeNanos);
+    }
+}
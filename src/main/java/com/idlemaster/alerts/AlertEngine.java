@@ -0,0 +1,256 @@
+package com.idlemaster.alerts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates a set of alert rules against input values.
+ *
+ * Rules are compiled into flat arrays, with an index from each input to the rules that
+ * read it. Setting an input to the value it already has costs nothing; only rules whose
+ * inputs changed since the last evaluation, or that are waiting out their debounce,
+ * are evaluated. The engine has no client dependencies and takes the tick number as
+ * a parameter, so it can be driven from plain unit tests.
+ *
+ * The engine is not thread safe: compile, set and evaluate on the same thread, which is
+ * the client thread in the plugin.
+ */
+public final class AlertEngine {
+
+    private static final int MAX_RULES = Long.SIZE;
+    private static final int NEVER = Integer.MIN_VALUE;
+    private static final int[] NO_RULES = new int[0];
+
+    private final AlertListener listener;
+
+    private final int[] values = new int[AlertInput.COUNT];
+    // When each input last changed, carried by the alerts it triggers for latency measurement
+    private final long[] changedNanos = new long[AlertInput.COUNT];
+    private final int[] changedTicks = new int[AlertInput.COUNT];
+    private long dirtyInputs;
+    private long pulsedInputs;
+
+    // Compiled rules, thresholds are negated for "below" rules so every rule compares the same way
+    private AlertType[] types = new AlertType[0];
+    private int[] inputs = NO_RULES;
+    private int[] guards = NO_RULES;
+    private int[] signs = NO_RULES;
+    private int[] triggers = NO_RULES;
+    private int[] releases = NO_RULES;
+    private int[] debounceTicks = NO_RULES;
+    private int[] cooldownTicks = NO_RULES;
+    private int[] priorities = NO_RULES;
+    private int[][] rulesByInput = new int[AlertInput.COUNT][];
+
+    // Rule state
+    private boolean[] active = new boolean[0];
+    private int[] pendingSince = NO_RULES;
+    private int[] lastFired = NO_RULES;
+    private long pendingRules;
+
+    public AlertEngine(AlertListener listener) {
+        this.listener = listener;
+        Arrays.fill(rulesByInput, NO_RULES);
+    }
+
+    /**
+     * Replaces the rules. Alerts that are already active stay active under the new rules,
+     * so changing a setting does not repeat an alert for an unchanged condition.
+     */
+    public void compile(List<AlertRule> rules) {
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("Too many alert rules: " + rules.size());
+        }
+
+        int count = rules.size();
+        AlertType[] newTypes = new AlertType[count];
+        int[] newInputs = new int[count];
+        int[] newGuards = new int[count];
+        int[] newSigns = new int[count];
+        int[] newTriggers = new int[count];
+        int[] newReleases = new int[count];
+        int[] newDebounce = new int[count];
+        int[] newCooldown = new int[count];
+        int[] newPriorities = new int[count];
+        boolean[] newActive = new boolean[count];
+        int[] newPendingSince = new int[count];
+        int[] newLastFired = new int[count];
+
+        List<List<Integer>> byInput = new ArrayList<>();
+        for (int i = 0; i < AlertInput.COUNT; i++) {
+            byInput.add(new ArrayList<>());
+        }
+
+        for (int r = 0; r < count; r++) {
+            AlertRule rule = rules.get(r);
+            int sign = rule.isBelow() ? -1 : 1;
+            newTypes[r] = rule.getType();
+            newInputs[r] = rule.getInput().ordinal();
+            newGuards[r] = rule.getGuard() != null ? rule.getGuard().ordinal() : -1;
+            newSigns[r] = sign;
+            newTriggers[r] = rule.getTrigger() * sign;
+            newReleases[r] = rule.getRelease() * sign;
+            newDebounce[r] = rule.getDebounceTicks();
+            newCooldown[r] = rule.getCooldownTicks();
+            newPriorities[r] = rule.getPriority();
+            newPendingSince[r] = NEVER;
+            newLastFired[r] = NEVER;
+
+            int previous = indexOf(rule.getType());
+            if (previous >= 0) {
+                newActive[r] = active[previous];
+                newLastFired[r] = lastFired[previous];
+            }
+
+            byInput.get(newInputs[r]).add(r);
+            if (newGuards[r] >= 0 && newGuards[r] != newInputs[r]) {
+                byInput.get(newGuards[r]).add(r);
+            }
+        }
+
+        int[][] newRulesByInput = new int[AlertInput.COUNT][];
+        for (int i = 0; i < AlertInput.COUNT; i++) {
+            newRulesByInput[i] = byInput.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        types = newTypes;
+        inputs = newInputs;
+        guards = newGuards;
+        signs = newSigns;
+        triggers = newTriggers;
+        releases = newReleases;
+        debounceTicks = newDebounce;
+        cooldownTicks = newCooldown;
+        priorities = newPriorities;
+        rulesByInput = newRulesByInput;
+        active = newActive;
+        pendingSince = newPendingSince;
+        lastFired = newLastFired;
+        pendingRules = 0;
+
+        // Evaluate every rule once against the current values
+        dirtyInputs = (1L << AlertInput.COUNT) - 1;
+    }
+
+    public void set(AlertInput input, int value) {
+        int i = input.ordinal();
+        if (values[i] != value) {
+            values[i] = value;
+            changedNanos[i] = System.nanoTime();
+            dirtyInputs |= 1L << i;
+        }
+    }
+
+    public void set(AlertInput input, boolean value) {
+        set(input, value ? 1 : 0);
+    }
+
+    /**
+     * Sets an input to 1 for the next evaluation only.
+     */
+    public void pulse(AlertInput input) {
+        set(input, 1);
+        pulsedInputs |= 1L << input.ordinal();
+    }
+
+    public int get(AlertInput input) {
+        return values[input.ordinal()];
+    }
+
+    /**
+     * Re-arms an alert so it can trigger again without its condition clearing first.
+     */
+    public void reset(AlertType type) {
+        int r = indexOf(type);
+        if (r >= 0) {
+            active[r] = false;
+            pendingSince[r] = NEVER;
+            pendingRules &= ~(1L << r);
+            dirtyInputs |= 1L << inputs[r];
+        }
+    }
+
+    /**
+     * Evaluates the rules affected by changed inputs and notifies the listener of
+     * every alert that triggers on this tick.
+     */
+    public void evaluate(int tick) {
+        long rules = pendingRules;
+        long changed = dirtyInputs;
+        dirtyInputs = 0;
+        while (changed != 0) {
+            int input = Long.numberOfTrailingZeros(changed);
+            changed &= changed - 1;
+            // Inputs are set on the tick they are evaluated, so that is the tick of the change
+            changedTicks[input] = tick;
+            for (int r : rulesByInput[input]) {
+                rules |= 1L << r;
+            }
+        }
+
+        while (rules != 0) {
+            int r = Long.numberOfTrailingZeros(rules);
+            rules &= rules - 1;
+            evaluateRule(r, tick);
+        }
+
+        // Pulses last a single evaluation; re-arm their rules right away so a pulse on the next tick fires again
+        long pulsed = pulsedInputs;
+        pulsedInputs = 0;
+        while (pulsed != 0) {
+            int input = Long.numberOfTrailingZeros(pulsed);
+            pulsed &= pulsed - 1;
+            values[input] = 0;
+            dirtyInputs &= ~(1L << input);
+            for (int r : rulesByInput[input]) {
+                evaluateRule(r, tick);
+            }
+        }
+    }
+
+    private void evaluateRule(int r, int tick) {
+        long bit = 1L << r;
+        int value = values[inputs[r]] * signs[r];
+
+        if (active[r]) {
+            if (value < releases[r]) {
+                active[r] = false;
+            }
+            return;
+        }
+
+        if (value < triggers[r] || (guards[r] >= 0 && values[guards[r]] == 0)) {
+            pendingSince[r] = NEVER;
+            pendingRules &= ~bit;
+            return;
+        }
+
+        if (pendingSince[r] == NEVER) {
+            pendingSince[r] = tick;
+        }
+        if (tick - pendingSince[r] < debounceTicks[r]) {
+            pendingRules |= bit;
+            return;
+        }
+
+        pendingRules &= ~bit;
+        pendingSince[r] = NEVER;
+        active[r] = true;
+
+        if (lastFired[r] == NEVER || tick - lastFired[r] >= cooldownTicks[r]) {
+            lastFired[r] = tick;
+            int input = inputs[r];
+            listener.onAlert(types[r], priorities[r], changedTicks[input], changedNanos[input]);
+        }
+    }
+
+    private int indexOf(AlertType type) {
+        for (int r = 0; r < types.length; r++) {
+            if (types[r] == type) {
+                return r;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.idlemaster.alerts;
+
+/**
+ * State values read by alert rules. Flags are 0 or 1; pulse inputs are set for a single
+ * evaluation when an event such as a chat message happens.
+ */
+public enum AlertInput {
+    BOAT_HEALTH_PERCENT,
+    HULL_ETA_SECONDS,
+    INVENTORY_USED,
+    PLAYER_SALVAGING,
+    CARGO_FREE,
+    CARGO_ETA_SECONDS,
+    CREW_IDLE,
+    MONSTER_ATTACKING,
+    SALVAGE_SPOT_RESPAWNED,
+    WRECK_RESPAWN_ETA_SECONDS,
+    WRECK_DEPLETED,
+    SORTING_DONE,
+    DISTRACTION_STARTED,
+    DISTRACTION_ENDED,
+    POUCHES_FREE,
+    POUCHES_ETA_SECONDS,
+    PLAYER_IDLE;
+
+    static final int COUNT = values().length;
+}
@@ -0,0 +1,207 @@
+package com.idlemaster.alerts;
+
+import com.idlemaster.history.HistoryExporter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Measures how long alerts take from the state change that caused them to each
+ * point where the player notices them.
+ *
+ * Every alert carries the tick and System.nanoTime() of its cause. Latency is recorded
+ * when the alert bus decides on the client thread, when an overlay first paints info
+ * from the cause tick or later on the EDT, and when the audio thread starts writing the
+ * clip. The most recent samples of each stage are kept in a fixed ring for percentiles
+ * and export.
+ */
+@Slf4j
+@Singleton
+public class AlertLatencyTracker {
+
+    public enum Stage {
+        DECIDE,
+        PAINT,
+        AUDIO
+    }
+
+    private static final int CAPACITY = 512;
+
+    // Paints more than this long after the decision belong to a later update
+    private static final long PAINT_TIMEOUT_NANOS = 2_000_000_000L;
+
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Ring[] rings = new Ring[Stage.values().length];
+
+    // Alert waiting for its overlay paint, guarded by this. The paint only counts once
+    // an overlay applied info from the cause tick or later.
+    private AlertType pendingPaintType;
+    private int pendingPaintTick;
+    private long pendingPaintCauseNanos;
+    private long pendingPaintDecidedNanos;
+    private boolean pendingPaintApplied;
+    // Tick of the info an overlay applied last
+    private int lastAppliedTick = -1;
+
+    public AlertLatencyTracker() {
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new Ring();
+        }
+    }
+
+    public void record(Stage stage, AlertType type, int causeTick, long causeNanos) {
+        if (causeNanos == 0) {
+            return;
+        }
+        rings[stage.ordinal()].add(type, causeTick, System.nanoTime() - causeNanos);
+    }
+
+    /**
+     * Called by the alert bus once it has decided on an alert. Records the decision and
+     * waits for the first overlay paint showing the info of the cause tick.
+     */
+    public void onDecided(AlertType type, int causeTick, long causeNanos) {
+        record(Stage.DECIDE, type, causeTick, causeNanos);
+
+        synchronized (this) {
+            pendingPaintType = type;
+            pendingPaintTick = causeTick;
+            pendingPaintCauseNanos = causeNanos;
+            pendingPaintDecidedNanos = System.nanoTime();
+            // The info may have reached an overlay before the alert was decided
+            pendingPaintApplied = lastAppliedTick >= causeTick;
+        }
+    }
+
+    /**
+     * Called on the EDT once an overlay applied the info published on the given tick,
+     * before it repaints.
+     */
+    public synchronized void onInfoApplied(int tick) {
+        lastAppliedTick = tick;
+        if (pendingPaintType != null && tick >= pendingPaintTick) {
+            pendingPaintApplied = true;
+        }
+    }
+
+    /**
+     * Called from an overlay's paint method on the EDT.
+     */
+    public void onOverlayPainted() {
+        AlertType type;
+        int tick;
+        long causeNanos;
+        synchronized (this) {
+            if (pendingPaintType == null || !pendingPaintApplied) {
+                return;
+            }
+            type = pendingPaintType;
+            tick = pendingPaintTick;
+            causeNanos = pendingPaintCauseNanos;
+            boolean expired = System.nanoTime() - pendingPaintDecidedNanos > PAINT_TIMEOUT_NANOS;
+            pendingPaintType = null;
+            if (expired) {
+                return;
+            }
+        }
+        record(Stage.PAINT, type, tick, causeNanos);
+    }
+
+    public Summary summary(Stage stage) {
+        long[] latencies = rings[stage.ordinal()].latencies();
+        Arrays.sort(latencies);
+        return new Summary(stage, latencies);
+    }
+
+    /**
+     * Writes all kept samples as CSV to the export directory and returns the file.
+     */
+    public File exportCsv() throws IOException {
+        File dir = HistoryExporter.EXPORT_DIR;
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create export directory " + dir);
+        }
+
+        File file = new File(dir, "alert-latency-" + FILE_TIME_FORMAT.format(LocalDateTime.now()) + ".csv");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("stage,alert,causeTick,latencyMs\n");
+            for (Stage stage : Stage.values()) {
+                rings[stage.ordinal()].write(writer, stage);
+            }
+        }
+        log.debug("Exported alert latency samples to {}", file);
+        return file;
+    }
+
+    @Getter
+    public static final class Summary {
+        private final Stage stage;
+        private final int count;
+        private final double p50Ms;
+        private final double p90Ms;
+        private final double p99Ms;
+        private final double maxMs;
+
+        Summary(Stage stage, long[] sorted) {
+            this.stage = stage;
+            this.count = sorted.length;
+            this.p50Ms = percentile(sorted, 0.50);
+            this.p90Ms = percentile(sorted, 0.90);
+            this.p99Ms = percentile(sorted, 0.99);
+            this.maxMs = sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Last CAPACITY samples of one stage. Writers are rare (one per alert), so a lock is enough.
+     */
+    private static final class Ring {
+        private final long[] latencyNanos = new long[CAPACITY];
+        private final int[] causeTicks = new int[CAPACITY];
+        private final AlertType[] types = new AlertType[CAPACITY];
+        private int next;
+        private int size;
+
+        synchronized void add(AlertType type, int causeTick, long latency) {
+            latencyNanos[next] = latency;
+            causeTicks[next] = causeTick;
+            types[next] = type;
+            next = (next + 1) % CAPACITY;
+            size = Math.min(size + 1, CAPACITY);
+        }
+
+        synchronized long[] latencies() {
+            return Arrays.copyOf(latencyNanos, size);
+        }
+
+        synchronized void write(Writer writer, Stage stage) throws IOException {
+            int start = (next - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % CAPACITY;
+                writer.write(stage.name() + "," + types[index] + "," + causeTicks[index] + ","
+                    + String.format(Locale.ROOT, "%.3f", latencyNanos[index] / 1_000_000.0) + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.idlemaster.alerts;
+
+@FunctionalInterface
+public interface AlertListener {
+    /**
+     * @param causeTick  tick on which the input that triggered the alert changed
+     * @param causeNanos System.nanoTime() of that change
+     */
+    void onAlert(AlertType type, int priority, int causeTick, long causeNanos);
+}
@@ -0,0 +1,99 @@
+package com.idlemaster.alerts;
+
+import lombok.Getter;
+
+/**
+ * Declarative description of one alert: the input it watches, the threshold that
+ * triggers it and the threshold that re-arms it, plus debounce, cooldown and priority.
+ *
+ * An "above" rule triggers once the input reaches the trigger value and re-arms when
+ * it drops below the release value; a "below" rule is the mirror image. The gap between
+ * the two thresholds is the hysteresis band that stops values hovering around a
+ * threshold from re-triggering the alert.
+ */
+@Getter
+public final class AlertRule {
+
+    private final AlertType type;
+    private final AlertInput input;
+    private final boolean below;
+    private final int trigger;
+    private final int release;
+
+    private AlertInput guard;
+    private int debounceTicks;
+    private int cooldownTicks;
+    private int priority;
+
+    private AlertRule(AlertType type, AlertInput input, boolean below, int trigger, int release) {
+        this.type = type;
+        this.input = input;
+        this.below = below;
+        this.trigger = trigger;
+        this.release = release;
+    }
+
+    /**
+     * Triggers when input >= trigger, re-arms when input < release.
+     */
+    public static AlertRule above(AlertType type, AlertInput input, int trigger, int release) {
+        if (release > trigger) {
+            throw new IllegalArgumentException("Release above trigger for " + type);
+        }
+        return new AlertRule(type, input, false, trigger, release);
+    }
+
+    /**
+     * Triggers when input <= trigger, re-arms when input > release.
+     */
+    public static AlertRule below(AlertType type, AlertInput input, int trigger, int release) {
+        if (release < trigger) {
+            throw new IllegalArgumentException("Release below trigger for " + type);
+        }
+        return new AlertRule(type, input, true, trigger, release);
+    }
+
+    /**
+     * Triggers when a flag or pulse input becomes 1, re-arms when it returns to 0.
+     */
+    public static AlertRule whenSet(AlertType type, AlertInput input) {
+        return above(type, input, 1, 1);
+    }
+
+    /**
+     * Triggers when an estimated time in seconds drops to leadSeconds. Re-arms once the
+     * estimate moves clearly past it again, or becomes unknown.
+     */
+    public static AlertRule ahead(AlertType type, AlertInput etaSeconds, int leadSeconds) {
+        return below(type, etaSeconds, leadSeconds, leadSeconds + Math.max(5, leadSeconds / 2));
+    }
+
+    /**
+     * Only trigger while the guard input is non-zero. The guard does not release the alert.
+     */
+    public AlertRule when(AlertInput guard) {
+        this.guard = guard;
+        return this;
+    }
+
+    /**
+     * Number of ticks the condition has to hold before the alert triggers.
+     */
+    public AlertRule debounce(int ticks) {
+        this.debounceTicks = ticks;
+        return this;
+    }
+
+    /**
+     * Minimum number of ticks between two notifications of this alert.
+     */
+    public AlertRule cooldown(int ticks) {
+        this.cooldownTicks = ticks;
+        return this;
+    }
+
+    public AlertRule priority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+}
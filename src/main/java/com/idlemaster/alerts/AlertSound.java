@@ -0,0 +1,28 @@
+package com.idlemaster.alerts;
+
+import lombok.Getter;
+
+/**
+ * Sound clips that can be assigned to an alert. CUSTOM plays the WAV file set in the config.
+ */
+@Getter
+public enum AlertSound {
+    CHIME("Chime", "chime.wav"),
+    BELL("Bell", "bell.wav"),
+    ALARM("Alarm", "alarm.wav"),
+    BLIP("Blip", "blip.wav"),
+    CUSTOM("Custom file", null);
+
+    private final String name;
+    private final String resource;
+
+    AlertSound(String name, String resource) {
+        this.name = name;
+        this.resource = resource;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,23 @@
+package com.idlemaster.alerts;
+
+/**
+ * Alerts raised by the salvaging and thieving modules.
+ */
+public enum AlertType {
+    LOW_BOAT_HEALTH,
+    HULL_FAILING_SOON,
+    INVENTORY_FULL,
+    CARGO_FULL,
+    CARGO_FULL_SOON,
+    CREW_IDLE,
+    MONSTER_ATTACK,
+    SALVAGE_SPOT_RESPAWN,
+    SALVAGE_SPOT_RESPAWN_SOON,
+    WRECK_DEPLETED,
+    SORTING_DONE,
+    DISTRACTION_START,
+    DISTRACTION_END,
+    POUCHES_FULL,
+    POUCHES_FULL_SOON,
+    THIEVING_IDLE
+}
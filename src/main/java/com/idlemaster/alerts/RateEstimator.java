@@ -0,0 +1,76 @@
+package com.idlemaster.alerts;
+
+/**
+ * Exponentially weighted rate of a quantity per game tick, such as cargo stored or
+ * damage taken.
+ *
+ * Ticks without a change are not recorded: the decay for a run of silent ticks is
+ * applied in one step on the next record or read, so every call is O(1). The estimate
+ * is bias corrected, so it is usable right after the first few samples instead of
+ * creeping up from zero.
+ */
+public final class RateEstimator {
+
+    private static final double SECONDS_PER_TICK = 0.6;
+
+    // Rates below this are treated as no progress, about one unit per 10 minutes
+    private static final double MIN_RATE_PER_TICK = 1.0 / 1000;
+
+    private final double decay;
+
+    private double rate;
+    private int firstTick = -1;
+    private int lastTick = -1;
+
+    /**
+     * @param halfLifeTicks ticks after which a sample has lost half of its weight
+     */
+    public RateEstimator(int halfLifeTicks) {
+        this.decay = Math.pow(0.5, 1.0 / halfLifeTicks);
+    }
+
+    public void record(int amount, int tick) {
+        if (firstTick < 0) {
+            // The first change only starts the clock, there is no interval to measure yet
+            firstTick = tick;
+            lastTick = tick;
+            return;
+        }
+        // Decay over the silent ticks and the current one, then add this tick's amount
+        rate = rate * Math.pow(decay, Math.max(tick - lastTick, 0)) + (1 - decay) * amount;
+        lastTick = Math.max(lastTick, tick);
+    }
+
+    /**
+     * Estimated amount per tick as of the given tick, 0 until a second change is recorded.
+     */
+    public double ratePerTick(int tick) {
+        if (firstTick < 0 || tick <= firstTick) {
+            return 0;
+        }
+        double decayed = rate * Math.pow(decay, Math.max(tick - lastTick, 0));
+        double weight = 1 - Math.pow(decay, tick - firstTick);
+        return decayed / weight;
+    }
+
+    /**
+     * Seconds until the given remaining amount is used up at the current rate,
+     * or -1 if nothing is left or the rate is too low to estimate.
+     */
+    public int secondsUntil(int remaining, int tick) {
+        if (remaining <= 0) {
+            return -1;
+        }
+        double perTick = ratePerTick(tick);
+        if (perTick < MIN_RATE_PER_TICK) {
+            return -1;
+        }
+        return (int) Math.ceil(remaining / perTick * SECONDS_PER_TICK);
+    }
+
+    public void reset() {
+        rate = 0;
+        firstTick = -1;
+        lastTick = -1;
+    }
+}
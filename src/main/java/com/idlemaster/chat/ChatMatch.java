@@ -0,0 +1,57 @@
+package com.idlemaster.chat;
+
+import java.util.regex.Matcher;
+
+/**
+ * A pattern handler's view of the combined match, numbered as if its own pattern had
+ * matched alone. Group 0 is the text matched by the handler's pattern.
+ *
+ * Only valid during the handler call, the underlying matcher is not kept.
+ */
+public final class ChatMatch {
+
+    private final Matcher matcher;
+    // Group of the combined pattern wrapping the handler's pattern, and the handler's own group count
+    private final int offset;
+    private final int groupCount;
+
+    ChatMatch(Matcher matcher, int offset, int groupCount) {
+        this.matcher = matcher;
+        this.offset = offset;
+        this.groupCount = groupCount;
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+
+    public String group() {
+        return matcher.group(offset);
+    }
+
+    public String group(int group) {
+        return matcher.group(combined(group));
+    }
+
+    /**
+     * Named groups keep their names in the combined pattern, names are unique across handlers.
+     */
+    public String group(String name) {
+        return matcher.group(name);
+    }
+
+    public int start(int group) {
+        return matcher.start(combined(group));
+    }
+
+    public int end(int group) {
+        return matcher.end(combined(group));
+    }
+
+    private int combined(int group) {
+        if (group < 0 || group > groupCount) {
+            throw new IndexOutOfBoundsException("No group " + group);
+        }
+        return offset + group;
+    }
+}
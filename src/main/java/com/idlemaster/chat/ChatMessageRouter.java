@@ -0,0 +1,191 @@
+package com.idlemaster.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Dispatches game chat messages to the modules that registered for them.
+ *
+ * Exact messages are looked up in a hash table. Pattern handlers are compiled into one
+ * alternation with a group per pattern, so a message is matched once however many
+ * patterns are registered, and only the handler of the matching pattern is called with
+ * a view of the combined match numbered like its own pattern. If several patterns match,
+ * the first registered wins.
+ *
+ * Wrapping a pattern in the alternation shifts its group numbers, so patterns with
+ * backreferences are rejected when they are registered.
+ */
+@Slf4j
+@Singleton
+public class ChatMessageRouter {
+
+    private final List<ExactHandler> exactHandlers = new ArrayList<>();
+    private final List<PatternHandler> patternHandlers = new ArrayList<>();
+
+    // Rebuilt on every registration change, messages are routed against a consistent snapshot
+    private volatile Table table = new Table(Collections.emptyMap(), null, Collections.emptyList(), new int[0]);
+
+    public synchronized void onExact(Object owner, String message, Consumer<String> handler) {
+        exactHandlers.add(new ExactHandler(owner, message, handler));
+        rebuild();
+    }
+
+    /**
+     * Registers a handler for messages matching the whole regex. Throws
+     * IllegalArgumentException if the regex is invalid, has a backreference, or reuses a
+     * group name of an already registered pattern.
+     */
+    public synchronized void onPattern(Object owner, String regex, Consumer<ChatMatch> handler) {
+        if (hasBackreference(regex)) {
+            throw new IllegalArgumentException("Chat patterns can't use backreferences: " + regex);
+        }
+        PatternHandler added = new PatternHandler(owner, Pattern.compile(regex), handler);
+        patternHandlers.add(added);
+        try {
+            rebuild();
+        } catch (PatternSyntaxException e) {
+            patternHandlers.remove(added);
+            throw new IllegalArgumentException("Chat pattern can't be combined: " + regex, e);
+        }
+    }
+
+    /**
+     * Removes every handler registered by the owner.
+     */
+    public synchronized void unregister(Object owner) {
+        exactHandlers.removeIf(h -> h.owner == owner);
+        patternHandlers.removeIf(h -> h.owner == owner);
+        rebuild();
+    }
+
+    /**
+     * Sends the message to its handlers. Returns true if any handler matched.
+     */
+    public boolean route(String message) {
+        Table current = table;
+
+        List<Consumer<String>> exact = current.exact.get(message);
+        if (exact != null) {
+            for (Consumer<String> handler : exact) {
+                handler.accept(message);
+            }
+            return true;
+        }
+
+        if (current.combined == null) {
+            return false;
+        }
+        Matcher matcher = current.combined.matcher(message);
+        if (!matcher.matches()) {
+            return false;
+        }
+        for (int i = 0; i < current.patterns.size(); i++) {
+            int offset = current.offsets[i];
+            if (matcher.start(offset) >= 0) {
+                PatternHandler handler = current.patterns.get(i);
+                handler.handler.accept(new ChatMatch(matcher, offset, handler.groupCount));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild() {
+        Map<String, List<Consumer<String>>> exact = new HashMap<>();
+        for (ExactHandler handler : exactHandlers) {
+            exact.computeIfAbsent(handler.message, k -> new ArrayList<>(1)).add(handler.handler);
+        }
+
+        // Each pattern is wrapped in a group, followed by its own groups
+        Pattern combined = null;
+        int[] offsets = new int[patternHandlers.size()];
+        if (!patternHandlers.isEmpty()) {
+            StringBuilder regex = new StringBuilder("(?:");
+            int group = 1;
+            for (int i = 0; i < patternHandlers.size(); i++) {
+                PatternHandler handler = patternHandlers.get(i);
+                if (i > 0) {
+                    regex.append('|');
+                }
+                regex.append('(').append(handler.pattern.pattern()).append(')');
+                offsets[i] = group;
+                group += 1 + handler.groupCount;
+            }
+            combined = Pattern.compile(regex.append(')').toString());
+        }
+
+        table = new Table(exact, combined, new ArrayList<>(patternHandlers), offsets);
+        log.debug("Chat router rebuilt: {} exact messages, {} patterns", exact.size(), patternHandlers.size());
+    }
+
+    // Numbered (\1) and named (\k<name>) backreferences, outside \Q...\E quotes
+    private static boolean hasBackreference(String regex) {
+        boolean quoted = false;
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) != '\\') {
+                continue;
+            }
+            char next = regex.charAt(++i);
+            if (quoted) {
+                quoted = next != 'E';
+            } else if (next == 'Q') {
+                quoted = true;
+            } else if ((next >= '1' && next <= '9') || next == 'k') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Table {
+        final Map<String, List<Consumer<String>>> exact;
+        final Pattern combined;
+        final List<PatternHandler> patterns;
+        // Combined group wrapping each pattern
+        final int[] offsets;
+
+        Table(Map<String, List<Consumer<String>>> exact, Pattern combined, List<PatternHandler> patterns,
+              int[] offsets) {
+            this.exact = exact;
+            this.combined = combined;
+            this.patterns = patterns;
+            this.offsets = offsets;
+        }
+    }
+
+    private static final class ExactHandler {
+        final Object owner;
+        final String message;
+        final Consumer<String> handler;
+
+        ExactHandler(Object owner, String message, Consumer<String> handler) {
+            this.owner = owner;
+            this.message = message;
+            this.handler = handler;
+        }
+    }
+
+    private static final class PatternHandler {
+        final Object owner;
+        final Pattern pattern;
+        final int groupCount;
+        final Consumer<ChatMatch> handler;
+
+        PatternHandler(Object owner, Pattern pattern, Consumer<ChatMatch> handler) {
+            this.owner = owner;
+            this.pattern = pattern;
+            this.groupCount = pattern.matcher("").groupCount();
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.idlemaster.debug;
+
+import com.idlemaster.history.HistoryExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size journal of the most recent events the plugin consumed and the state
+ * transitions they caused, for diagnosing reports of missed alerts.
+ *
+ * Entries are kept as primitives in preallocated arrays, so recording one does not
+ * allocate or lock. Every slot carries the sequence number of the entry in it; a writer
+ * clears it before touching the slot and publishes it last, and a reader only keeps an
+ * entry whose sequence is the same before and after reading the fields. The journal can
+ * therefore be dumped from any thread while the client thread keeps writing.
+ */
+@Slf4j
+@Singleton
+public class EventJournal {
+
+    public static final int CAPACITY = 1 << 15;
+
+    private static final int MASK = CAPACITY - 1;
+    private static final JournalEventType[] TYPES = JournalEventType.values();
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // Per entry: tick, type, a, b, c
+    private static final int FIELDS = 5;
+
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLongArray times = new AtomicLongArray(CAPACITY);
+    private final AtomicIntegerArray values = new AtomicIntegerArray(CAPACITY * FIELDS);
+
+    private volatile boolean enabled = true;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void record(JournalEventType type, int tick) {
+        record(type, tick, 0, 0, 0);
+    }
+
+    public void record(JournalEventType type, int tick, int a) {
+        record(type, tick, a, 0, 0);
+    }
+
+    public void record(JournalEventType type, int tick, int a, int b) {
+        record(type, tick, a, b, 0);
+    }
+
+    public void record(JournalEventType type, int tick, int a, int b, int c) {
+        if (!enabled) {
+            return;
+        }
+
+        long sequence = next.getAndIncrement();
+        int slot = (int) sequence & MASK;
+        int base = slot * FIELDS;
+
+        // Stored sequences are offset by one so that 0 marks a slot being written or never used.
+        // Clearing it is a volatile store so no field store below becomes visible before it,
+        // publishing it again is a release store after all the fields.
+        sequences.set(slot, 0);
+        times.lazySet(slot, System.currentTimeMillis());
+        values.lazySet(base, tick);
+        values.lazySet(base + 1, type.ordinal());
+        values.lazySet(base + 2, a);
+        values.lazySet(base + 3, b);
+        values.lazySet(base + 4, c);
+        sequences.lazySet(slot, sequence + 1);
+    }
+
+    /**
+     * Number of entries recorded since startup, including those already overwritten.
+     */
+    public long getRecorded() {
+        return next.get();
+    }
+
+    /**
+     * Writes up to maxEntries of the most recent entries as CSV to the export directory
+     * and returns the file. Entries overwritten while dumping are skipped.
+     */
+    public File dump(int maxEntries) throws IOException {
+        File dir = HistoryExporter.EXPORT_DIR;
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create export directory " + dir);
+        }
+
+        long end = next.get();
+        long start = Math.max(0, end - Math.min(maxEntries, CAPACITY));
+        File file = new File(dir, "event-journal-" + FILE_TIME_FORMAT.format(LocalDateTime.now()) + ".csv");
+        long written = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("sequence,time,tick,event,values\n");
+            StringBuilder row = new StringBuilder(128);
+            int[] entry = new int[FIELDS];
+            for (long sequence = start; sequence < end; sequence++) {
+                int slot = (int) sequence & MASK;
+                // Volatile reads in order: the sequence, the fields, then the sequence again
+                long stored = sequences.get(slot);
+                long time = times.get(slot);
+                int base = slot * FIELDS;
+                for (int i = 0; i < FIELDS; i++) {
+                    entry[i] = values.get(base + i);
+                }
+                if (stored != sequence + 1 || sequences.get(slot) != stored) {
+                    continue;
+                }
+
+                row.setLength(0);
+                writeRow(row, sequence, time, entry);
+                writer.append(row);
+                written++;
+            }
+        }
+        log.debug("Dumped {} event journal entries to {}", written, file);
+        return file;
+    }
+
+    private static void writeRow(StringBuilder row, long sequence, long time, int[] entry) {
+        JournalEventType type = TYPES[entry[1]];
+        row.append(sequence).append(',')
+            .append(Instant.ofEpochMilli(time)).append(',')
+            .append(entry[0]).append(',')
+            .append(type.name()).append(',');
+        String[] fields = type.getFields();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                row.append(' ');
+            }
+            row.append(fields[i]).append('=').append(entry[2 + i]);
+        }
+        row.append('\n');
+    }
+}
@@ -0,0 +1,67 @@
+package com.idlemaster.debug;
+
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.util.Locale;
+
+/**
+ * Bar chart of one history series, one bar per bucket from oldest to newest,
+ * scaled to the largest value of the series.
+ */
+class HistorySeriesChart extends JComponent {
+
+    private static final int HEIGHT = 48;
+    private static final int BAR_GAP = 1;
+
+    private final String title;
+    private final String unit;
+    private final Color color;
+    private float[] values = new float[0];
+
+    HistorySeriesChart(String title, String unit, Color color) {
+        this.title = title;
+        this.unit = unit;
+        this.color = color;
+        setFont(FontManager.getRunescapeSmallFont());
+        setPreferredSize(new Dimension(0, HEIGHT));
+    }
+
+    void setValues(float[] values) {
+        this.values = values;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        g.setColor(ColorScheme.DARKER_GRAY_COLOR);
+        g.fillRect(0, 0, width, height);
+
+        float max = 0;
+        for (float value : values) {
+            max = Math.max(max, value);
+        }
+
+        FontMetrics metrics = g.getFontMetrics();
+        int top = metrics.getHeight() + 2;
+        if (max > 0) {
+            int barWidth = Math.max(1, width / values.length - BAR_GAP);
+            int chartHeight = height - top;
+            g.setColor(color);
+            for (int i = 0; i < values.length; i++) {
+                int barHeight = Math.round(values[i] / max * chartHeight);
+                g.fillRect(i * (barWidth + BAR_GAP), height - barHeight, barWidth, barHeight);
+            }
+        }
+
+        g.setColor(Color.WHITE);
+        g.drawString(String.format(Locale.ROOT, "%s (max %,.0f%s)", title, max, unit), 0, metrics.getAscent());
+    }
+}
@@ -0,0 +1,266 @@
+package com.idlemaster.debug;
+
+import com.idlemaster.alerts.AlertLatencyTracker;
+import com.idlemaster.history.HistoryMetric;
+import com.idlemaster.history.HistoryQueryEngine;
+import com.idlemaster.history.HistoryStats;
+import com.idlemaster.items.YieldTracker;
+import com.idlemaster.skills.thieving.HighlightCostTracker;
+import com.idlemaster.skills.thieving.HighlightStyle;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.PluginPanel;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.GridLayout;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Sidebar panel with diagnostics: alert latency percentiles per stage, session
+ * yield, history statistics and daily charts for the last week, the measured cost
+ * of each citizen highlight style and a dump of the event journal.
+ * Only refreshes while it is open.
+ */
+@Slf4j
+@Singleton
+public class IdleMasterDebugPanel extends PluginPanel {
+
+    private static final int REFRESH_INTERVAL_MS = 1000;
+    private static final long HISTORY_RANGE_MILLIS = Duration.ofDays(7).toMillis();
+    private static final long HISTORY_BUCKET_MILLIS = Duration.ofDays(1).toMillis();
+    private static final int JOURNAL_DUMP_ENTRIES = 20_000;
+
+    private final AlertLatencyTracker latencyTracker;
+    private final HistoryQueryEngine historyQueryEngine;
+    private final YieldTracker yieldTracker;
+    private final EventJournal journal;
+    private final HighlightCostTracker highlightCost;
+
+    private final JLabel[] latencyLabels = new JLabel[AlertLatencyTracker.Stage.values().length];
+    private final JLabel sortedLabel = new JLabel();
+    private final JLabel pouchLabel = new JLabel();
+    private final JLabel historyHoursLabel = new JLabel();
+    private final JLabel historyXpLabel = new JLabel();
+    private final JLabel historyIdleLabel = new JLabel();
+    private final HistorySeriesChart sailingXpChart = new HistorySeriesChart("Sailing xp/h", "", new Color(74, 144, 226));
+    private final HistorySeriesChart thievingXpChart = new HistorySeriesChart("Thieving xp/h", "", new Color(155, 89, 182));
+    private final HistorySeriesChart idleChart = new HistorySeriesChart("Idle", "%", new Color(230, 126, 34));
+    private final JLabel[] highlightLabels = new JLabel[HighlightStyle.values().length];
+    private final JLabel journalLabel = new JLabel();
+    private final JLabel statusLabel = new JLabel(" ");
+    private final Timer refreshTimer;
+
+    @Inject
+    public IdleMasterDebugPanel(AlertLatencyTracker latencyTracker, HistoryQueryEngine historyQueryEngine,
+                                YieldTracker yieldTracker, EventJournal journal,
+                                HighlightCostTracker highlightCost) {
+        this.latencyTracker = latencyTracker;
+        this.historyQueryEngine = historyQueryEngine;
+        this.yieldTracker = yieldTracker;
+        this.journal = journal;
+        this.highlightCost = highlightCost;
+
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+
+        JPanel latencyPanel = createSection("Alert latency (p50 / p90 / p99 / max ms)");
+        for (AlertLatencyTracker.Stage stage : AlertLatencyTracker.Stage.values()) {
+            JLabel label = new JLabel();
+            latencyLabels[stage.ordinal()] = label;
+            latencyPanel.add(label);
+        }
+        JButton exportButton = new JButton("Export latency CSV");
+        exportButton.addActionListener(e -> exportLatency());
+        latencyPanel.add(exportButton);
+        add(latencyPanel);
+
+        JPanel yieldPanel = createSection("Session yield");
+        yieldPanel.add(sortedLabel);
+        yieldPanel.add(pouchLabel);
+        add(yieldPanel);
+
+        JPanel historyPanel = createSection("History (last 7 days)");
+        historyPanel.add(historyHoursLabel);
+        historyPanel.add(historyXpLabel);
+        historyPanel.add(historyIdleLabel);
+        add(historyPanel);
+
+        JPanel historyChartPanel = createSection("History per day");
+        historyChartPanel.add(sailingXpChart);
+        historyChartPanel.add(thievingXpChart);
+        historyChartPanel.add(idleChart);
+        add(historyChartPanel);
+
+        JPanel highlightPanel = createSection("Highlight cost (avg / max us per frame)");
+        for (HighlightStyle style : HighlightStyle.values()) {
+            JLabel label = new JLabel();
+            highlightLabels[style.ordinal()] = label;
+            highlightPanel.add(label);
+        }
+        add(highlightPanel);
+
+        JPanel journalPanel = createSection("Event journal");
+        journalPanel.add(journalLabel);
+        JButton dumpButton = new JButton("Dump event journal");
+        dumpButton.addActionListener(e -> dumpJournal());
+        journalPanel.add(dumpButton);
+        add(journalPanel);
+
+        statusLabel.setFont(FontManager.getRunescapeSmallFont());
+        statusLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        add(statusLabel);
+
+        refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> {
+            refreshLatency();
+            refreshYield();
+            refreshHighlightCost();
+            refreshJournal();
+        });
+        refreshLatency();
+        refreshYield();
+        refreshHighlightCost();
+        refreshJournal();
+    }
+
+    @Override
+    public void onActivate() {
+        refreshLatency();
+        refreshYield();
+        refreshHighlightCost();
+        refreshJournal();
+        refreshHistory();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void onDeactivate() {
+        refreshTimer.stop();
+    }
+
+    private JPanel createSection(String title) {
+        JPanel section = new JPanel(new GridLayout(0, 1, 0, 2));
+        section.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        section.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createEmptyBorder(0, 0, 8, 0),
+            BorderFactory.createTitledBorder(title)));
+        section.setAlignmentX(Component.LEFT_ALIGNMENT);
+        return section;
+    }
+
+    private void refreshLatency() {
+        for (AlertLatencyTracker.Stage stage : AlertLatencyTracker.Stage.values()) {
+            AlertLatencyTracker.Summary summary = latencyTracker.summary(stage);
+            String text = summary.getCount() == 0
+                ? stage.name() + ": no samples"
+                : String.format(Locale.ROOT, "%s: %.1f / %.1f / %.1f / %.1f (%d)", stage.name(),
+                    summary.getP50Ms(), summary.getP90Ms(), summary.getP99Ms(), summary.getMaxMs(), summary.getCount());
+            latencyLabels[stage.ordinal()].setText(text);
+        }
+    }
+
+    private void refreshYield() {
+        sortedLabel.setText(String.format(Locale.ROOT, "Sorted: %,d items, %d types (%,.0f/h)",
+            yieldTracker.getSortedTotal(), yieldTracker.getSortedItemTypes(),
+            yieldTracker.sortedPerHour(System.currentTimeMillis())));
+        pouchLabel.setText(String.format(Locale.ROOT, "Pouches: %,d opened, %,.1f coins each",
+            yieldTracker.getPouchesOpened(), yieldTracker.getCoinsPerPouch()));
+    }
+
+    private void refreshHighlightCost() {
+        for (HighlightStyle style : HighlightStyle.values()) {
+            long frames = highlightCost.getFrames(style);
+            String text = frames == 0
+                ? style + ": not drawn yet"
+                : String.format(Locale.ROOT, "%s: %.1f / %.1f (%,d frames)", style,
+                    highlightCost.getAverageMicros(style), highlightCost.getMaxMicros(style), frames);
+            highlightLabels[style.ordinal()].setText(text);
+        }
+    }
+
+    private void refreshJournal() {
+        journalLabel.setText(String.format(Locale.ROOT, "Recorded: %,d entries (keeps %,d)",
+            journal.getRecorded(), EventJournal.CAPACITY));
+    }
+
+    private void refreshHistory() {
+        // The accounts are listed on the query pool, the EDT never touches the history directory
+        long now = System.currentTimeMillis();
+        historyQueryEngine.queryAllAccounts(now - HISTORY_RANGE_MILLIS, now, HISTORY_BUCKET_MILLIS)
+            .whenComplete((stats, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    log.debug("Unable to query history", error);
+                    historyHoursLabel.setText("History unavailable");
+                    return;
+                }
+                showHistory(stats);
+            }));
+    }
+
+    private void showHistory(HistoryStats stats) {
+        sailingXpChart.setValues(stats.perHourSeries(HistoryMetric.SAILING_XP));
+        thievingXpChart.setValues(stats.perHourSeries(HistoryMetric.THIEVING_XP));
+        idleChart.setValues(stats.idlePercentageSeries());
+        if (stats.total(HistoryMetric.TICKS) == 0) {
+            historyHoursLabel.setText("No history recorded yet");
+            historyXpLabel.setText("");
+            historyIdleLabel.setText("");
+            return;
+        }
+
+        historyHoursLabel.setText(String.format(Locale.ROOT, "Active: %.1f h", stats.getActiveHours()));
+        historyXpLabel.setText(String.format(Locale.ROOT, "Sailing: %,.0f xp/h, Thieving: %,.0f xp/h",
+            stats.perHour(HistoryMetric.SAILING_XP), stats.perHour(HistoryMetric.THIEVING_XP)));
+        historyIdleLabel.setText(String.format(Locale.ROOT, "Idle: %.1f%%", stats.getIdlePercentage()));
+    }
+
+    private void exportLatency() {
+        statusLabel.setText("Exporting...");
+        // File IO stays off the EDT
+        Thread thread = new Thread(() -> {
+            String status;
+            try {
+                File file = latencyTracker.exportCsv();
+                status = "Exported " + file.getName();
+            } catch (IOException e) {
+                log.warn("Alert latency export failed", e);
+                status = "Export failed: " + e.getMessage();
+            }
+            String result = status;
+            SwingUtilities.invokeLater(() -> statusLabel.setText(result));
+        }, "idlemaster-latency-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void dumpJournal() {
+        statusLabel.setText("Dumping...");
+        Thread thread = new Thread(() -> {
+            String status;
+            try {
+                File file = journal.dump(JOURNAL_DUMP_ENTRIES);
+                status = "Dumped " + file.getName();
+            } catch (IOException e) {
+                log.warn("Event journal dump failed", e);
+                status = "Dump failed: " + e.getMessage();
+            }
+            String result = status;
+            SwingUtilities.invokeLater(() -> statusLabel.setText(result));
+        }, "idlemaster-journal-dump");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
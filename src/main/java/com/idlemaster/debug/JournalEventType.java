@@ -0,0 +1,29 @@
+package com.idlemaster.debug;
+
+import lombok.Getter;
+
+/**
+ * Entry types of the event journal. Each entry carries up to three int values,
+ * the names listed here are only used when the journal is dumped.
+ */
+@Getter
+public enum JournalEventType {
+    GAME_STATE("state"),
+    ANIMATION("animation"),
+    NPC_SPAWNED("npcIndex", "npcId"),
+    NPC_DESPAWNED("npcIndex", "npcId"),
+    INTERACTING("sourceIndex", "targetIndex"),
+    CONTAINER("containerId", "itemSlots"),
+    OVERHEAD("npcIndex", "crewSlot"),
+    CHAT("chatType", "messageHash"),
+    SALVAGE_ACTIVITY("from", "to"),
+    THIEVING_ACTIVITY("from", "to"),
+    ALERT("alert", "priority", "causeTick"),
+    ALERT_RATE_LIMITED("alert", "priority", "submitted");
+
+    private final String[] fields;
+
+    JournalEventType(String... fields) {
+        this.fields = fields;
+    }
+}
@@ -0,0 +1,56 @@
+package com.idlemaster.events;
+
+import net.runelite.client.callback.ClientThread;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs the registered flush callbacks once at the end of every game tick in which
+ * something was marked dirty.
+ *
+ * Event handlers only record what changed and call {@link #markDirty()}; processing,
+ * persistence and UI updates happen in the flush. Work per tick then depends on the
+ * number of distinct changes rather than the number of events fired.
+ */
+@Singleton
+public class TickBatcher {
+
+    private final ClientThread clientThread;
+    private final List<Runnable> flushers = new CopyOnWriteArrayList<>();
+
+    // Only touched on the client thread
+    private boolean flushScheduled;
+
+    @Inject
+    public TickBatcher(ClientThread clientThread) {
+        this.clientThread = clientThread;
+    }
+
+    public void register(Runnable flusher) {
+        flushers.add(flusher);
+    }
+
+    public void unregister(Runnable flusher) {
+        flushers.remove(flusher);
+    }
+
+    /**
+     * Schedules a flush at the end of the current tick. Must be called on the client thread.
+     */
+    public void markDirty() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            clientThread.invokeAtTickEnd(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        for (Runnable flusher : flushers) {
+            flusher.run();
+        }
+    }
+}
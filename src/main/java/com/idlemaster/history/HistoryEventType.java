@@ -0,0 +1,46 @@
+package com.idlemaster.history;
+
+import lombok.Getter;
+
+/**
+ * Event types stored in the raw session history log.
+ * Each event carries up to three int values, named after the matching
+ * SalvageInfo / ThievingInfo fields so exported records keep the same schema.
+ */
+@Getter
+public enum HistoryEventType {
+    SAILING_XP(1, "salvaging", "sailingXp", "xpGained"),
+    CARGO(2, "salvaging", "cargoCount", "maxCargoCount", "cargoGained"),
+    IDLE_START(3, "salvaging"),
+    IDLE_END(4, "salvaging", "idleTimeSeconds"),
+    BOAT_ATTACK(5, "salvaging", "boatHealth", "maxBoatHealth"),
+    WRECK_DEPLETED(6, "salvaging", "activeSalvageSpots", "totalSalvageSpots"),
+    THIEVING_XP(7, "thieving", "thievingXp", "xpGained"),
+    COIN_POUCHES(8, "thieving", "coinPouchCount", "maxCoinPouches", "pouchesGained"),
+    THIEVING_IDLE_START(9, "thieving"),
+    THIEVING_IDLE_END(10, "thieving", "idleTimeSeconds"),
+    DISTRACTION_START(11, "thieving"),
+    DISTRACTION_END(12, "thieving", "distractionTimeSeconds");
+
+    private static final HistoryEventType[] BY_CODE = new HistoryEventType[16];
+
+    static {
+        for (HistoryEventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+    private final String activity;
+    private final String[] fields;
+
+    HistoryEventType(int code, String activity, String... fields) {
+        this.code = code;
+        this.activity = activity;
+        this.fields = fields;
+    }
+
+    public static HistoryEventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.idlemaster.history;
+
+import lombok.Getter;
+
+/**
+ * File formats the session history can be exported to.
+ */
+@Getter
+public enum HistoryExportFormat {
+    CSV("CSV", "csv"),
+    JSON("JSON lines", "jsonl");
+
+    private final String name;
+    private final String extension;
+
+    HistoryExportFormat(String name, String extension) {
+        this.name = name;
+        this.extension = extension;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
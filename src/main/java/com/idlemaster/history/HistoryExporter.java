@@ -0,0 +1,314 @@
+package com.idlemaster.history;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import javax.inject.Singleton;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams raw history events to CSV or newline-delimited JSON.
+ *
+ * Events are read straight from the mapped daily event files and written through a
+ * buffered writer, so memory use does not depend on the size of the range. Columns
+ * are named after the SalvageInfo and ThievingInfo fields the event values come from.
+ * Only days still holding raw events (the last week) produce rows.
+ */
+@Slf4j
+@Singleton
+public class HistoryExporter {
+
+    public static final File EXPORT_DIR = new File(new File(RuneLite.RUNELITE_DIR, "idlemaster"), "exports");
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String[] BASE_COLUMNS = {"time", "tick", "account", "activity", "event"};
+
+    // Union of all event field names in declaration order, and the column of each field per event type
+    private static final String[] FIELD_COLUMNS;
+    private static final int[][] TYPE_COLUMNS;
+
+    static {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        HistoryEventType[] types = HistoryEventType.values();
+        TYPE_COLUMNS = new int[types.length][];
+        for (HistoryEventType type : types) {
+            String[] fields = type.getFields();
+            int[] indexes = new int[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                indexes[i] = columns.computeIfAbsent(fields[i], k -> columns.size());
+            }
+            TYPE_COLUMNS[type.ordinal()] = indexes;
+        }
+        FIELD_COLUMNS = columns.keySet().toArray(new String[0]);
+    }
+
+    public interface Listener {
+        void onProgress(int percent);
+
+        void onComplete(File file, long rows);
+
+        void onCancelled();
+
+        void onError(Exception e);
+    }
+
+    private ExecutorService executor;
+    private Future<?> running;
+    // Counts exports started, so a finishing export only clears its own future
+    private long generation;
+
+    /**
+     * Starts exporting the given accounts between fromMillis (inclusive) and toMillis (exclusive).
+     * Returns false if an export is already running.
+     */
+    public synchronized boolean export(List<String> accounts, long fromMillis, long toMillis,
+                                       HistoryExportFormat format, Listener listener) {
+        if (isRunning()) {
+            return false;
+        }
+
+        String name = "history-" + FILE_TIME_FORMAT.format(LocalDateTime.now()) + "." + format.getExtension();
+        File target = new File(EXPORT_DIR, name);
+        List<String> accountList = new ArrayList<>(accounts);
+        long id = ++generation;
+        running = getExecutor().submit(() -> run(id, accountList, fromMillis, toMillis, format, target, listener));
+        return true;
+    }
+
+    public synchronized boolean isRunning() {
+        return running != null && !running.isDone();
+    }
+
+    public synchronized void cancel() {
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+    }
+
+    public synchronized void shutDown() {
+        cancel();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "idlemaster-history-export");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Marks the export as no longer running before its listener is told, so a listener
+     * resetting the export setting does not cancel the export it is being called from.
+     */
+    private synchronized void finish(long id) {
+        if (generation == id) {
+            running = null;
+        }
+    }
+
+    private void run(long id, List<String> accounts, long fromMillis, long toMillis, HistoryExportFormat format,
+                     File target, Listener listener) {
+        File partial = new File(target.getParentFile(), target.getName() + ".part");
+        try {
+            if (!EXPORT_DIR.exists() && !EXPORT_DIR.mkdirs()) {
+                throw new IOException("Unable to create export directory " + EXPORT_DIR);
+            }
+
+            long rows;
+            try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(partial), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                rows = writeRange(writer, accounts, fromMillis, toMillis, format, listener);
+            }
+
+            Files.move(partial.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Exported {} history rows to {}", rows, target);
+            finish(id);
+            listener.onComplete(target, rows);
+        } catch (CancellationException | ClosedByInterruptException e) {
+            deletePartial(partial);
+            finish(id);
+            listener.onCancelled();
+        } catch (IOException | RuntimeException e) {
+            // Runtime failures (a corrupt event file, a throwing listener) would otherwise be lost in the future
+            deletePartial(partial);
+            log.warn("History export failed", e);
+            finish(id);
+            listener.onError(e);
+        }
+    }
+
+    private long writeRange(Writer writer, List<String> accounts, long fromMillis, long toMillis,
+                            HistoryExportFormat format, Listener listener) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate firstDay = Instant.ofEpochMilli(fromMillis).atZone(zone).toLocalDate();
+        LocalDate lastDay = Instant.ofEpochMilli(toMillis - 1).atZone(zone).toLocalDate();
+        long dayCount = lastDay.toEpochDay() - firstDay.toEpochDay() + 1;
+        long partitions = Math.max(dayCount * accounts.size(), 1);
+
+        StringBuilder row = new StringBuilder(256);
+        if (format == HistoryExportFormat.CSV) {
+            writeCsvHeader(row);
+            writer.append(row);
+        }
+
+        long rows = 0;
+        long done = 0;
+        int lastPercent = -1;
+        int[] values = new int[FIELD_COLUMNS.length];
+        boolean[] present = new boolean[FIELD_COLUMNS.length];
+
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            for (String account : accounts) {
+                File file = HistoryFiles.eventFile(HistoryFiles.accountDir(account), day);
+                if (file.exists()) {
+                    rows += writeEvents(writer, file, account, fromMillis, toMillis, format, row, values, present);
+                }
+
+                done++;
+                int percent = (int) (done * 100 / partitions);
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    listener.onProgress(percent);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeEvents(Writer writer, File file, String account, long fromMillis, long toMillis,
+                             HistoryExportFormat format, StringBuilder row, int[] values, boolean[] present) throws IOException {
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HistoryFiles.EVENT_HEADER_SIZE) {
+                return 0;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != HistoryFiles.EVENT_MAGIC || buffer.getShort(6) != HistoryFiles.EVENT_RECORD_SIZE) {
+                log.debug("Skipping history file with unknown format: {}", file);
+                return 0;
+            }
+
+            int count = Math.min(buffer.getInt(HistoryFiles.EVENT_COUNT_OFFSET), HistoryFiles.EVENT_CAPACITY);
+            for (int i = 0; i < count; i++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+
+                int offset = HistoryFiles.EVENT_HEADER_SIZE + i * HistoryFiles.EVENT_RECORD_SIZE;
+                if (offset + HistoryFiles.EVENT_RECORD_SIZE > size) {
+                    break;
+                }
+
+                long time = buffer.getLong(offset + HistoryFiles.EVENT_TIME);
+                HistoryEventType type = HistoryEventType.fromCode(buffer.getShort(offset + HistoryFiles.EVENT_TYPE));
+                if (time < fromMillis || time >= toMillis || type == null) {
+                    continue;
+                }
+
+                Arrays.fill(present, false);
+                int[] columns = TYPE_COLUMNS[type.ordinal()];
+                // Event values a, b and c are stored next to each other
+                for (int f = 0; f < columns.length && f < 3; f++) {
+                    values[columns[f]] = buffer.getInt(offset + HistoryFiles.EVENT_A + f * Integer.BYTES);
+                    present[columns[f]] = true;
+                }
+
+                int tick = buffer.getInt(offset + HistoryFiles.EVENT_TICK);
+                row.setLength(0);
+                if (format == HistoryExportFormat.CSV) {
+                    writeCsvRow(row, time, tick, account, type, values, present);
+                } else {
+                    writeJsonRow(row, time, tick, account, type, values, present);
+                }
+                writer.append(row);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void writeCsvHeader(StringBuilder row) {
+        row.setLength(0);
+        row.append(String.join(",", BASE_COLUMNS));
+        for (String column : FIELD_COLUMNS) {
+            row.append(',').append(column);
+        }
+        row.append('\n');
+    }
+
+    private static void writeCsvRow(StringBuilder row, long time, int tick, String account, HistoryEventType type,
+                                    int[] values, boolean[] present) {
+        row.append(Instant.ofEpochMilli(time)).append(',')
+            .append(tick).append(',')
+            .append(account).append(',')
+            .append(type.getActivity()).append(',')
+            .append(type.name());
+        for (int i = 0; i < FIELD_COLUMNS.length; i++) {
+            row.append(',');
+            if (present[i]) {
+                row.append(values[i]);
+            }
+        }
+        row.append('\n');
+    }
+
+    private static void writeJsonRow(StringBuilder row, long time, int tick, String account, HistoryEventType type,
+                                     int[] values, boolean[] present) {
+        row.append("{\"time\":\"").append(Instant.ofEpochMilli(time))
+            .append("\",\"tick\":").append(tick)
+            .append(",\"account\":\"").append(account)
+            .append("\",\"activity\":\"").append(type.getActivity())
+            .append("\",\"event\":\"").append(type.name()).append('"');
+        for (int i = 0; i < FIELD_COLUMNS.length; i++) {
+            if (present[i]) {
+                row.append(",\"").append(FIELD_COLUMNS[i]).append("\":").append(values[i]);
+            }
+        }
+        row.append("}\n");
+    }
+
+    private static void deletePartial(File partial) {
+        if (partial.exists() && !partial.delete()) {
+            log.debug("Unable to delete partial export {}", partial);
+        }
+    }
+}
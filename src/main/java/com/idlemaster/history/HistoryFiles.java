@@ -0,0 +1,105 @@
+package com.idlemaster.history;
+
+import net.runelite.client.RuneLite;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File layout and record format of the session history.
+ *
+ * Each account has its own directory holding:
+ * - events-yyyyMMdd.bin: raw fixed-size event records for one day
+ * - minute-yyyyMMdd.bin: one rollup record per minute of that day
+ * - hour-yyyyMM.bin: one rollup record per hour of that month
+ * - day-yyyy.bin: one rollup record per day of that year
+ *
+ * Every file has a fixed size, so a record is addressed directly from its time.
+ */
+public final class HistoryFiles {
+
+    public static final File HISTORY_DIR = new File(new File(RuneLite.RUNELITE_DIR, "idlemaster"), "history");
+
+    // Raw event file header
+    static final int EVENT_MAGIC = 0x494D484C; // "IMHL"
+    static final short EVENT_VERSION = 1;
+    static final int EVENT_HEADER_SIZE = 16;
+    static final int EVENT_COUNT_OFFSET = 8;
+
+    // Raw event record: time (long), tick (int), type (short), pad (short), a, b, c (int), pad (int)
+    static final int EVENT_RECORD_SIZE = 32;
+    static final int EVENT_TIME = 0;
+    static final int EVENT_TICK = 8;
+    static final int EVENT_TYPE = 12;
+    static final int EVENT_A = 16;
+    static final int EVENT_B = 20;
+    static final int EVENT_C = 24;
+
+    // 8192 events per day is far more than an AFK session produces, ~256 KB per file
+    static final int EVENT_CAPACITY = 8192;
+    static final int EVENT_FILE_SIZE = EVENT_HEADER_SIZE + EVENT_CAPACITY * EVENT_RECORD_SIZE;
+
+    static final int MINUTE_SLOTS = 24 * 60;
+    static final int HOUR_SLOTS = 31 * 24;
+    static final int DAY_SLOTS = 366;
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private HistoryFiles() {
+    }
+
+    public static File accountDir(String account) {
+        return new File(HISTORY_DIR, account);
+    }
+
+    /**
+     * Lists the accounts that have recorded history.
+     */
+    public static List<String> accounts() {
+        List<String> accounts = new ArrayList<>();
+        File[] dirs = HISTORY_DIR.listFiles(File::isDirectory);
+        if (dirs != null) {
+            for (File dir : dirs) {
+                accounts.add(dir.getName());
+            }
+        }
+        return accounts;
+    }
+
+    static File eventFile(File accountDir, LocalDate day) {
+        return new File(accountDir, "events-" + DAY_FORMAT.format(day) + ".bin");
+    }
+
+    static File minuteFile(File accountDir, LocalDate day) {
+        return new File(accountDir, "minute-" + DAY_FORMAT.format(day) + ".bin");
+    }
+
+    static File hourFile(File accountDir, YearMonth month) {
+        return new File(accountDir, "hour-" + MONTH_FORMAT.format(month) + ".bin");
+    }
+
+    static File dayFile(File accountDir, int year) {
+        return new File(accountDir, "day-" + year + ".bin");
+    }
+
+    /**
+     * Parses the day of a daily file name such as events-20250101.bin, or returns null.
+     */
+    static LocalDate parseDay(String fileName) {
+        int dash = fileName.indexOf('-');
+        int dot = fileName.lastIndexOf('.');
+        if (dash < 0 || dot - dash != 9) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(fileName.substring(dash + 1, dot), DAY_FORMAT);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
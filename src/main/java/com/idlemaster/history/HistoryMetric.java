@@ -0,0 +1,22 @@
+package com.idlemaster.history;
+
+/**
+ * Counters kept in the 1-minute, 1-hour and 1-day rollup records.
+ * The ordinal is the int slot of the counter inside a rollup record.
+ */
+public enum HistoryMetric {
+    TICKS,          // Game ticks spent in a salvaging or thieving area
+    IDLE_TICKS,     // Of those, ticks spent idle
+    SAILING_XP,
+    THIEVING_XP,
+    SALVAGE,        // Salvage added to the cargo hold
+    POUCHES,        // Coin pouches gained
+    ATTACKS,
+    DISTRACTIONS,
+    DEPLETIONS;
+
+    public static final int COUNT = values().length;
+
+    // Bytes per rollup record, one int per metric
+    public static final int RECORD_SIZE = COUNT * Integer.BYTES;
+}
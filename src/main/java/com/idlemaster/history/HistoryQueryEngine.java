@@ -0,0 +1,234 @@
+package com.idlemaster.history;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Computes rates over the recorded history of one or more accounts.
+ *
+ * The range is split into one partition per account and day, and the partitions are
+ * summed in parallel on a small ForkJoin pool. Each day is read from the finest rollup
+ * still on disk (minute, then hour, then day), streaming the mapped records straight
+ * into the bucket sums. Partitions summed on the same thread share one array of sums,
+ * so only a task stolen by another worker allocates its own.
+ */
+@Slf4j
+@Singleton
+public class HistoryQueryEngine {
+
+    private static final int MAX_BUCKETS = 10_000;
+
+    private ForkJoinPool pool;
+
+    /**
+     * Aggregates the given accounts between fromMillis (inclusive) and toMillis (exclusive),
+     * split into buckets of bucketMillis. Runs off the calling thread.
+     */
+    public CompletableFuture<HistoryStats> query(List<String> accounts, long fromMillis, long toMillis, long bucketMillis) {
+        List<String> accountList = new ArrayList<>(accounts);
+        return submit(() -> accountList, fromMillis, toMillis, bucketMillis);
+    }
+
+    /**
+     * Same as {@link #query} over every account with recorded history. The history
+     * directory is listed on the pool as well, so this is safe to call from the EDT.
+     */
+    public CompletableFuture<HistoryStats> queryAllAccounts(long fromMillis, long toMillis, long bucketMillis) {
+        return submit(HistoryFiles::accounts, fromMillis, toMillis, bucketMillis);
+    }
+
+    private CompletableFuture<HistoryStats> submit(Supplier<List<String>> accounts, long fromMillis, long toMillis,
+                                                   long bucketMillis) {
+        if (toMillis <= fromMillis || bucketMillis <= 0) {
+            throw new IllegalArgumentException("Empty history range");
+        }
+
+        long buckets = (toMillis - fromMillis + bucketMillis - 1) / bucketMillis;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Too many history buckets: " + buckets);
+        }
+
+        Query query = new Query(fromMillis, toMillis, bucketMillis, (int) buckets);
+        ForkJoinPool executor = getPool();
+        return CompletableFuture.supplyAsync(() -> {
+            List<Partition> partitions = partitions(accounts.get(), fromMillis, toMillis);
+            return new HistoryStats(fromMillis, bucketMillis, query.bucketCount,
+                new SumTask(query, partitions, 0, partitions.size()).invoke());
+        }, executor);
+    }
+
+    /**
+     * One partition per account and day of the range.
+     */
+    private static List<Partition> partitions(List<String> accounts, long fromMillis, long toMillis) {
+        ZoneId zone = ZoneId.systemDefault();
+        List<Partition> partitions = new ArrayList<>();
+        LocalDate firstDay = Instant.ofEpochMilli(fromMillis).atZone(zone).toLocalDate();
+        LocalDate lastDay = Instant.ofEpochMilli(toMillis - 1).atZone(zone).toLocalDate();
+        for (String account : accounts) {
+            File dir = HistoryFiles.accountDir(account);
+            for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                partitions.add(new Partition(dir, day, day.atStartOfDay(zone).toInstant().toEpochMilli()));
+            }
+        }
+        return partitions;
+    }
+
+    public synchronized void shutDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            int parallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            pool = new ForkJoinPool(parallelism, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("idlemaster-history-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    private static final class Query {
+        final long fromMillis;
+        final long toMillis;
+        final long bucketMillis;
+        final int bucketCount;
+
+        Query(long fromMillis, long toMillis, long bucketMillis, int bucketCount) {
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            this.bucketMillis = bucketMillis;
+            this.bucketCount = bucketCount;
+        }
+    }
+
+    private static final class Partition {
+        final File accountDir;
+        final LocalDate day;
+        final long dayStartMillis;
+
+        Partition(File accountDir, LocalDate day, long dayStartMillis) {
+            this.accountDir = accountDir;
+            this.day = day;
+            this.dayStartMillis = dayStartMillis;
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<long[]> {
+        private final Query query;
+        private final List<Partition> partitions;
+        private final int start;
+        private final int end;
+
+        SumTask(Query query, List<Partition> partitions, int start, int end) {
+            this.query = query;
+            this.partitions = partitions;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            long[] values = HistoryStats.newValues(query.bucketCount);
+            sumInto(values);
+            return values;
+        }
+
+        /**
+         * Adds the partitions of this task to values.
+         */
+        private void sumInto(long[] values) {
+            if (end - start <= 1) {
+                if (start < end) {
+                    sumPartition(partitions.get(start), values);
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            SumTask left = new SumTask(query, partitions, start, middle);
+            left.fork();
+            new SumTask(query, partitions, middle, end).sumInto(values);
+            // Nobody stole the left half, so it goes into the same sums
+            if (left.tryUnfork()) {
+                left.sumInto(values);
+                return;
+            }
+            long[] leftValues = left.join();
+            for (int i = 0; i < values.length; i++) {
+                values[i] += leftValues[i];
+            }
+        }
+
+        private void sumPartition(Partition partition, long[] values) {
+            LocalDate day = partition.day;
+
+            File minuteFile = HistoryFiles.minuteFile(partition.accountDir, day);
+            if (minuteFile.exists()) {
+                sumSlots(minuteFile, 0, HistoryFiles.MINUTE_SLOTS, partition.dayStartMillis, 60_000L, values);
+                return;
+            }
+
+            File hourFile = HistoryFiles.hourFile(partition.accountDir, YearMonth.from(day));
+            if (hourFile.exists()) {
+                sumSlots(hourFile, (day.getDayOfMonth() - 1) * 24, 24, partition.dayStartMillis, 3_600_000L, values);
+                return;
+            }
+
+            File dayFile = HistoryFiles.dayFile(partition.accountDir, day.getYear());
+            if (dayFile.exists()) {
+                sumSlots(dayFile, day.getDayOfYear() - 1, 1, partition.dayStartMillis, 86_400_000L, values);
+            }
+        }
+
+        /**
+         * Adds count rollup records starting at firstSlot, the first one starting at startMillis.
+         */
+        private void sumSlots(File file, int firstSlot, int count, long startMillis, long slotMillis, long[] values) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+                for (int i = 0; i < count; i++) {
+                    long slotStart = startMillis + i * slotMillis;
+                    int offset = (firstSlot + i) * HistoryMetric.RECORD_SIZE;
+                    if (slotStart < query.fromMillis || slotStart >= query.toMillis || offset + HistoryMetric.RECORD_SIZE > size) {
+                        continue;
+                    }
+
+                    int bucketBase = ((int) ((slotStart - query.fromMillis) / query.bucketMillis) + 1) * HistoryMetric.COUNT;
+                    for (int metric = 0; metric < HistoryMetric.COUNT; metric++) {
+                        int value = buffer.getInt(offset + metric * Integer.BYTES);
+                        values[metric] += value;
+                        values[bucketBase + metric] += value;
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Unable to read history file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
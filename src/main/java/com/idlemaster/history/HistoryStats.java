@@ -0,0 +1,90 @@
+package com.idlemaster.history;
+
+import lombok.Getter;
+
+/**
+ * Aggregated history over a time range, split into equal buckets for charting.
+ * All values are kept in one flat array: the range totals followed by one
+ * record of metric sums per bucket.
+ */
+public class HistoryStats {
+
+    private static final double MILLIS_PER_TICK = 600.0;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    @Getter
+    private final long fromMillis;
+    @Getter
+    private final long bucketMillis;
+    @Getter
+    private final int bucketCount;
+
+    private final long[] values;
+
+    HistoryStats(long fromMillis, long bucketMillis, int bucketCount, long[] values) {
+        this.fromMillis = fromMillis;
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.values = values;
+    }
+
+    static long[] newValues(int bucketCount) {
+        return new long[(bucketCount + 1) * HistoryMetric.COUNT];
+    }
+
+    public long total(HistoryMetric metric) {
+        return values[metric.ordinal()];
+    }
+
+    public long bucket(int bucket, HistoryMetric metric) {
+        return values[(bucket + 1) * HistoryMetric.COUNT + metric.ordinal()];
+    }
+
+    /**
+     * Hours spent in an activity area over the whole range.
+     */
+    public double getActiveHours() {
+        return total(HistoryMetric.TICKS) * MILLIS_PER_TICK / MILLIS_PER_HOUR;
+    }
+
+    /**
+     * Rate of a metric per hour of activity over the whole range, e.g. XP per hour.
+     */
+    public double perHour(HistoryMetric metric) {
+        double hours = getActiveHours();
+        return hours > 0 ? total(metric) / hours : 0;
+    }
+
+    public double getIdlePercentage() {
+        long ticks = total(HistoryMetric.TICKS);
+        return ticks > 0 ? total(HistoryMetric.IDLE_TICKS) * 100.0 / ticks : 0;
+    }
+
+    /**
+     * Per-hour rate of a metric for each bucket, 0 for buckets without activity.
+     */
+    public float[] perHourSeries(HistoryMetric metric) {
+        float[] series = new float[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            long ticks = bucket(i, HistoryMetric.TICKS);
+            if (ticks > 0) {
+                series[i] = (float) (bucket(i, metric) * MILLIS_PER_HOUR / (ticks * MILLIS_PER_TICK));
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Percentage of activity time spent idle for each bucket.
+     */
+    public float[] idlePercentageSeries() {
+        float[] series = new float[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            long ticks = bucket(i, HistoryMetric.TICKS);
+            if (ticks > 0) {
+                series[i] = bucket(i, HistoryMetric.IDLE_TICKS) * 100f / ticks;
+            }
+        }
+        return series;
+    }
+}
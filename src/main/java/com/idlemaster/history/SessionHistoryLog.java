@@ -0,0 +1,292 @@
+package com.idlemaster.history;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.idlemaster.history.HistoryFiles.*;
+
+/**
+ * Append-only session history for one account, written through memory-mapped files.
+ *
+ * Files are mapped at their full size when a day starts, so recording an event is a
+ * handful of stores into the mapping. Raw events are kept for a week and the
+ * per-minute rollups for six weeks; hourly and daily rollups are kept indefinitely.
+ * All record and recordTick calls come from the client thread.
+ */
+@Slf4j
+@Singleton
+public class SessionHistoryLog {
+
+    private static final int EVENT_RETENTION_DAYS = 7;
+    private static final int MINUTE_RETENTION_DAYS = 45;
+
+    private final Client client;
+    private final ScheduledExecutorService executor;
+
+    private File accountDir;
+    private ZoneId zone;
+    private long dayStartMillis;
+    private long nextRolloverMillis;
+    private int hourSlotBase;
+    private int daySlot;
+
+    // Mappings of the current day; replaced on rollover, released by GC once unreferenced
+    private MappedByteBuffer events;
+    private MappedByteBuffer minutes;
+    private MappedByteBuffer hours;
+    private MappedByteBuffer days;
+    private int eventCount;
+    private boolean warnedEventsFull;
+
+    @Inject
+    public SessionHistoryLog(Client client, ScheduledExecutorService executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts recording for the given account, closing the previous one if it differs.
+     */
+    public void open(long accountHash) {
+        File dir = HistoryFiles.accountDir(Long.toString(accountHash));
+        if (dir.equals(accountDir)) {
+            return;
+        }
+        close();
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            log.warn("Unable to create history directory {}", dir);
+            return;
+        }
+
+        accountDir = dir;
+        zone = ZoneId.systemDefault();
+        roll(System.currentTimeMillis());
+        executor.execute(() -> deleteExpiredFiles(dir));
+    }
+
+    public void close() {
+        if (accountDir == null) {
+            return;
+        }
+
+        MappedByteBuffer[] buffers = {events, minutes, hours, days};
+        executor.execute(() -> {
+            for (MappedByteBuffer buffer : buffers) {
+                if (buffer != null) {
+                    buffer.force();
+                }
+            }
+        });
+
+        accountDir = null;
+        events = null;
+        minutes = null;
+        hours = null;
+        days = null;
+        nextRolloverMillis = 0;
+    }
+
+    public boolean isOpen() {
+        return accountDir != null;
+    }
+
+    /**
+     * Appends a raw event and adds its contribution to the rollups.
+     */
+    public void record(HistoryEventType type, int a, int b, int c) {
+        long now = System.currentTimeMillis();
+        if (!prepare(now)) {
+            return;
+        }
+
+        MappedByteBuffer buffer = events;
+        if (buffer != null) {
+            if (eventCount < EVENT_CAPACITY) {
+                int offset = EVENT_HEADER_SIZE + eventCount * EVENT_RECORD_SIZE;
+                buffer.putLong(offset + EVENT_TIME, now);
+                buffer.putInt(offset + EVENT_TICK, client.getTickCount());
+                buffer.putShort(offset + EVENT_TYPE, (short) type.getCode());
+                buffer.putInt(offset + EVENT_A, a);
+                buffer.putInt(offset + EVENT_B, b);
+                buffer.putInt(offset + EVENT_C, c);
+                // Publish the record by bumping the count last
+                eventCount++;
+                buffer.putInt(EVENT_COUNT_OFFSET, eventCount);
+            } else if (!warnedEventsFull) {
+                warnedEventsFull = true;
+                log.debug("History event file full for today, only rollups are updated");
+            }
+        }
+
+        switch (type) {
+            case SAILING_XP:
+                add(HistoryMetric.SAILING_XP, b, now);
+                break;
+            case THIEVING_XP:
+                add(HistoryMetric.THIEVING_XP, b, now);
+                break;
+            case CARGO:
+                add(HistoryMetric.SALVAGE, Math.max(c, 0), now);
+                break;
+            case COIN_POUCHES:
+                add(HistoryMetric.POUCHES, Math.max(c, 0), now);
+                break;
+            case BOAT_ATTACK:
+                add(HistoryMetric.ATTACKS, 1, now);
+                break;
+            case WRECK_DEPLETED:
+                add(HistoryMetric.DEPLETIONS, 1, now);
+                break;
+            case DISTRACTION_START:
+                add(HistoryMetric.DISTRACTIONS, 1, now);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void record(HistoryEventType type) {
+        record(type, 0, 0, 0);
+    }
+
+    public void record(HistoryEventType type, int a) {
+        record(type, a, 0, 0);
+    }
+
+    public void record(HistoryEventType type, int a, int b) {
+        record(type, a, b, 0);
+    }
+
+    /**
+     * Counts one game tick spent in an activity area, used for time and idle percentages.
+     */
+    public void recordTick(boolean idle) {
+        long now = System.currentTimeMillis();
+        if (!prepare(now)) {
+            return;
+        }
+        add(HistoryMetric.TICKS, 1, now);
+        if (idle) {
+            add(HistoryMetric.IDLE_TICKS, 1, now);
+        }
+    }
+
+    private boolean prepare(long now) {
+        if (accountDir == null) {
+            return false;
+        }
+        if (now >= nextRolloverMillis) {
+            roll(now);
+        }
+        return true;
+    }
+
+    private void add(HistoryMetric metric, int value, long now) {
+        if (value == 0) {
+            return;
+        }
+
+        int minuteOfDay = (int) Math.min((now - dayStartMillis) / 60_000L, MINUTE_SLOTS - 1);
+        int metricOffset = metric.ordinal() * Integer.BYTES;
+
+        addInt(minutes, minuteOfDay * HistoryMetric.RECORD_SIZE + metricOffset, value);
+        addInt(hours, (hourSlotBase + minuteOfDay / 60) * HistoryMetric.RECORD_SIZE + metricOffset, value);
+        addInt(days, daySlot * HistoryMetric.RECORD_SIZE + metricOffset, value);
+    }
+
+    private static void addInt(MappedByteBuffer buffer, int offset, int value) {
+        if (buffer != null) {
+            buffer.putInt(offset, buffer.getInt(offset) + value);
+        }
+    }
+
+    /**
+     * Maps the files of the day containing the given time. Runs once per day.
+     */
+    private void roll(long now) {
+        File dir = accountDir;
+        if (dir == null) {
+            return;
+        }
+
+        LocalDate day = Instant.ofEpochMilli(now).atZone(zone).toLocalDate();
+        dayStartMillis = day.atStartOfDay(zone).toInstant().toEpochMilli();
+        nextRolloverMillis = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        hourSlotBase = (day.getDayOfMonth() - 1) * 24;
+        daySlot = day.getDayOfYear() - 1;
+        warnedEventsFull = false;
+
+        events = mapEventFile(HistoryFiles.eventFile(dir, day));
+        minutes = map(HistoryFiles.minuteFile(dir, day), MINUTE_SLOTS * HistoryMetric.RECORD_SIZE);
+        hours = map(HistoryFiles.hourFile(dir, YearMonth.from(day)), HOUR_SLOTS * HistoryMetric.RECORD_SIZE);
+        days = map(HistoryFiles.dayFile(dir, day.getYear()), DAY_SLOTS * HistoryMetric.RECORD_SIZE);
+    }
+
+    private MappedByteBuffer mapEventFile(File file) {
+        MappedByteBuffer buffer = map(file, EVENT_FILE_SIZE);
+        if (buffer == null) {
+            return null;
+        }
+
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, EVENT_MAGIC);
+            buffer.putShort(4, EVENT_VERSION);
+            buffer.putShort(6, (short) EVENT_RECORD_SIZE);
+            buffer.putInt(EVENT_COUNT_OFFSET, 0);
+        } else if (magic != EVENT_MAGIC || buffer.getShort(6) != EVENT_RECORD_SIZE) {
+            log.warn("Ignoring history file with unknown format: {}", file);
+            return null;
+        }
+
+        eventCount = Math.min(Math.max(buffer.getInt(EVENT_COUNT_OFFSET), 0), EVENT_CAPACITY);
+        return buffer;
+    }
+
+    private static MappedByteBuffer map(File file, int size) {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            log.warn("Unable to map history file {}", file, e);
+            return null;
+        }
+    }
+
+    private static void deleteExpiredFiles(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        for (File file : files) {
+            String name = file.getName();
+            LocalDate day = HistoryFiles.parseDay(name);
+            if (day == null) {
+                continue;
+            }
+
+            boolean expired = (name.startsWith("events-") && day.isBefore(today.minusDays(EVENT_RETENTION_DAYS)))
+                || (name.startsWith("minute-") && day.isBefore(today.minusDays(MINUTE_RETENTION_DAYS)));
+            if (expired && !file.delete()) {
+                log.debug("Unable to delete expired history file {}", file);
+            }
+        }
+    }
+}
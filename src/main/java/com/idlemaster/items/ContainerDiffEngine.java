@@ -0,0 +1,125 @@
+package com.idlemaster.items;
+
+import net.runelite.api.Item;
+
+import java.util.Arrays;
+
+/**
+ * Turns item container snapshots into per-item quantity changes.
+ *
+ * The previous item IDs and quantities of each tracked container are kept in reused
+ * int arrays, and the changes are summed per item ID in a reused map, so a diff does not
+ * allocate however often a container fires. The first snapshot of a container is
+ * its baseline and reports no changes.
+ */
+public final class ContainerDiffEngine {
+
+    public interface Listener {
+        void onItemDelta(int containerId, int itemId, int delta);
+
+        /**
+         * Called after all deltas of one container change have been reported.
+         */
+        void onDiffComplete(int containerId);
+    }
+
+    private static final int EMPTY = -1;
+
+    private int[] containerIds = new int[0];
+    private Snapshot[] snapshots = new Snapshot[0];
+
+    private final IntLongMap deltas = new IntLongMap(64);
+
+    public void track(int containerId) {
+        if (indexOf(containerId) >= 0) {
+            return;
+        }
+        containerIds = Arrays.copyOf(containerIds, containerIds.length + 1);
+        snapshots = Arrays.copyOf(snapshots, snapshots.length + 1);
+        containerIds[containerIds.length - 1] = containerId;
+        snapshots[snapshots.length - 1] = new Snapshot();
+    }
+
+    public boolean isTracked(int containerId) {
+        return indexOf(containerId) >= 0;
+    }
+
+    /**
+     * Diffs the new contents of a container against its last snapshot and reports the changes.
+     * Returns false if the container is not tracked.
+     */
+    public boolean update(int containerId, Item[] items, Listener listener) {
+        int index = indexOf(containerId);
+        if (index < 0) {
+            return false;
+        }
+
+        Snapshot snapshot = snapshots[index];
+        boolean hasBaseline = snapshot.valid;
+        if (hasBaseline) {
+            deltas.clear();
+            for (int i = 0; i < snapshot.length; i++) {
+                if (snapshot.ids[i] != EMPTY) {
+                    deltas.add(snapshot.ids[i], -snapshot.quantities[i]);
+                }
+            }
+            for (Item item : items) {
+                if (item != null && item.getId() != EMPTY) {
+                    deltas.add(item.getId(), item.getQuantity());
+                }
+            }
+
+            for (int i = 0; i < deltas.size(); i++) {
+                long delta = deltas.valueAt(i);
+                if (delta != 0) {
+                    listener.onItemDelta(containerId, deltas.keyAt(i), (int) delta);
+                }
+            }
+        }
+
+        snapshot.copy(items);
+        snapshot.valid = true;
+        if (hasBaseline) {
+            listener.onDiffComplete(containerId);
+        }
+        return true;
+    }
+
+    /**
+     * Forgets all snapshots, e.g. on logout, so the next contents become the new baselines.
+     */
+    public void reset() {
+        for (Snapshot snapshot : snapshots) {
+            snapshot.valid = false;
+        }
+    }
+
+    private int indexOf(int containerId) {
+        for (int i = 0; i < containerIds.length; i++) {
+            if (containerIds[i] == containerId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Snapshot {
+        int[] ids = new int[28];
+        int[] quantities = new int[28];
+        int length;
+        boolean valid;
+
+        void copy(Item[] items) {
+            if (items.length > ids.length) {
+                ids = new int[items.length];
+                quantities = new int[items.length];
+            }
+            for (int i = 0; i < items.length; i++) {
+                Item item = items[i];
+                ids[i] = item != null ? item.getId() : EMPTY;
+                quantities[i] = item != null ? item.getQuantity() : 0;
+            }
+            length = items.length;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.idlemaster.items;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from int keys to long sums, without boxing.
+ *
+ * Entries are also kept densely in insertion order, so they can be iterated by
+ * position with {@link #keyAt(int)} and {@link #valueAt(int)} without an iterator.
+ */
+public final class IntLongMap {
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    // Dense index + 1 of the entry in each hash slot, 0 for an empty slot
+    private int[] table;
+    private int mask;
+
+    public IntLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        keys = new int[capacity / 2];
+        values = new long[capacity / 2];
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public void add(int key, long amount) {
+        int slot = find(key);
+        int entry = table[slot];
+        if (entry != 0) {
+            values[entry - 1] += amount;
+            return;
+        }
+
+        if (size == keys.length) {
+            grow();
+            slot = find(key);
+        }
+        keys[size] = key;
+        values[size] = amount;
+        table[slot] = ++size;
+    }
+
+    public long get(int key) {
+        int entry = table[find(key)];
+        return entry != 0 ? values[entry - 1] : 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int keyAt(int index) {
+        return keys[index];
+    }
+
+    public long valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Removes all entries, keeping the allocated arrays.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(table, 0);
+            size = 0;
+        }
+    }
+
+    private int find(int key) {
+        int slot = mix(key) & mask;
+        while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = table.length * 2;
+        keys = Arrays.copyOf(keys, capacity / 2);
+        values = Arrays.copyOf(values, capacity / 2);
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            table[find(keys[i])] = i + 1;
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
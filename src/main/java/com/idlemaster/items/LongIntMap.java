@@ -0,0 +1,99 @@
+package com.idlemaster.items;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to int values, without boxing.
+ *
+ * Entries are also kept densely in insertion order, so they can be iterated by
+ * position with {@link #keyAt(int)} and {@link #valueAt(int)} without an iterator.
+ */
+public final class LongIntMap {
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    // Dense index + 1 of the entry in each hash slot, 0 for an empty slot
+    private int[] table;
+    private int mask;
+
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        keys = new long[capacity / 2];
+        values = new int[capacity / 2];
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public void put(long key, int value) {
+        int slot = find(key);
+        int entry = table[slot];
+        if (entry != 0) {
+            values[entry - 1] = value;
+            return;
+        }
+
+        if (size == keys.length) {
+            grow();
+            slot = find(key);
+        }
+        keys[size] = key;
+        values[size] = value;
+        table[slot] = ++size;
+    }
+
+    /**
+     * Value for the key, or missing if it has none.
+     */
+    public int get(long key, int missing) {
+        int entry = table[find(key)];
+        return entry != 0 ? values[entry - 1] : missing;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    public int valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Removes all entries, keeping the allocated arrays.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(table, 0);
+            size = 0;
+        }
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = table.length * 2;
+        keys = Arrays.copyOf(keys, capacity / 2);
+        values = Arrays.copyOf(values, capacity / 2);
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            table[find(keys[i])] = i + 1;
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
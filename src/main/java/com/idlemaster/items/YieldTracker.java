@@ -0,0 +1,65 @@
+package com.idlemaster.items;
+
+import javax.inject.Singleton;
+
+/**
+ * Per-session yield built from container item deltas: items produced by sorting
+ * salvage, and coins received from opening coin pouches.
+ *
+ * Written on the client thread and read by the debug panel, so access is synchronized;
+ * updates happen at most once per container change.
+ */
+@Singleton
+public class YieldTracker {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final IntLongMap sortedItems = new IntLongMap(64);
+    private long sortedTotal;
+    private long pouchesOpened;
+    private long coinsFromPouches;
+    private long sessionStartMillis = System.currentTimeMillis();
+
+    public synchronized void recordSorted(int itemId, int quantity) {
+        sortedItems.add(itemId, quantity);
+        sortedTotal += quantity;
+    }
+
+    public synchronized void recordPouchesOpened(int pouches, int coins) {
+        pouchesOpened += pouches;
+        coinsFromPouches += coins;
+    }
+
+    public synchronized long getSortedTotal() {
+        return sortedTotal;
+    }
+
+    public synchronized int getSortedItemTypes() {
+        return sortedItems.size();
+    }
+
+    public synchronized long getSorted(int itemId) {
+        return sortedItems.get(itemId);
+    }
+
+    public synchronized double sortedPerHour(long nowMillis) {
+        double hours = (nowMillis - sessionStartMillis) / MILLIS_PER_HOUR;
+        return hours > 0 ? sortedTotal / hours : 0;
+    }
+
+    public synchronized long getPouchesOpened() {
+        return pouchesOpened;
+    }
+
+    public synchronized double getCoinsPerPouch() {
+        return pouchesOpened > 0 ? (double) coinsFromPouches / pouchesOpened : 0;
+    }
+
+    public synchronized void reset() {
+        sortedItems.clear();
+        sortedTotal = 0;
+        pouchesOpened = 0;
+        coinsFromPouches = 0;
+        sessionStartMillis = System.currentTimeMillis();
+    }
+}
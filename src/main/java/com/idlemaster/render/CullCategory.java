@@ -0,0 +1,27 @@
+package com.idlemaster.render;
+
+import lombok.Getter;
+
+/**
+ * Renderables the FPS saver can skip while salvaging or thieving.
+ */
+@Getter
+public enum CullCategory {
+    OTHER_PLAYERS("Other players"),
+    OTHER_BOATS("Other boats"),
+    IRRELEVANT_NPCS("Irrelevant NPCs"),
+    PROJECTILES("Projectiles"),
+    GRAPHICS_OBJECTS("Graphics objects"),
+    OUTSIDE_RADIUS("Outside radius");
+
+    private final String name;
+
+    CullCategory(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,97 @@
+package com.idlemaster.render;
+
+import lombok.Getter;
+import net.runelite.client.input.KeyListener;
+import net.runelite.client.input.MouseAdapter;
+import net.runelite.client.input.MouseWheelListener;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+/**
+ * Blanks the scene while nobody is watching it.
+ *
+ * Blanking starts once the activity has been steady and there was no input for the
+ * configured delay, checked once per tick. Input, alerts and state changes wake it
+ * straight away from whichever thread they happen on, so the next frame is drawn in full.
+ */
+public final class LowPowerMode implements KeyListener {
+
+    @Getter
+    private final MouseAdapter mouseListener = new MouseAdapter() {
+        @Override
+        public MouseEvent mousePressed(MouseEvent event) {
+            wake();
+            return event;
+        }
+
+        @Override
+        public MouseEvent mouseMoved(MouseEvent event) {
+            wake();
+            return event;
+        }
+
+        @Override
+        public MouseEvent mouseDragged(MouseEvent event) {
+            wake();
+            return event;
+        }
+    };
+
+    @Getter
+    private final MouseWheelListener wheelListener = new MouseWheelListener() {
+        @Override
+        public MouseWheelEvent mouseWheelMoved(MouseWheelEvent event) {
+            wake();
+            return event;
+        }
+    };
+
+    private long lastActivityMillis = System.currentTimeMillis();
+
+    // Read by the draw listener on every renderable
+    private volatile boolean blanking;
+
+    public boolean isBlanking() {
+        return blanking;
+    }
+
+    /**
+     * Restores full rendering and restarts the delay.
+     */
+    public synchronized void wake() {
+        lastActivityMillis = System.currentTimeMillis();
+        blanking = false;
+    }
+
+    /**
+     * Called once per tick. Blanks if the activity is steady and nothing happened for delayMillis.
+     */
+    public synchronized void update(boolean steady, long delayMillis) {
+        long now = System.currentTimeMillis();
+        if (!steady) {
+            // Count the delay from the moment the activity settles
+            lastActivityMillis = now;
+        }
+        blanking = steady && now - lastActivityMillis >= delayMillis;
+    }
+
+    public synchronized void reset() {
+        lastActivityMillis = System.currentTimeMillis();
+        blanking = false;
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        wake();
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+    }
+}
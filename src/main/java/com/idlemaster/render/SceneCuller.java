@@ -0,0 +1,273 @@
+package com.idlemaster.render;
+
+import com.idlemaster.skills.sailing.WorldEntityTracker;
+import net.runelite.api.Client;
+import net.runelite.api.GraphicsObject;
+import net.runelite.api.NPC;
+import net.runelite.api.Perspective;
+import net.runelite.api.Player;
+import net.runelite.api.Projectile;
+import net.runelite.api.Renderable;
+import net.runelite.api.Scene;
+import net.runelite.api.WorldEntity;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Decides which renderables are skipped by the draw listener.
+ *
+ * All per-entity decisions are made once per tick in {@link #update} and kept in bitsets
+ * of NPC indexes, player IDs and world view IDs, so {@link #shouldDraw} is an instanceof
+ * check and a bit lookup per renderable however many entities are around. NPCs that
+ * matter for alerts are never hidden as irrelevant or for being out of range. Which NPCs
+ * matter is decided when they spawn, so the NPCs are only walked each tick when the
+ * radius or the hiding rule needs their positions or state.
+ *
+ * While the low power mode is blanking, nothing is drawn except, optionally, our boat
+ * with everyone on it and the NPCs that matter for alerts.
+ */
+public final class SceneCuller {
+
+    public interface NpcRules {
+        /**
+         * NPCs that alerts depend on, kept visible by the category and radius rules.
+         */
+        boolean isRelevant(NPC npc);
+
+        /**
+         * NPCs hidden whatever the selected categories are.
+         */
+        boolean isHidden(NPC npc);
+
+        /**
+         * Whether {@link #isHidden} can hide any NPC this tick.
+         */
+        boolean isHiding();
+    }
+
+    // Top level NPC indexes, top level player IDs outside the radius, and world views of boats
+    private final BitSet hiddenNpcs = new BitSet();
+    private final BitSet hiddenPlayers = new BitSet();
+    private final BitSet hiddenWorldViews = new BitSet();
+
+    // Top level NPCs that matter for alerts, kept from their spawn to their despawn
+    private final BitSet relevantNpcs = new BitSet();
+    private boolean npcsScanned;
+
+    private final LowPowerMode lowPower;
+    private boolean keepFocus = true;
+
+    private boolean hideOtherPlayers;
+    private boolean hideIrrelevantNpcs;
+    private boolean hideProjectiles;
+    private boolean hideGraphics;
+
+    private Player localPlayer;
+    private int ownWorldViewId = -1;
+
+    // Nothing is hidden this tick, so every renderable is drawn without further checks
+    private boolean active;
+
+    public SceneCuller(LowPowerMode lowPower) {
+        this.lowPower = lowPower;
+    }
+
+    /**
+     * Whether our boat, the player and the NPCs that matter stay visible while blanking.
+     */
+    public void setKeepFocus(boolean keepFocus) {
+        this.keepFocus = keepFocus;
+    }
+
+    public void onNpcSpawned(NPC npc, NpcRules npcRules) {
+        if (isTopLevel(npc)) {
+            relevantNpcs.set(npc.getIndex(), npcRules.isRelevant(npc));
+        }
+    }
+
+    public void onNpcDespawned(NPC npc) {
+        if (isTopLevel(npc)) {
+            relevantNpcs.clear(npc.getIndex());
+        }
+    }
+
+    /**
+     * Recomputes what to hide for this tick. Pass an empty set of categories to only
+     * apply the NPC rules.
+     */
+    public void update(Client client, WorldEntityTracker boats, Set<CullCategory> categories, int radius,
+                       NpcRules npcRules) {
+        hiddenNpcs.clear();
+        hiddenPlayers.clear();
+        hiddenWorldViews.clear();
+
+        WorldView topLevel = client.getTopLevelWorldView();
+        localPlayer = client.getLocalPlayer();
+        if (topLevel == null || localPlayer == null) {
+            active = false;
+            return;
+        }
+
+        // NPCs already in the scene when we start or after a reset have no spawn event for us
+        if (!npcsScanned) {
+            for (NPC npc : topLevel.npcs()) {
+                if (npc != null) {
+                    onNpcSpawned(npc, npcRules);
+                }
+            }
+            npcsScanned = true;
+        }
+
+        WorldEntity ownBoat = boats.getOwnBoat();
+        WorldView ownWorldView = ownBoat != null ? ownBoat.getWorldView() : null;
+        ownWorldViewId = ownWorldView != null ? ownWorldView.getId() : -1;
+
+        boolean hidingNpcs = npcRules.isHiding();
+        if (categories.isEmpty() && !hidingNpcs) {
+            hideOtherPlayers = false;
+            hideIrrelevantNpcs = false;
+            hideProjectiles = false;
+            hideGraphics = false;
+            active = false;
+            return;
+        }
+
+        boolean cullRadius = categories.contains(CullCategory.OUTSIDE_RADIUS);
+        hideOtherPlayers = categories.contains(CullCategory.OTHER_PLAYERS);
+        hideIrrelevantNpcs = categories.contains(CullCategory.IRRELEVANT_NPCS);
+        hideProjectiles = categories.contains(CullCategory.PROJECTILES);
+        hideGraphics = categories.contains(CullCategory.GRAPHICS_OBJECTS);
+
+        // Distances are measured from our boat, or the player when on foot
+        LocalPoint centre = ownBoat != null ? ownBoat.getLocalLocation() : localPlayer.getLocalLocation();
+        int range = radius * Perspective.LOCAL_TILE_SIZE;
+
+        if (categories.contains(CullCategory.OTHER_BOATS)) {
+            boats.addOtherBoatsTo(hiddenWorldViews);
+        }
+        if (cullRadius) {
+            for (WorldEntity entity : topLevel.worldEntities()) {
+                WorldView worldView = entity != null && entity != ownBoat ? entity.getWorldView() : null;
+                if (worldView != null && worldView.getId() >= 0 && isOutside(entity.getLocalLocation(), centre, range)) {
+                    hiddenWorldViews.set(worldView.getId());
+                }
+            }
+            if (!hideOtherPlayers) {
+                for (Player player : topLevel.players()) {
+                    if (player != null && player != localPlayer && player.getId() >= 0
+                        && isOutside(player.getLocalLocation(), centre, range)) {
+                        hiddenPlayers.set(player.getId());
+                    }
+                }
+            }
+        }
+
+        // Irrelevant NPCs are hidden by the relevant bits in shouldDraw, without a walk
+        if (cullRadius || hidingNpcs) {
+            for (NPC npc : topLevel.npcs()) {
+                if (npc == null) {
+                    continue;
+                }
+                int index = npc.getIndex();
+                boolean hidden = (hidingNpcs && npcRules.isHidden(npc)) || (cullRadius && !relevantNpcs.get(index)
+                    && isOutside(npc.getLocalLocation(), centre, range));
+                if (hidden) {
+                    hiddenNpcs.set(index);
+                }
+            }
+        }
+
+        active = hideOtherPlayers || hideIrrelevantNpcs || hideProjectiles || hideGraphics
+            || !hiddenNpcs.isEmpty() || !hiddenPlayers.isEmpty() || !hiddenWorldViews.isEmpty();
+    }
+
+    /**
+     * Forgets the scene, the NPCs are scanned again on the next update.
+     */
+    public void reset() {
+        hiddenNpcs.clear();
+        hiddenPlayers.clear();
+        hiddenWorldViews.clear();
+        relevantNpcs.clear();
+        npcsScanned = false;
+        localPlayer = null;
+        ownWorldViewId = -1;
+        active = false;
+    }
+
+    public boolean shouldDraw(Renderable renderable, boolean drawingUI) {
+        if (lowPower.isBlanking()) {
+            return drawWhileBlanking(renderable);
+        }
+        if (!active) {
+            return true;
+        }
+
+        if (renderable instanceof NPC) {
+            NPC npc = (NPC) renderable;
+            WorldView worldView = npc.getWorldView();
+            if (worldView == null || worldView.isTopLevel()) {
+                int index = npc.getIndex();
+                return !hiddenNpcs.get(index) && (!hideIrrelevantNpcs || relevantNpcs.get(index));
+            }
+            // NPCs aboard a boat: our crew stays, anyone else goes with their boat
+            int id = worldView.getId();
+            return id == ownWorldViewId || (!hideIrrelevantNpcs && (id < 0 || !hiddenWorldViews.get(id)));
+        }
+        if (renderable instanceof Player) {
+            Player player = (Player) renderable;
+            if (player == localPlayer) {
+                return true;
+            }
+            int id = player.getId();
+            return !hideOtherPlayers && (id < 0 || !hiddenPlayers.get(id));
+        }
+        if (renderable instanceof Scene) {
+            int id = ((Scene) renderable).getWorldViewId();
+            return id < 0 || !hiddenWorldViews.get(id);
+        }
+        if (renderable instanceof Projectile) {
+            return !hideProjectiles;
+        }
+        if (renderable instanceof GraphicsObject) {
+            return !hideGraphics;
+        }
+        return true;
+    }
+
+    private boolean drawWhileBlanking(Renderable renderable) {
+        if (!keepFocus) {
+            return false;
+        }
+        if (renderable instanceof Scene) {
+            return ownWorldViewId >= 0 && ((Scene) renderable).getWorldViewId() == ownWorldViewId;
+        }
+        if (renderable instanceof Player) {
+            return renderable == localPlayer;
+        }
+        if (renderable instanceof NPC) {
+            NPC npc = (NPC) renderable;
+            WorldView worldView = npc.getWorldView();
+            if (worldView == null || worldView.isTopLevel()) {
+                return relevantNpcs.get(npc.getIndex());
+            }
+            return ownWorldViewId >= 0 && worldView.getId() == ownWorldViewId;
+        }
+        return false;
+    }
+
+    private static boolean isTopLevel(NPC npc) {
+        WorldView worldView = npc.getWorldView();
+        return worldView == null || worldView.isTopLevel();
+    }
+
+    private static boolean isOutside(LocalPoint point, LocalPoint centre, int range) {
+        if (point == null || centre == null) {
+            return false;
+        }
+        return Math.abs(point.getX() - centre.getX()) > range || Math.abs(point.getY() - centre.getY()) > range;
+    }
+}
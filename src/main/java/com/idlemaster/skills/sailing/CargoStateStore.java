@@ -0,0 +1,202 @@
+package com.idlemaster.skills.sailing;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cargo counts for each boat slot of the logged in RuneScape profile.
+ * Values live in memory and are written back to the profile config in batches.
+ */
+@Slf4j
+@Singleton
+public class CargoStateStore {
+
+    public static final int BOAT_SLOTS = 5;
+
+    private static final String CONFIG_GROUP = "idlemaster";
+    private static final String COUNT_KEY = "cargoCount.";
+    private static final String CAPACITY_KEY = "cargoCapacity.";
+
+    // Global keys used before cargo was stored per profile, migrated into boat slot 0
+    private static final String LEGACY_COUNT_KEY = "savedCargoCount";
+    private static final String LEGACY_CAPACITY_KEY = "savedCargoCapacity";
+
+    private static final long FLUSH_INTERVAL_SECONDS = 30;
+
+    private final ConfigManager configManager;
+    private final ScheduledExecutorService executor;
+
+    private final int[] counts = new int[BOAT_SLOTS];
+    private final int[] capacities = new int[BOAT_SLOTS];
+
+    // Bit per boat slot with values not yet written to config
+    private int dirtySlots = 0;
+
+    // Profile the in-memory values belong to, null until first use after login
+    private String profileKey = null;
+
+    private ScheduledFuture<?> flushTask;
+
+    @Inject
+    public CargoStateStore(ConfigManager configManager, ScheduledExecutorService executor) {
+        this.configManager = configManager;
+        this.executor = executor;
+    }
+
+    public void startUp() {
+        if (flushTask == null) {
+            flushTask = executor.scheduleWithFixedDelay(this::flush,
+                FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public void shutDown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        Runnable pending = takePendingWrites(true);
+        if (pending != null) {
+            pending.run();
+        }
+    }
+
+    /**
+     * Forgets the current profile so the next login loads the values of whichever
+     * account logs in. Pending changes are written in the background.
+     */
+    public void onLogout() {
+        Runnable pending = takePendingWrites(true);
+        if (pending != null) {
+            executor.execute(pending);
+        }
+    }
+
+    public synchronized int getCount(int slot) {
+        return ensureLoaded() ? counts[slot] : 0;
+    }
+
+    public synchronized int getCapacity(int slot) {
+        return ensureLoaded() ? capacities[slot] : 0;
+    }
+
+    public synchronized void setCount(int slot, int count) {
+        if (ensureLoaded() && counts[slot] != count) {
+            counts[slot] = count;
+            dirtySlots |= 1 << slot;
+        }
+    }
+
+    public synchronized void setCapacity(int slot, int capacity) {
+        if (ensureLoaded() && capacities[slot] != capacity) {
+            capacities[slot] = capacity;
+            dirtySlots |= 1 << slot;
+        }
+    }
+
+    public synchronized int add(int slot, int amount) {
+        if (!ensureLoaded()) {
+            return 0;
+        }
+        counts[slot] += amount;
+        dirtySlots |= 1 << slot;
+        return counts[slot];
+    }
+
+    /**
+     * Writes all changed boat slots to the profile they were loaded from.
+     */
+    public void flush() {
+        Runnable pending = takePendingWrites(false);
+        if (pending != null) {
+            pending.run();
+        }
+    }
+
+    /**
+     * Snapshots the dirty slots and returns the config writes for them, or null if nothing changed.
+     */
+    private synchronized Runnable takePendingWrites(boolean unload) {
+        String profile = profileKey;
+        int dirty = dirtySlots;
+        int[] countSnapshot = counts.clone();
+        int[] capacitySnapshot = capacities.clone();
+
+        dirtySlots = 0;
+        if (unload) {
+            profileKey = null;
+        }
+
+        if (profile == null || dirty == 0) {
+            return null;
+        }
+
+        return () -> {
+            for (int slot = 0; slot < BOAT_SLOTS; slot++) {
+                if ((dirty & (1 << slot)) != 0) {
+                    configManager.setConfiguration(CONFIG_GROUP, profile, COUNT_KEY + slot, String.valueOf(countSnapshot[slot]));
+                    configManager.setConfiguration(CONFIG_GROUP, profile, CAPACITY_KEY + slot, String.valueOf(capacitySnapshot[slot]));
+                }
+            }
+            log.debug("Flushed cargo state for {} (slots mask {})", profile, dirty);
+        };
+    }
+
+    /**
+     * Loads the values of the current profile on first use. Returns false while no profile is logged in.
+     */
+    private boolean ensureLoaded() {
+        if (profileKey != null) {
+            return true;
+        }
+
+        String currentProfile = configManager.getRSProfileKey();
+        if (currentProfile == null) {
+            return false;
+        }
+
+        for (int slot = 0; slot < BOAT_SLOTS; slot++) {
+            counts[slot] = parseInt(configManager.getConfiguration(CONFIG_GROUP, currentProfile, COUNT_KEY + slot));
+            capacities[slot] = parseInt(configManager.getConfiguration(CONFIG_GROUP, currentProfile, CAPACITY_KEY + slot));
+        }
+        dirtySlots = 0;
+        profileKey = currentProfile;
+
+        migrateLegacyValues();
+        log.debug("Loaded cargo state for {}", currentProfile);
+        return true;
+    }
+
+    private void migrateLegacyValues() {
+        String legacyCount = configManager.getConfiguration(CONFIG_GROUP, LEGACY_COUNT_KEY);
+        String legacyCapacity = configManager.getConfiguration(CONFIG_GROUP, LEGACY_CAPACITY_KEY);
+        if (legacyCount == null && legacyCapacity == null) {
+            return;
+        }
+
+        if (counts[0] == 0 && capacities[0] == 0) {
+            counts[0] = parseInt(legacyCount);
+            capacities[0] = parseInt(legacyCapacity);
+            dirtySlots |= 1;
+        }
+        configManager.unsetConfiguration(CONFIG_GROUP, LEGACY_COUNT_KEY);
+        configManager.unsetConfiguration(CONFIG_GROUP, LEGACY_CAPACITY_KEY);
+    }
+
+    private static int parseInt(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.idlemaster.skills.sailing;
+
+import net.runelite.api.NPC;
+import net.runelite.api.WorldView;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Crewmates aboard our boat, indexed by NPC index.
+ *
+ * A byte per possible NPC index maps to the crewmate's slot, so events for any other
+ * actor are rejected with a single array read. Crew are registered when they spawn on
+ * our boat's world view, or from a one-off scan when we board a different boat.
+ */
+public final class CrewTracker {
+
+    public static final int MAX_CREW = 8;
+
+    private static final int MAX_NPCS = 65536;
+
+    // Crewmate names from the wiki
+    private static final Set<String> CREWMATE_NAMES = Set.of(
+        "Jobless Jim",
+        "Ex-Captain Siad",
+        "Adventurer Ada",
+        "Cabin Boy Jenkins",
+        "Oarswoman Olga",
+        "Jittery Jim",
+        "Bosun Zarah",
+        "Jolly Jim",
+        "Spotter Virginia",
+        "Sailor Jakob"
+    );
+
+    // Slot + 1 of the crewmate with each NPC index, 0 for everyone else
+    private final byte[] slotByIndex = new byte[MAX_NPCS];
+    private final int[] npcIndexes = new int[MAX_CREW];
+    private final String[] names = new String[MAX_CREW];
+    private final int[] salvageStored = new int[MAX_CREW];
+
+    private int worldViewId = -1;
+
+    public CrewTracker() {
+        Arrays.fill(npcIndexes, -1);
+    }
+
+    /**
+     * Follows the world view of our boat, rescanning its NPCs when it changes.
+     */
+    public void setWorldView(WorldView worldView) {
+        int id = worldView != null ? worldView.getId() : -1;
+        if (id == worldViewId) {
+            return;
+        }
+        clear();
+        worldViewId = id;
+        if (worldView != null) {
+            for (NPC npc : worldView.npcs()) {
+                if (npc != null) {
+                    onNpcSpawned(npc);
+                }
+            }
+        }
+    }
+
+    public void onNpcSpawned(NPC npc) {
+        if (!isOnBoat(npc) || slotByIndex[npc.getIndex()] != 0 || !CREWMATE_NAMES.contains(npc.getName())) {
+            return;
+        }
+        for (int slot = 0; slot < MAX_CREW; slot++) {
+            if (npcIndexes[slot] < 0) {
+                npcIndexes[slot] = npc.getIndex();
+                names[slot] = npc.getName();
+                salvageStored[slot] = 0;
+                slotByIndex[npc.getIndex()] = (byte) (slot + 1);
+                return;
+            }
+        }
+    }
+
+    public void onNpcDespawned(NPC npc) {
+        if (!isOnBoat(npc)) {
+            return;
+        }
+        int slot = slotByIndex[npc.getIndex()] - 1;
+        if (slot >= 0) {
+            slotByIndex[npc.getIndex()] = 0;
+            npcIndexes[slot] = -1;
+            names[slot] = null;
+        }
+    }
+
+    /**
+     * Crew slot of the NPC, or -1 if it is not one of our crewmates.
+     */
+    public int slotOf(NPC npc) {
+        int slot = slotByIndex[npc.getIndex()] - 1;
+        return slot >= 0 && isOnBoat(npc) ? slot : -1;
+    }
+
+    public int getNpcIndex(int slot) {
+        return npcIndexes[slot];
+    }
+
+    public String getName(int slot) {
+        return names[slot];
+    }
+
+    public void recordSalvageStored(int slot) {
+        salvageStored[slot]++;
+    }
+
+    public int getSalvageStored(int slot) {
+        return salvageStored[slot];
+    }
+
+    public void clear() {
+        for (int slot = 0; slot < MAX_CREW; slot++) {
+            if (npcIndexes[slot] >= 0) {
+                slotByIndex[npcIndexes[slot]] = 0;
+            }
+            npcIndexes[slot] = -1;
+            names[slot] = null;
+            salvageStored[slot] = 0;
+        }
+        worldViewId = -1;
+    }
+
+    // NPC indexes are per world view, only ours maps to the crew slots
+    private boolean isOnBoat(NPC npc) {
+        WorldView worldView = npc.getWorldView();
+        return worldView != null && worldViewId >= 0 && worldView.getId() == worldViewId;
+    }
+}
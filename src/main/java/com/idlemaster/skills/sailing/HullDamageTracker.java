@@ -0,0 +1,107 @@
+package com.idlemaster.skills.sailing;
+
+import lombok.Getter;
+
+/**
+ * Rolling record of damage taken by our boat, from drops in the boat's own health.
+ *
+ * Damage is bucketed per tick in a small ring, and the damage rate is the sum of the
+ * window. An attack lasts while hits keep landing at the attacker's own pace: once no
+ * damage has landed for twice the usual gap between hits, the attack is over and the
+ * rate reads zero, so a fast attacker clears quickly and a slow one is not dropped
+ * between hits. The attacker is whoever last targeted us when the damage landed.
+ */
+public final class HullDamageTracker {
+
+    private static final int WINDOW_TICKS = 16;
+    private static final double SECONDS_PER_TICK = 0.6;
+
+    // Gap assumed before a second hit shows the attacker's pace, and the bounds of the wait
+    private static final double FIRST_GAP_TICKS = 4;
+    private static final int MIN_WAIT_TICKS = 2;
+    private static final int MAX_WAIT_TICKS = WINDOW_TICKS - 1;
+    private static final double GAP_WEIGHT = 0.3;
+
+    private final int[] damage = new int[WINDOW_TICKS];
+    private final int[] ticks = new int[WINDOW_TICKS];
+
+    // Last NPC seen targeting us and the attacker of the most recent damage
+    private String currentTarget = "";
+    private int currentTargetTick = -1;
+    @Getter
+    private String attacker = "";
+    @Getter
+    private int lastDamageTick = -1;
+    private double meanGapTicks = FIRST_GAP_TICKS;
+
+    public HullDamageTracker() {
+        reset();
+    }
+
+    public void record(int amount, int tick) {
+        if (amount <= 0) {
+            return;
+        }
+        if (!isUnderAttack(tick)) {
+            meanGapTicks = FIRST_GAP_TICKS;
+        } else if (tick > lastDamageTick) {
+            meanGapTicks += GAP_WEIGHT * (tick - lastDamageTick - meanGapTicks);
+        }
+
+        int slot = Math.floorMod(tick, WINDOW_TICKS);
+        if (ticks[slot] != tick) {
+            ticks[slot] = tick;
+            damage[slot] = 0;
+        }
+        damage[slot] += amount;
+        lastDamageTick = tick;
+        attacker = currentTargetTick >= 0 && tick - currentTargetTick <= WINDOW_TICKS ? currentTarget : "";
+    }
+
+    /**
+     * An NPC started interacting with us, the likely source of the next damage.
+     */
+    public void onTargetedBy(String name, int tick) {
+        currentTarget = name != null ? name : "";
+        currentTargetTick = tick;
+    }
+
+    /**
+     * Whether the next hit is still expected, which is exactly when the damage rate is above zero.
+     */
+    public boolean isUnderAttack(int tick) {
+        if (lastDamageTick < 0) {
+            return false;
+        }
+        int wait = Math.max(MIN_WAIT_TICKS, Math.min(MAX_WAIT_TICKS, (int) Math.ceil(2 * meanGapTicks)));
+        return tick - lastDamageTick <= wait;
+    }
+
+    /**
+     * Damage in the last WINDOW_TICKS ticks per second, or 0 once the attack is over.
+     */
+    public double damagePerSecond(int tick) {
+        if (!isUnderAttack(tick)) {
+            return 0;
+        }
+        int total = 0;
+        for (int i = 0; i < WINDOW_TICKS; i++) {
+            if (tick - ticks[i] < WINDOW_TICKS && ticks[i] <= tick) {
+                total += damage[i];
+            }
+        }
+        return total / (WINDOW_TICKS * SECONDS_PER_TICK);
+    }
+
+    public void reset() {
+        for (int i = 0; i < WINDOW_TICKS; i++) {
+            ticks[i] = Integer.MIN_VALUE / 2;
+            damage[i] = 0;
+        }
+        currentTarget = "";
+        currentTargetTick = -1;
+        attacker = "";
+        lastDamageTick = -1;
+        meanGapTicks = FIRST_GAP_TICKS;
+    }
+}
@@ -0,0 +1,81 @@
+package com.idlemaster.skills.sailing;
+
+import java.util.Arrays;
+
+/**
+ * Shipwreck objects currently in the scene, filled from spawn and despawn events.
+ *
+ * Only the packed location (see {@link ShipwreckTracker#pack}), object ID and whether the
+ * wreck is salvageable are kept, in parallel arrays, so no scene objects are retained and
+ * the per-tick range checks neither hash nor allocate. A scene holds a handful of wrecks,
+ * so lookups are a linear scan.
+ */
+public final class SceneShipwrecks {
+
+    private long[] locations = new long[16];
+    private int[] ids = new int[16];
+    private boolean[] salvageable = new boolean[16];
+    private int size;
+
+    /**
+     * Adds a wreck, replacing the one at the same location.
+     */
+    public void add(long location, int id) {
+        int index = indexOf(location);
+        if (index < 0) {
+            if (size == locations.length) {
+                locations = Arrays.copyOf(locations, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+                salvageable = Arrays.copyOf(salvageable, size * 2);
+            }
+            index = size++;
+            locations[index] = location;
+        }
+        ids[index] = id;
+        salvageable[index] = ShipwreckTracker.isSalvageable(id);
+    }
+
+    /**
+     * Removes the wreck at a location if it still has the given ID. The object replacing a
+     * wreck may spawn before the old one despawns.
+     */
+    public void remove(long location, int id) {
+        int index = indexOf(location);
+        if (index < 0 || ids[index] != id) {
+            return;
+        }
+        int last = --size;
+        locations[index] = locations[last];
+        ids[index] = ids[last];
+        salvageable[index] = salvageable[last];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long locationAt(int index) {
+        return locations[index];
+    }
+
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    public boolean isSalvageableAt(int index) {
+        return salvageable[index];
+    }
+
+    private int indexOf(long location) {
+        for (int i = 0; i < size; i++) {
+            if (locations[i] == location) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,328 @@
+package com.idlemaster.skills.sailing;
+
+import com.idlemaster.items.LongIntMap;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.config.ConfigManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifecycle of every shipwreck seen, keyed by its packed world location.
+ *
+ * A wreck swaps between its salvageable object and the paired depleted object (id + 1)
+ * on the same tile. The ticks from a depletion to the following respawn are added to a
+ * histogram for that location, which is written to config so predictions carry over to
+ * later sessions. Transitions across a scene reload are not timed, as the wreck may have
+ * changed state while it was out of view. Game state is only touched on the client thread.
+ *
+ * Wrecks and histograms are kept in primitive arrays by slot, found through maps keyed by
+ * the packed location, and the median of each histogram is cached, so the per-tick
+ * respawn countdown neither boxes nor rescans a histogram.
+ */
+@Slf4j
+@Singleton
+public class ShipwreckTracker {
+
+    // Shipwreck IDs - Salvageable (Active)
+    public static final Set<Integer> SALVAGEABLE_IDS = Set.of(
+        60464, 60466, 60468, 60470, 60472, 60474, 60476, 60478
+    );
+
+    // Shipwreck IDs - Depleted (Inactive), each salvageable ID + 1
+    public static final Set<Integer> DEPLETED_IDS = Set.of(
+        60465, 60467, 60469, 60471, 60473, 60475, 60477, 60479
+    );
+
+    private static final String CONFIG_GROUP = "idlemaster";
+    private static final String HISTOGRAM_KEY = "wreckRespawn.";
+
+    // Respawn times are bucketed by 5 ticks (3s), the last bucket holds anything longer
+    private static final int BUCKET_TICKS = 5;
+    private static final int BUCKETS = 120;
+
+    // Respawns seen at a location before its histogram is used for predictions
+    private static final int MIN_SAMPLES = 3;
+
+    private static final long FLUSH_INTERVAL_SECONDS = 60;
+
+    private final ConfigManager configManager;
+    private final ScheduledExecutorService executor;
+
+    // Current state of the wrecks seen since login, by slot
+    private final LongIntMap wreckSlots = new LongIntMap(64);
+    private int[] salvageableIds = new int[64];
+    private boolean[] depleted = new boolean[64];
+    // Tick the depletion was seen, -1 if it happened out of view
+    private int[] depletedTicks = new int[64];
+
+    // Respawn histograms by slot, loaded from config on first sight. Guarded by this
+    private final LongIntMap histogramSlots = new LongIntMap(64);
+    private int[][] histograms = new int[64][];
+    // Median respawn ticks of each histogram, -1 with too few samples
+    private int[] medianTicks = new int[64];
+    private boolean[] dirty = new boolean[64];
+    private boolean anyDirty;
+
+    private ScheduledFuture<?> flushTask;
+
+    @Inject
+    public ShipwreckTracker(ConfigManager configManager, ScheduledExecutorService executor) {
+        this.configManager = configManager;
+        this.executor = executor;
+    }
+
+    public static boolean isShipwreck(int objectId) {
+        return SALVAGEABLE_IDS.contains(objectId) || DEPLETED_IDS.contains(objectId);
+    }
+
+    public static boolean isSalvageable(int objectId) {
+        return SALVAGEABLE_IDS.contains(objectId);
+    }
+
+    public static long pack(WorldPoint point) {
+        return pack(point.getPlane(), point.getX(), point.getY());
+    }
+
+    public static long pack(int plane, int x, int y) {
+        return ((long) plane << 32) | ((long) x << 16) | y;
+    }
+
+    public static int planeOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    public static int xOf(long location) {
+        return (int) (location >>> 16) & 0xFFFF;
+    }
+
+    public static int yOf(long location) {
+        return (int) location & 0xFFFF;
+    }
+
+    public void startUp() {
+        if (flushTask == null) {
+            flushTask = executor.scheduleWithFixedDelay(this::flush,
+                FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public void shutDown() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        flush();
+        clear();
+    }
+
+    /**
+     * Records a shipwreck object appearing. Returns true if a wreck known to be depleted
+     * became salvageable again. Only respawns whose depletion was seen are timed.
+     */
+    public boolean onSpawned(int objectId, long key, int tick) {
+        boolean salvageable = isSalvageable(objectId);
+        int salvageableId = salvageable ? objectId : objectId - 1;
+
+        int slot = wreckSlots.get(key, -1);
+        if (slot < 0 || salvageableIds[slot] != salvageableId) {
+            if (slot < 0) {
+                slot = addWreck(key);
+            }
+            salvageableIds[slot] = salvageableId;
+            depleted[slot] = !salvageable;
+            depletedTicks[slot] = -1;
+            loadHistogram(key);
+            return false;
+        }
+
+        if (!salvageable) {
+            if (!depleted[slot]) {
+                depleted[slot] = true;
+                depletedTicks[slot] = tick;
+            }
+            return false;
+        }
+
+        if (!depleted[slot]) {
+            return false;
+        }
+        if (depletedTicks[slot] >= 0) {
+            int respawnTicks = tick - depletedTicks[slot];
+            addSample(key, respawnTicks);
+            log.debug("Shipwreck at {},{} respawned after {} ticks", xOf(key), yOf(key), respawnTicks);
+        }
+        depleted[slot] = false;
+        depletedTicks[slot] = -1;
+        return true;
+    }
+
+    /**
+     * Stops timing depletions in progress, the scene is being reloaded. The wrecks stay
+     * depleted, so their respawn is still reported.
+     */
+    public void onSceneCleared() {
+        Arrays.fill(depletedTicks, 0, wreckSlots.size(), -1);
+    }
+
+    /**
+     * Forgets all wreck states, e.g. on logout or world hop. Histograms are kept.
+     */
+    public void clear() {
+        wreckSlots.clear();
+    }
+
+    /**
+     * Expected ticks until the depleted wreck at the given location respawns, 0 if it is
+     * overdue, or -1 if it is not depleted or there is not enough history to predict.
+     */
+    public int ticksUntilRespawn(long location, int tick) {
+        int slot = wreckSlots.get(location, -1);
+        if (slot < 0 || !depleted[slot] || depletedTicks[slot] < 0) {
+            return -1;
+        }
+        int expected = expectedRespawnTicks(location);
+        if (expected < 0) {
+            return -1;
+        }
+        return Math.max(expected - (tick - depletedTicks[slot]), 0);
+    }
+
+    /**
+     * Median respawn time at a location in ticks, or -1 with fewer than MIN_SAMPLES respawns
+     * seen. The median is cached and only recomputed when a sample is added.
+     */
+    public synchronized int expectedRespawnTicks(long location) {
+        int slot = histogramSlots.get(location, -1);
+        return slot >= 0 ? medianTicks[slot] : -1;
+    }
+
+    /**
+     * Writes the histograms changed since the last flush to config.
+     */
+    public void flush() {
+        List<String> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        synchronized (this) {
+            if (!anyDirty) {
+                return;
+            }
+            for (int slot = 0; slot < histogramSlots.size(); slot++) {
+                if (dirty[slot]) {
+                    keys.add(HISTOGRAM_KEY + histogramSlots.keyAt(slot));
+                    values.add(format(histograms[slot]));
+                    dirty[slot] = false;
+                }
+            }
+            anyDirty = false;
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            configManager.setConfiguration(CONFIG_GROUP, keys.get(i), values.get(i));
+        }
+        log.debug("Flushed {} shipwreck respawn histograms", keys.size());
+    }
+
+    private int addWreck(long location) {
+        int slot = wreckSlots.size();
+        if (slot == salvageableIds.length) {
+            salvageableIds = Arrays.copyOf(salvageableIds, slot * 2);
+            depleted = Arrays.copyOf(depleted, slot * 2);
+            depletedTicks = Arrays.copyOf(depletedTicks, slot * 2);
+        }
+        wreckSlots.put(location, slot);
+        return slot;
+    }
+
+    private synchronized void loadHistogram(long location) {
+        if (histogramSlots.get(location, -1) < 0) {
+            int[] histogram = parse(configManager.getConfiguration(CONFIG_GROUP, HISTOGRAM_KEY + location));
+            int slot = addHistogram(location, histogram);
+            medianTicks[slot] = median(histogram);
+        }
+    }
+
+    private synchronized void addSample(long location, int ticks) {
+        int slot = histogramSlots.get(location, -1);
+        if (slot < 0) {
+            slot = addHistogram(location, new int[BUCKETS]);
+        }
+        int[] histogram = histograms[slot];
+        histogram[Math.min(ticks / BUCKET_TICKS, BUCKETS - 1)]++;
+        medianTicks[slot] = median(histogram);
+        dirty[slot] = true;
+        anyDirty = true;
+    }
+
+    private int addHistogram(long location, int[] histogram) {
+        int slot = histogramSlots.size();
+        if (slot == histograms.length) {
+            histograms = Arrays.copyOf(histograms, slot * 2);
+            medianTicks = Arrays.copyOf(medianTicks, slot * 2);
+            dirty = Arrays.copyOf(dirty, slot * 2);
+        }
+        histogramSlots.put(location, slot);
+        histograms[slot] = histogram;
+        return slot;
+    }
+
+    private static int median(int[] histogram) {
+        int samples = 0;
+        for (int count : histogram) {
+            samples += count;
+        }
+        if (samples < MIN_SAMPLES) {
+            return -1;
+        }
+
+        int half = (samples + 1) / 2;
+        int seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= half) {
+                return bucket * BUCKET_TICKS + BUCKET_TICKS / 2;
+            }
+        }
+        return -1;
+    }
+
+    // Bucket counts separated by commas, trailing empty buckets left out
+    private static String format(int[] histogram) {
+        int last = histogram.length - 1;
+        while (last > 0 && histogram[last] == 0) {
+            last--;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i <= last; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(histogram[i]);
+        }
+        return builder.toString();
+    }
+
+    private static int[] parse(String value) {
+        int[] histogram = new int[BUCKETS];
+        if (value == null || value.isEmpty()) {
+            return histogram;
+        }
+        String[] parts = value.split(",");
+        for (int i = 0; i < parts.length && i < BUCKETS; i++) {
+            try {
+                histogram[i] = Math.max(Integer.parseInt(parts[i].trim()), 0);
+            } catch (NumberFormatException e) {
+                histogram[i] = 0;
+            }
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,113 @@
+package com.idlemaster.skills.sailing;
+
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.WorldEntity;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.BitSet;
+
+/**
+ * Boats in the top level world view, maintained from spawn and despawn events.
+ *
+ * Our own boat is cached, and the world views of boats owned by other players are kept
+ * in a bitset so the draw listener can test a scene with a single bit lookup. The boat
+ * location is computed once per tick instead of on every use.
+ */
+public final class WorldEntityTracker {
+
+    // World view IDs of boats owned by other players
+    private final BitSet otherBoats = new BitSet();
+
+    private WorldEntity ownBoat;
+    private WorldPoint boatLocation;
+
+    // Boats already in the scene when tracking starts have no spawn event
+    private boolean seeded = false;
+
+    public void onSpawned(WorldEntity entity) {
+        WorldView worldView = entity.getWorldView();
+        if (worldView == null) {
+            return;
+        }
+        int ownerType = entity.getOwnerType();
+        if (ownerType == WorldEntity.OWNER_TYPE_SELF_PLAYER) {
+            ownBoat = entity;
+        } else if (ownerType == WorldEntity.OWNER_TYPE_OTHER_PLAYER && worldView.getId() >= 0) {
+            otherBoats.set(worldView.getId());
+        }
+    }
+
+    public void onDespawned(WorldEntity entity) {
+        if (entity == ownBoat) {
+            ownBoat = null;
+        }
+        WorldView worldView = entity.getWorldView();
+        if (worldView != null && worldView.getId() >= 0) {
+            otherBoats.clear(worldView.getId());
+        }
+    }
+
+    /**
+     * Refreshes the boat location for this tick. Seeds the boats from the scene first
+     * if no events were seen since the last clear.
+     */
+    public void onTick(Client client) {
+        WorldView topLevel = client.getTopLevelWorldView();
+        if (!seeded && topLevel != null) {
+            for (WorldEntity entity : topLevel.worldEntities()) {
+                if (entity != null) {
+                    onSpawned(entity);
+                }
+            }
+            seeded = true;
+        }
+
+        boatLocation = null;
+        if (ownBoat != null) {
+            LocalPoint localPoint = ownBoat.getLocalLocation();
+            if (localPoint != null) {
+                boatLocation = WorldPoint.fromLocal(client, localPoint);
+            }
+        }
+
+        // Fallback to player location if not on a boat
+        if (boatLocation == null) {
+            Player localPlayer = client.getLocalPlayer();
+            if (localPlayer != null) {
+                boatLocation = localPlayer.getWorldLocation();
+            }
+        }
+    }
+
+    /**
+     * Location of our boat, or of the player when not on a boat, as of the last tick.
+     */
+    public WorldPoint getBoatLocation() {
+        return boatLocation;
+    }
+
+    public WorldEntity getOwnBoat() {
+        return ownBoat;
+    }
+
+    public boolean isOtherPlayerBoat(int worldViewId) {
+        return worldViewId >= 0 && otherBoats.get(worldViewId);
+    }
+
+    /**
+     * Sets the world view IDs of all boats owned by other players in the target.
+     */
+    public void addOtherBoatsTo(BitSet target) {
+        target.or(otherBoats);
+    }
+
+    public void clear() {
+        otherBoats.clear();
+        ownBoat = null;
+        boatLocation = null;
+        seeded = false;
+    }
+}
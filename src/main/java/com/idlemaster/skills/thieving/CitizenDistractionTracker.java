@@ -0,0 +1,109 @@
+package com.idlemaster.skills.thieving;
+
+import lombok.Getter;
+import net.runelite.api.Actor;
+
+import java.util.BitSet;
+
+/**
+ * Distraction state of every Wealthy citizen in the scene, keyed by NPC index.
+ *
+ * Citizens are registered when they spawn and updated from their interacting changes,
+ * so several citizens distracted at once are each seen on the tick it happens. A citizen
+ * is distracted while it interacts with a child, which has combat level 0.
+ */
+public final class CitizenDistractionTracker {
+
+    public interface Listener {
+        void onDistractionStarted(int npcIndex, int tick);
+
+        void onDistractionEnded(int npcIndex, int startTick, int tick);
+    }
+
+    private static final int MAX_NPCS = 65536;
+
+    private final Listener listener;
+    private final BitSet citizens = new BitSet(MAX_NPCS);
+    private final BitSet distracted = new BitSet(MAX_NPCS);
+    private final int[] startTicks = new int[MAX_NPCS];
+
+    @Getter
+    private int distractedCount;
+    // First tick of the current run of overlapping distractions, and the tick the last one ended
+    @Getter
+    private int firstStartTick = -1;
+    @Getter
+    private int lastEndTick = -1;
+
+    public CitizenDistractionTracker(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void onCitizenSpawned(int npcIndex, Actor interacting, int tick) {
+        citizens.set(npcIndex);
+        update(npcIndex, interacting, tick);
+    }
+
+    public void onNpcDespawned(int npcIndex, int tick) {
+        if (!citizens.get(npcIndex)) {
+            return;
+        }
+        update(npcIndex, null, tick);
+        citizens.clear(npcIndex);
+    }
+
+    public void onInteractingChanged(int npcIndex, Actor target, int tick) {
+        if (citizens.get(npcIndex)) {
+            update(npcIndex, target, tick);
+        }
+    }
+
+    public boolean isDistracted(int npcIndex) {
+        return distracted.get(npcIndex);
+    }
+
+    public int getStartTick(int npcIndex) {
+        return distracted.get(npcIndex) ? startTicks[npcIndex] : -1;
+    }
+
+    /**
+     * Index of the next distracted citizen at or after fromIndex, or -1.
+     */
+    public int nextDistracted(int fromIndex) {
+        return distracted.nextSetBit(fromIndex);
+    }
+
+    /**
+     * Forgets all citizens without reporting ended distractions, for logout and world hops.
+     */
+    public void clear() {
+        citizens.clear();
+        distracted.clear();
+        distractedCount = 0;
+        firstStartTick = -1;
+        lastEndTick = -1;
+    }
+
+    private void update(int npcIndex, Actor target, int tick) {
+        boolean isDistracted = target != null && target.getCombatLevel() == 0;
+        if (isDistracted == distracted.get(npcIndex)) {
+            return;
+        }
+
+        if (isDistracted) {
+            distracted.set(npcIndex);
+            startTicks[npcIndex] = tick;
+            if (distractedCount++ == 0) {
+                firstStartTick = tick;
+            }
+            listener.onDistractionStarted(npcIndex, tick);
+        } else {
+            distracted.clear(npcIndex);
+            if (--distractedCount == 0) {
+                firstStartTick = -1;
+                lastEndTick = tick;
+            }
+            listener.onDistractionEnded(npcIndex, startTicks[npcIndex], tick);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.idlemaster.skills.thieving;
+
+import javax.inject.Singleton;
+
+/**
+ * Measured render cost of each highlight style, shown in the debug panel.
+ *
+ * The overlays record the time spent highlighting in every frame that drew something.
+ * The cost is kept as an exponential moving average over roughly the last 16 frames,
+ * together with the worst frame of the session.
+ */
+@Singleton
+public class HighlightCostTracker {
+
+    // Weight of the newest frame is 1 / 2^SMOOTHING_SHIFT
+    private static final int SMOOTHING_SHIFT = 4;
+
+    private final long[] averageNanos = new long[HighlightStyle.values().length];
+    private final long[] maxNanos = new long[HighlightStyle.values().length];
+    private final long[] frames = new long[HighlightStyle.values().length];
+
+    /**
+     * Called from the overlays on the client thread once per frame.
+     */
+    public synchronized void record(HighlightStyle style, long nanos) {
+        int i = style.ordinal();
+        averageNanos[i] = frames[i] == 0 ? nanos : averageNanos[i] + ((nanos - averageNanos[i]) >> SMOOTHING_SHIFT);
+        maxNanos[i] = Math.max(maxNanos[i], nanos);
+        frames[i]++;
+    }
+
+    public synchronized double getAverageMicros(HighlightStyle style) {
+        return averageNanos[style.ordinal()] / 1000.0;
+    }
+
+    public synchronized double getMaxMicros(HighlightStyle style) {
+        return maxNanos[style.ordinal()] / 1000.0;
+    }
+
+    public synchronized long getFrames(HighlightStyle style) {
+        return frames[style.ordinal()];
+    }
+}
@@ -0,0 +1,25 @@
+package com.idlemaster.skills.thieving;
+
+import lombok.Getter;
+
+/**
+ * How distracted citizens are highlighted, from the most expensive to the cheapest.
+ */
+@Getter
+public enum HighlightStyle {
+    OUTLINE("Outline"),
+    HULL("Clickbox"),
+    TILE("Tile"),
+    MINIMAP("Minimap dot");
+
+    private final String name;
+
+    HighlightStyle(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,7 +1,10 @@
 package com.idlemaster.skills.thieving;
 
 import com.idlemaster.IdleMasterConfig;
+import net.runelite.api.Client;
 import net.runelite.api.NPC;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -9,26 +12,45 @@ import net.runelite.client.ui.overlay.outline.ModelOutlineRenderer;
 
 import javax.inject.Inject;
 import java.awt.*;
+import java.util.Arrays;
 
 /**
- * Overlay to highlight the distracted wealthy citizen.
+ * Overlay to highlight the distracted wealthy citizens.
+ *
+ * The clickbox hull and tile polygon are projected once and reused until the citizen
+ * moves or turns, or the camera moves. The hull also follows the animated model, so it
+ * is projected again on each game tick as well, but never more than once per tick. The
+ * time spent highlighting is measured every frame, so the cost of each style can be
+ * compared in the debug panel. The minimap dot is drawn by {@link ThievingMinimapOverlay}
+ * above the widgets.
  */
 public class ThievingHighlightOverlay extends Overlay {
     
     private static final Color OUTLINE_COLOR = new Color(0, 255, 0, 255); // Bright green outline
+    private static final Color FILL_COLOR = new Color(0, 255, 0, 50);
     private static final int OUTLINE_WIDTH = 2;
     private static final int FEATHER = 4;
+    private static final Stroke STROKE = new BasicStroke(OUTLINE_WIDTH);
+    private final Client client;
     private final IdleMasterConfig config;
     private final ThievingManager thievingManager;
     private final ModelOutlineRenderer modelOutlineRenderer;
+    private final HighlightCostTracker costTracker;
+    
+    // Projected shapes by NPC index
+    private CachedShape[] shapes = new CachedShape[0];
     
     @Inject
-    public ThievingHighlightOverlay(IdleMasterConfig config, 
+    public ThievingHighlightOverlay(Client client,
+                                     IdleMasterConfig config,
                                      ThievingManager thievingManager,
-                                     ModelOutlineRenderer modelOutlineRenderer) {
+                                     ModelOutlineRenderer modelOutlineRenderer,
+                                     HighlightCostTracker costTracker) {
+        this.client = client;
         this.config = config;
         this.thievingManager = thievingManager;
         this.modelOutlineRenderer = modelOutlineRenderer;
+        this.costTracker = costTracker;
         
         setPosition(OverlayPosition.DYNAMIC);
         setLayer(OverlayLayer.ABOVE_SCENE);
@@ -36,23 +58,112 @@ public class ThievingHighlightOverlay extends Overlay {
     
     @Override
     public Dimension render(Graphics2D graphics) {
-        if (!config.enableThievingOverlay() || !config.highlightDistractedCitizen()) {
+        HighlightStyle style = config.highlightStyle();
+        if (style == HighlightStyle.MINIMAP || !shouldHighlight(config, thievingManager)) {
             return null;
         }
         
-        NPC distractedNpc = thievingManager.getDistractedNpc();
-        if (distractedNpc == null) {
+        CitizenDistractionTracker distractions = thievingManager.getDistractions();
+        WorldView worldView = client.getTopLevelWorldView();
+        if (distractions.getDistractedCount() == 0 || worldView == null) {
             return null;
         }
         
+        long start = System.nanoTime();
+        long view = style == HighlightStyle.OUTLINE ? 0 : cameraKey();
+        boolean drawn = false;
+        for (int index = distractions.nextDistracted(0); index >= 0; index = distractions.nextDistracted(index + 1)) {
+            NPC npc = worldView.npcs().byIndex(index);
+            if (npc == null) {
+                continue;
+            }
+            if (style == HighlightStyle.OUTLINE) {
+                modelOutlineRenderer.drawOutline(npc, OUTLINE_WIDTH, OUTLINE_COLOR, FEATHER);
+                drawn = true;
+                continue;
+            }
+            Shape shape = shapeOf(npc, style, view);
+            if (shape != null) {
+                graphics.setStroke(STROKE);
+                graphics.setColor(OUTLINE_COLOR);
+                graphics.draw(shape);
+                graphics.setColor(FILL_COLOR);
+                graphics.fill(shape);
+                drawn = true;
+            }
+        }
+        if (drawn) {
+            costTracker.record(style, System.nanoTime() - start);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Whether distracted citizens are highlighted at all right now.
+     */
+    static boolean shouldHighlight(IdleMasterConfig config, ThievingManager thievingManager) {
         // Only highlight when in thieving area
-        if (!thievingManager.getThievingInfo().isInThievingArea()) {
+        return config.enableThievingOverlay() && config.highlightDistractedCitizen()
+            && thievingManager.getThievingInfo().isInThievingArea();
+    }
+    
+    private Shape shapeOf(NPC npc, HighlightStyle style, long view) {
+        LocalPoint location = npc.getLocalLocation();
+        if (location == null) {
             return null;
         }
         
-        // Render the outline with fill
-        modelOutlineRenderer.drawOutline(distractedNpc, OUTLINE_WIDTH, OUTLINE_COLOR, FEATHER);
+        int index = npc.getIndex();
+        if (index >= shapes.length) {
+            shapes = Arrays.copyOf(shapes, Math.max(index + 1, shapes.length * 2));
+        }
+        CachedShape cached = shapes[index];
+        if (cached == null) {
+            cached = new CachedShape();
+            shapes[index] = cached;
+        }
         
-        return null;
+        int tick = style == HighlightStyle.HULL ? client.getTickCount() : 0;
+        if (cached.npcId != npc.getId() || cached.style != style || cached.view != view
+            || cached.x != location.getX() || cached.y != location.getY()
+            || cached.orientation != npc.getOrientation() || cached.tick != tick) {
+            cached.npcId = npc.getId();
+            cached.style = style;
+            cached.view = view;
+            cached.x = location.getX();
+            cached.y = location.getY();
+            cached.orientation = npc.getOrientation();
+            cached.tick = tick;
+            cached.shape = style == HighlightStyle.HULL ? npc.getConvexHull() : npc.getCanvasTilePoly();
+        }
+        return cached.shape;
+    }
+    
+    // Changes whenever the camera or viewport does, which moves every projected shape
+    private long cameraKey() {
+        long key = client.getCameraX();
+        key = key * 31 + client.getCameraY();
+        key = key * 31 + client.getCameraZ();
+        key = key * 31 + client.getCameraPitch();
+        key = key * 31 + client.getCameraYaw();
+        key = key * 31 + client.getScale();
+        key = key * 31 + client.getViewportXOffset();
+        key = key * 31 + client.getViewportYOffset();
+        key = key * 31 + client.getViewportWidth();
+        key = key * 31 + client.getViewportHeight();
+        return key;
+    }
+    
+    private static final class CachedShape {
+        // NPC IDs rather than the NPCs, so a despawned citizen is not kept alive by the cache
+        int npcId = -1;
+        HighlightStyle style;
+        long view;
+        int x;
+        int y;
+        int orientation;
+        int tick;
+        Shape shape;
     }
 }
@@ -20,12 +20,14 @@ public class ThievingInfo {
     
     // Distraction state
     private boolean citizenDistracted = false;
+    private int distractedCitizenCount = 0;
     private int distractionTimeSeconds = 0;
     private int timeSinceLastDistraction = 0;
     
     // Coin pouch tracking
     private int coinPouchCount = 0;
     private int maxCoinPouches = 28; // Base limit, increases with Ardougne diary
+    private int pouchesFullEtaSeconds = -1; // Estimated seconds until full, -1 if unknown
     
     // XP tracking
     private int thievingXp = 0;
@@ -43,10 +45,12 @@ public class ThievingInfo {
         this.playerThieving = other.playerThieving;
         this.idleTimeSeconds = other.idleTimeSeconds;
         this.citizenDistracted = other.citizenDistracted;
+        this.distractedCitizenCount = other.distractedCitizenCount;
         this.distractionTimeSeconds = other.distractionTimeSeconds;
         this.timeSinceLastDistraction = other.timeSinceLastDistraction;
         this.coinPouchCount = other.coinPouchCount;
         this.maxCoinPouches = other.maxCoinPouches;
+        this.pouchesFullEtaSeconds = other.pouchesFullEtaSeconds;
         this.thievingXp = other.thievingXp;
         this.thievingLevel = other.thievingLevel;
         this.xpToNextLevel = other.xpToNextLevel;
@@ -62,7 +66,7 @@ public class ThievingInfo {
     
     public String getDistractionStatusText() {
         if (citizenDistracted) {
-            return "DISTRACTED";
+            return distractedCitizenCount > 1 ? "DISTRACTED x" + distractedCitizenCount : "DISTRACTED";
         }
         return "ALERT";
     }
@@ -105,6 +109,13 @@ public class ThievingInfo {
         return coinPouchCount + "/" + maxCoinPouches;
     }
     
+    public String getCoinPouchEtaText() {
+        if (pouchesFullEtaSeconds < 0) {
+            return "";
+        }
+        return " - full in " + formatEta(pouchesFullEtaSeconds);
+    }
+    
     public int getCoinPouchPercentage() {
         if (maxCoinPouches == 0) return 0;
         return (coinPouchCount * 100) / maxCoinPouches;
@@ -123,6 +134,17 @@ public class ThievingInfo {
         return String.valueOf(num);
     }
     
+    // Format an estimated time such as "40s" or "3m"
+    private static String formatEta(int seconds) {
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return (seconds / 60) + "m";
+        }
+        return String.format("%dh %dm", seconds / 3600, (seconds % 3600) / 60);
+    }
+    
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -132,10 +154,12 @@ public class ThievingInfo {
                playerThieving == other.playerThieving &&
                idleTimeSeconds == other.idleTimeSeconds &&
                citizenDistracted == other.citizenDistracted &&
+               distractedCitizenCount == other.distractedCitizenCount &&
                distractionTimeSeconds == other.distractionTimeSeconds &&
                timeSinceLastDistraction == other.timeSinceLastDistraction &&
                coinPouchCount == other.coinPouchCount &&
                maxCoinPouches == other.maxCoinPouches &&
+               pouchesFullEtaSeconds == other.pouchesFullEtaSeconds &&
                thievingXp == other.thievingXp &&
                thievingLevel == other.thievingLevel &&
                xpToNextLevel == other.xpToNextLevel &&
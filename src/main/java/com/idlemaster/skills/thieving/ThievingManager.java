@@ -1,6 +1,19 @@
 package com.idlemaster.skills.thieving;
 
 import com.idlemaster.IdleMasterConfig;
+import com.idlemaster.activity.ActivityState;
+import com.idlemaster.activity.ActivityStateMachine;
+import com.idlemaster.alerts.AlertBus;
+import com.idlemaster.alerts.AlertEngine;
+import com.idlemaster.alerts.AlertInput;
+import com.idlemaster.alerts.AlertLatencyTracker;
+import com.idlemaster.alerts.AlertRule;
+import com.idlemaster.alerts.AlertType;
+import com.idlemaster.alerts.RateEstimator;
+import com.idlemaster.debug.EventJournal;
+import com.idlemaster.debug.JournalEventType;
+import com.idlemaster.history.HistoryEventType;
+import com.idlemaster.history.SessionHistoryLog;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
@@ -10,8 +23,9 @@ import net.runelite.client.config.ConfigManager;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.swing.SwingUtilities;
-import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -33,11 +47,12 @@ public class ThievingManager {
     // Pickpocketing animation ID
     private static final int PICKPOCKET_ANIMATION = 881;
     
-    // Sound effect ID for alerts
-    private static final int SOUND_ID = 3817;
-    
-    // Coin pouch item ID (there are multiple variants, we'll count by name)
-    private static final String COIN_POUCH_NAME = "Coin pouch";
+    // Coin pouch of every pickpocketable NPC, sorted for binary search
+    private static final int[] COIN_POUCH_IDS = {
+        22521, 22522, 22523, 22524, 22525, 22526, 22527, 22528, 22529, 22530, 22531,
+        22532, 22533, 22534, 22535, 22536, 22537, 22538, 22539, 22540, 22541,
+        24703, 28822
+    };
     
     // Ardougne diary varbits (Easy doesn't affect coin pouch limit)
     private static final int DIARY_ARDOUGNE_MEDIUM = 4459;
@@ -53,55 +68,186 @@ public class ThievingManager {
     private final Client client;
     private final IdleMasterConfig config;
     private final ConfigManager configManager;
+    private final SessionHistoryLog sessionHistory;
+    private final AlertLatencyTracker latencyTracker;
+    private final EventJournal journal;
     
     @Getter
     private final ThievingInfo thievingInfo = new ThievingInfo();
     private ThievingInfo previousThievingInfo;
     
+    // Assigned and cleared on the EDT, read on the client thread
     @Getter
-    private ThievingOverlayWindow overlayWindow;
+    private volatile ThievingOverlayWindow overlayWindow;
     
-    private Instant lastActiveTime = Instant.now();
-    private Instant distractionStartTime = null;
-    private Instant lastDistractionEndTime = null;
     private boolean wasInArea = false;
-    private boolean wasDistracted = false;
-    private boolean alertedDistractionStart = false;
-    private boolean alertedDistractionEnd = false;
-    private boolean alertedPouchFull = false;
-    private int previousPouchCount = 0;
     
-    // Track the distracted NPC for entity hiding
+    // Citizens already in the scene when tracking starts have no spawn event
+    private boolean citizensSeeded = false;
+    
+    // Thieving alerts, rules are rebuilt from the config on every change
+    private final AlertEngine alerts;
+    
+    // Pickpocketing activity, the grace period is the idle threshold
+    private final ActivityStateMachine activity = new ActivityStateMachine(
+        new int[]{PICKPOCKET_ANIMATION}, new int[0], this::onActivityChanged);
+    
+    // Coin pouches gained per tick, for the "full in" estimate
+    private final RateEstimator pouchGainRate = new RateEstimator(50);
+    
+    // Last values written to the session history, -1 until first seen
+    private int lastRecordedPouchCount = -1;
+    private int lastRecordedThievingXp = -1;
+    
+    // Distraction state per citizen, read by the highlight overlay and NPC hiding
     @Getter
-    private NPC distractedNpc = null;
+    private final CitizenDistractionTracker distractions =
+        new CitizenDistractionTracker(new CitizenDistractionTracker.Listener() {
+            @Override
+            public void onDistractionStarted(int npcIndex, int tick) {
+                ThievingManager.this.onDistractionStarted(npcIndex, tick);
+            }
+            
+            @Override
+            public void onDistractionEnded(int npcIndex, int startTick, int tick) {
+                ThievingManager.this.onDistractionEnded(npcIndex, startTick, tick);
+            }
+        });
     
     @Inject
-    public ThievingManager(Client client, IdleMasterConfig config, ConfigManager configManager) {
+    public ThievingManager(Client client, IdleMasterConfig config, ConfigManager configManager,
+                           SessionHistoryLog sessionHistory, AlertBus alertBus,
+                           AlertLatencyTracker latencyTracker, EventJournal journal) {
         this.client = client;
         this.config = config;
         this.configManager = configManager;
+        this.sessionHistory = sessionHistory;
+        this.latencyTracker = latencyTracker;
+        this.journal = journal;
+        this.alerts = new AlertEngine(alertBus::submit);
+        activity.setGraceTicks(secondsToTicks(config.thievingIdleThreshold()));
+        rebuildAlertRules();
     }
     
     public void startUp() {
-        if (overlayWindow == null) {
-            SwingUtilities.invokeLater(() -> {
-                overlayWindow = new ThievingOverlayWindow(thievingInfo, config, configManager);
+        // The window field is only assigned on the EDT, so repeated enable/disable cycles
+        // can't create a second window or miss disposing one that is still being built
+        SwingUtilities.invokeLater(() -> {
+            if (overlayWindow == null) {
+                overlayWindow = new ThievingOverlayWindow(thievingInfo, config, configManager, latencyTracker);
                 overlayWindow.setVisible(false);
-            });
-        }
+            }
+        });
     }
     
     public void shutDown() {
-        if (overlayWindow != null) {
-            SwingUtilities.invokeLater(() -> {
+        distractions.clear();
+        citizensSeeded = false;
+        wasInArea = false;
+        thievingInfo.setInThievingArea(false);
+        thievingInfo.setCitizenDistracted(false);
+        previousThievingInfo = null;
+        
+        SwingUtilities.invokeLater(() -> {
+            if (overlayWindow != null) {
                 overlayWindow.savePositionAndSize();
                 overlayWindow.setVisible(false);
                 overlayWindow.dispose();
                 overlayWindow = null;
-            });
+            }
+        });
+    }
+    
+    /**
+     * Forgets per-account baselines so the next account's XP and pouches aren't recorded as gains.
+     */
+    public void onLogout() {
+        lastRecordedPouchCount = -1;
+        lastRecordedThievingXp = -1;
+        pouchGainRate.reset();
+        activity.reset();
+        clearDistractions();
+    }
+    
+    /**
+     * Forgets all citizens when the scene is replaced, e.g. on a world hop.
+     */
+    public void clearDistractions() {
+        distractions.clear();
+        citizensSeeded = false;
+    }
+    
+    public void onAnimationChanged(int animation, int tick) {
+        activity.onAnimationChanged(animation, tick);
+    }
+    
+    public void onMoved(int tick) {
+        activity.onMoved(tick);
+    }
+    
+    public void onNpcSpawned(NPC npc) {
+        if (isTopLevelCitizen(npc)) {
+            distractions.onCitizenSpawned(npc.getIndex(), npc.getInteracting(), client.getTickCount());
+        }
+    }
+    
+    public void onNpcDespawned(NPC npc) {
+        if (isTopLevel(npc)) {
+            distractions.onNpcDespawned(npc.getIndex(), client.getTickCount());
+        }
+    }
+    
+    public void onInteractingChanged(Actor source, Actor target) {
+        if (source instanceof NPC && isTopLevel((NPC) source)) {
+            distractions.onInteractingChanged(((NPC) source).getIndex(), target, client.getTickCount());
         }
     }
     
+    /**
+     * Whether the NPC is a citizen currently distracted by a child.
+     */
+    public boolean isDistracted(NPC npc) {
+        return isTopLevel(npc) && distractions.isDistracted(npc.getIndex());
+    }
+    
+    public static boolean isCoinPouch(int itemId) {
+        return Arrays.binarySearch(COIN_POUCH_IDS, itemId) >= 0;
+    }
+    
+    public ActivityState getActivityState() {
+        return activity.getState();
+    }
+    
+    /**
+     * Whether the NPC is a Wealthy citizen on the mainland, distracted or not.
+     */
+    public boolean isCitizen(NPC npc) {
+        return isTopLevelCitizen(npc);
+    }
+    
+    // NPC indexes are per world view, citizens only walk the mainland
+    private boolean isTopLevel(NPC npc) {
+        return npc.getWorldView() == client.getTopLevelWorldView();
+    }
+    
+    private boolean isTopLevelCitizen(NPC npc) {
+        return isTopLevel(npc) && WEALTHY_CITIZEN_NAME.equals(npc.getName());
+    }
+    
+    private void seedCitizens() {
+        WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) {
+            return;
+        }
+        int tick = client.getTickCount();
+        for (NPC npc : worldView.npcs()) {
+            if (npc != null && WEALTHY_CITIZEN_NAME.equals(npc.getName())) {
+                distractions.onCitizenSpawned(npc.getIndex(), npc.getInteracting(), tick);
+            }
+        }
+        citizensSeeded = true;
+    }
+    
     public void onGameTick() {
         if (client.getGameState() != GameState.LOGGED_IN) {
             return;
@@ -112,13 +258,20 @@ public class ThievingManager {
             return;
         }
         
+        activity.onTick(client.getTickCount());
+        
         // Check if player is in thieving area
         boolean inArea = isPlayerInThievingArea(player);
         thievingInfo.setInThievingArea(inArea);
         
         // Show/hide overlay based on area
-        if (wasInArea != inArea && overlayWindow != null) {
-            SwingUtilities.invokeLater(() -> overlayWindow.setVisible(inArea));
+        ThievingOverlayWindow window = overlayWindow;
+        if (wasInArea != inArea && window != null) {
+            SwingUtilities.invokeLater(() -> {
+                if (!window.isDisposed()) {
+                    window.setVisible(inArea);
+                }
+            });
         }
         wasInArea = inArea;
         
@@ -126,6 +279,10 @@ public class ThievingManager {
             return;
         }
         
+        if (!citizensSeeded) {
+            seedCitizens();
+        }
+        
         // Update character name
         String name = player.getName();
         if (name != null && !name.equals(thievingInfo.getCharacterName())) {
@@ -133,10 +290,10 @@ public class ThievingManager {
         }
         
         // Update player thieving status
-        updatePlayerThievingStatus(player);
+        updatePlayerThievingStatus();
         
         // Update distraction status
-        updateDistractionStatus(player);
+        updateDistractionStatus();
         
         // Update coin pouch count
         updateCoinPouchCount();
@@ -144,12 +301,20 @@ public class ThievingManager {
         // Update thieving XP
         updateThievingXp();
         
+        sessionHistory.recordTick(!thievingInfo.isPlayerThieving());
+        
+        evaluateAlerts();
+        
         // Update overlay
-        if (overlayWindow != null && (previousThievingInfo == null || !previousThievingInfo.equals(thievingInfo))) {
+        if (window != null && (previousThievingInfo == null || !previousThievingInfo.equals(thievingInfo))) {
             previousThievingInfo = new ThievingInfo(thievingInfo);
+            String characterName = thievingInfo.getCharacterName();
+            int tick = client.getTickCount();
             SwingUtilities.invokeLater(() -> {
-                overlayWindow.updateDisplay();
-                overlayWindow.updateCharacterName(thievingInfo.getCharacterName());
+                if (!window.isDisposed()) {
+                    window.updateDisplay(tick);
+                    window.updateCharacterName(characterName);
+                }
             });
         }
     }
@@ -187,118 +352,92 @@ public class ThievingManager {
         return false;
     }
     
-    private void updatePlayerThievingStatus(Player player) {
-        int animation = player.getAnimation();
-        boolean isThieving = (animation == PICKPOCKET_ANIMATION);
-        
-        if (isThieving) {
-            lastActiveTime = Instant.now();
-            thievingInfo.setIdleTimeSeconds(0);
-        } else {
-            long idleSeconds = Duration.between(lastActiveTime, Instant.now()).getSeconds();
-            thievingInfo.setIdleTimeSeconds((int) idleSeconds);
-        }
-        
-        thievingInfo.setPlayerThieving(isThieving);
+    private void updatePlayerThievingStatus() {
+        thievingInfo.setPlayerThieving(activity.isBusy(ActivityState.ACTIVE));
+        thievingInfo.setIdleTimeSeconds(activity.idleSeconds(client.getTickCount()));
+        alerts.set(AlertInput.PLAYER_IDLE, activity.getState() == ActivityState.IDLE);
     }
     
-    /**
-     * Checks if any Wealthy Citizen is distracted (interacting with a child NPC).
-     * A citizen is distracted when they are interacting with an NPC that has combat level 0.
-     */
-    private void updateDistractionStatus(Player player) {
-        WorldView worldView = player.getWorldView();
-        if (worldView == null) {
+    private void onActivityChanged(ActivityState from, ActivityState to, int tick) {
+        journal.record(JournalEventType.THIEVING_ACTIVITY, tick, from.ordinal(), to.ordinal());
+        if (!thievingInfo.isInThievingArea()) {
             return;
         }
-        
-        boolean foundDistracted = false;
-        NPC foundDistractedNpc = null;
-        
-        for (NPC npc : worldView.npcs()) {
-            if (npc == null) continue;
-            
-            String npcName = npc.getName();
-            if (npcName != null && npcName.equals(WEALTHY_CITIZEN_NAME)) {
-                // Check if the citizen is interacting with someone
-                if (npc.isInteracting()) {
-                    Actor interactingWith = npc.getInteracting();
-                    // If interacting with a child (combat level 0), they're distracted
-                    if (interactingWith != null && interactingWith.getCombatLevel() == 0) {
-                        foundDistracted = true;
-                        foundDistractedNpc = npc;
-                        break;
-                    }
-                }
-            }
+        if (to == ActivityState.IDLE) {
+            sessionHistory.record(HistoryEventType.THIEVING_IDLE_START);
+        } else if (from == ActivityState.IDLE) {
+            sessionHistory.record(HistoryEventType.THIEVING_IDLE_END, thievingInfo.getIdleTimeSeconds());
         }
+    }
+    
+    private static int secondsToTicks(int seconds) {
+        return (seconds * 1000 + 599) / 600;
+    }
+    
+    /**
+     * Copies the tracked distractions into the overlay info. The tracker itself is
+     * updated from spawn and interacting events, not here.
+     */
+    private void updateDistractionStatus() {
+        int tick = client.getTickCount();
+        int count = distractions.getDistractedCount();
+        thievingInfo.setCitizenDistracted(count > 0);
+        thievingInfo.setDistractedCitizenCount(count);
         
-        // Update tracked distracted NPC
-        distractedNpc = foundDistractedNpc;
-        
-        // Update distraction state
-        if (foundDistracted) {
-            if (!wasDistracted) {
-                // Distraction just started
-                distractionStartTime = Instant.now();
-                alertedDistractionStart = false;
-                alertedDistractionEnd = false; // Reset end alert for next cycle
-            }
-            
-            // Calculate how long distracted
-            if (distractionStartTime != null) {
-                long distractionSeconds = Duration.between(distractionStartTime, Instant.now()).getSeconds();
-                thievingInfo.setDistractionTimeSeconds((int) distractionSeconds);
-            }
-            
-            thievingInfo.setCitizenDistracted(true);
+        if (count > 0) {
+            thievingInfo.setDistractionTimeSeconds(ticksToSeconds(tick - distractions.getFirstStartTick()));
             thievingInfo.setTimeSinceLastDistraction(0);
-            
-            // Play alert sound when distraction starts
-            if (!alertedDistractionStart && config.playThievingDistractionStartSound()) {
-                playSoundEffect();
-                alertedDistractionStart = true;
-                log.debug("Wealthy citizen distracted - playing start alert");
-            }
         } else {
-            if (wasDistracted) {
-                // Distraction just ended
-                lastDistractionEndTime = Instant.now();
-                
-                // Play alert sound when distraction ends
-                if (!alertedDistractionEnd && config.playThievingDistractionEndSound()) {
-                    playSoundEffect();
-                    alertedDistractionEnd = true;
-                    log.debug("Wealthy citizen no longer distracted - playing end alert");
-                }
-            }
-            
-            thievingInfo.setCitizenDistracted(false);
             thievingInfo.setDistractionTimeSeconds(0);
-            
-            // Calculate time since last distraction
-            if (lastDistractionEndTime != null) {
-                long secondsSince = Duration.between(lastDistractionEndTime, Instant.now()).getSeconds();
-                thievingInfo.setTimeSinceLastDistraction((int) secondsSince);
-            }
-            
-            // Reset start alert flag when not distracted
-            alertedDistractionStart = false;
+            int lastEndTick = distractions.getLastEndTick();
+            thievingInfo.setTimeSinceLastDistraction(lastEndTick >= 0 ? ticksToSeconds(tick - lastEndTick) : 0);
         }
-        
-        wasDistracted = foundDistracted;
     }
     
-    private void playSoundEffect() {
-        try {
-            Preferences preferences = client.getPreferences();
-            int previousVolume = preferences.getSoundEffectVolume();
-            preferences.setSoundEffectVolume(config.soundVolume());
-            client.playSoundEffect(SOUND_ID, config.soundVolume());
-            preferences.setSoundEffectVolume(previousVolume);
-        } catch (Exception e) {
-            log.debug("Error playing sound effect: {}", e.getMessage());
+    private void onDistractionStarted(int npcIndex, int tick) {
+        if (!thievingInfo.isInThievingArea()) {
+            return;
         }
+        sessionHistory.record(HistoryEventType.DISTRACTION_START);
+        alerts.pulse(AlertInput.DISTRACTION_STARTED);
+    }
+    
+    private void onDistractionEnded(int npcIndex, int startTick, int tick) {
+        if (!thievingInfo.isInThievingArea()) {
+            return;
+        }
+        sessionHistory.record(HistoryEventType.DISTRACTION_END, ticksToSeconds(tick - startTick));
+        alerts.pulse(AlertInput.DISTRACTION_ENDED);
+    }
+    
+    private static int ticksToSeconds(int ticks) {
+        return ticks * 600 / 1000;
+    }
+    
+    private void evaluateAlerts() {
+        // Triggered alerts go to the shared bus, which picks one per tick across all modules
+        alerts.evaluate(client.getTickCount());
+    }
+    
+    private void rebuildAlertRules() {
+        List<AlertRule> rules = new ArrayList<>();
+        if (config.playThievingPouchFullSound()) {
+            rules.add(AlertRule.below(AlertType.POUCHES_FULL, AlertInput.POUCHES_FREE, 0, 0).priority(60));
+            if (config.pouchesFullLeadSeconds() > 0) {
+                rules.add(AlertRule.ahead(AlertType.POUCHES_FULL_SOON, AlertInput.POUCHES_ETA_SECONDS,
+                    config.pouchesFullLeadSeconds()).priority(55));
+            }
+        }
+        if (config.playThievingDistractionStartSound()) {
+            rules.add(AlertRule.whenSet(AlertType.DISTRACTION_START, AlertInput.DISTRACTION_STARTED).priority(50));
+        }
+        if (config.playThievingIdleSound()) {
+            rules.add(AlertRule.whenSet(AlertType.THIEVING_IDLE, AlertInput.PLAYER_IDLE).priority(45));
+        }
+        if (config.playThievingDistractionEndSound()) {
+            rules.add(AlertRule.whenSet(AlertType.DISTRACTION_END, AlertInput.DISTRACTION_ENDED).priority(40));
+        }
+        alerts.compile(rules);
     }
     
     private void updateCoinPouchCount() {
@@ -311,35 +450,38 @@ public class ThievingManager {
             ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
             if (inventory == null) {
                 thievingInfo.setCoinPouchCount(0);
-                previousPouchCount = 0;
+                thievingInfo.setPouchesFullEtaSeconds(-1);
+                alerts.set(AlertInput.POUCHES_FREE, maxPouches);
+                alerts.set(AlertInput.POUCHES_ETA_SECONDS, Integer.MAX_VALUE);
                 return;
             }
             
             int pouchCount = 0;
             for (Item item : inventory.getItems()) {
-                if (item == null || item.getId() == -1) continue;
-                
-                String itemName = client.getItemDefinition(item.getId()).getName();
-                if (itemName != null && itemName.equals(COIN_POUCH_NAME)) {
+                if (item != null && isCoinPouch(item.getId())) {
                     pouchCount += item.getQuantity();
                 }
             }
             
             thievingInfo.setCoinPouchCount(pouchCount);
             
-            // Play alert when pouches become full (only once per fill)
-            if (pouchCount >= maxPouches && previousPouchCount < maxPouches) {
-                if (!alertedPouchFull && config.playThievingPouchFullSound()) {
-                    playSoundEffect();
-                    alertedPouchFull = true;
-                    log.debug("Coin pouches full - playing alert");
+            int tick = client.getTickCount();
+            if (pouchCount != lastRecordedPouchCount) {
+                if (lastRecordedPouchCount >= 0 && pouchCount > lastRecordedPouchCount) {
+                    pouchGainRate.record(pouchCount - lastRecordedPouchCount, tick);
                 }
-            } else if (pouchCount < maxPouches) {
-                // Reset alert when pouches are no longer full
-                alertedPouchFull = false;
+                if (lastRecordedPouchCount >= 0) {
+                    sessionHistory.record(HistoryEventType.COIN_POUCHES, pouchCount, maxPouches,
+                        pouchCount - lastRecordedPouchCount);
+                }
+                lastRecordedPouchCount = pouchCount;
             }
             
-            previousPouchCount = pouchCount;
+            int etaSeconds = pouchGainRate.secondsUntil(maxPouches - pouchCount, tick);
+            thievingInfo.setPouchesFullEtaSeconds(etaSeconds);
+            
+            alerts.set(AlertInput.POUCHES_FREE, maxPouches - pouchCount);
+            alerts.set(AlertInput.POUCHES_ETA_SECONDS, etaSeconds < 0 ? Integer.MAX_VALUE : etaSeconds);
         } catch (Exception e) {
             log.debug("Error updating coin pouch count: {}", e.getMessage());
         }
@@ -385,6 +527,11 @@ public class ThievingManager {
             thievingInfo.setThievingXp(currentXp);
             thievingInfo.setThievingLevel(currentLevel);
             
+            if (lastRecordedThievingXp >= 0 && currentXp > lastRecordedThievingXp) {
+                sessionHistory.record(HistoryEventType.THIEVING_XP, currentXp, currentXp - lastRecordedThievingXp);
+            }
+            lastRecordedThievingXp = currentXp;
+            
             if (currentLevel >= 99) {
                 thievingInfo.setXpToNextLevel(0);
                 thievingInfo.setXpInCurrentLevel(0);
@@ -406,8 +553,15 @@ public class ThievingManager {
     }
     
     public void onConfigChanged() {
-        if (overlayWindow != null) {
-            SwingUtilities.invokeLater(() -> overlayWindow.updateConfig());
+        activity.setGraceTicks(secondsToTicks(config.thievingIdleThreshold()));
+        rebuildAlertRules();
+        ThievingOverlayWindow window = overlayWindow;
+        if (window != null) {
+            SwingUtilities.invokeLater(() -> {
+                if (!window.isDisposed()) {
+                    window.updateConfig();
+                }
+            });
         }
     }
     
@@ -419,24 +573,18 @@ public class ThievingManager {
     
     /**
      * Checks if an NPC should be hidden during distraction.
-     * Hides all NPCs except the distracted wealthy citizen.
+     * Hides all NPCs except the distracted wealthy citizens.
      */
     public boolean shouldHideNpc(NPC npc) {
-        if (!config.hideNpcsDuringDistraction()) {
-            return false;
-        }
-        
-        // Only hide when in thieving area and citizen is distracted
-        if (!thievingInfo.isInThievingArea() || !thievingInfo.isCitizenDistracted()) {
-            return false;
-        }
-        
-        // Don't hide the distracted NPC
-        if (distractedNpc != null && npc.getIndex() == distractedNpc.getIndex()) {
-            return false;
-        }
-        
-        // Hide all other NPCs
-        return true;
+        // Hide all NPCs other than the distracted citizens
+        return isHidingNpcs() && !isDistracted(npc);
+    }
+    
+    /**
+     * Whether NPCs are hidden at all, only in the thieving area while a citizen is distracted.
+     */
+    public boolean isHidingNpcs() {
+        return config.hideNpcsDuringDistraction()
+            && thievingInfo.isInThievingArea() && thievingInfo.isCitizenDistracted();
     }
 }
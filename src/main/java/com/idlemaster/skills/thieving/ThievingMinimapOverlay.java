@@ -0,0 +1,132 @@
+package com.idlemaster.skills.thieving;
+
+import com.idlemaster.IdleMasterConfig;
+import net.runelite.api.Client;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.Point;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayUtil;
+
+import javax.inject.Inject;
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Minimap dot for the distracted wealthy citizens, the cheapest highlight style.
+ *
+ * A dot is only recomputed when the citizen or the player moves, or the minimap
+ * rotates or zooms.
+ */
+public class ThievingMinimapOverlay extends Overlay {
+    
+    private static final Color DOT_COLOR = new Color(0, 255, 0, 255);
+    private final Client client;
+    private final IdleMasterConfig config;
+    private final ThievingManager thievingManager;
+    private final HighlightCostTracker costTracker;
+    
+    // Minimap dots by NPC index
+    private CachedDot[] dots = new CachedDot[0];
+    
+    @Inject
+    public ThievingMinimapOverlay(Client client,
+                                  IdleMasterConfig config,
+                                  ThievingManager thievingManager,
+                                  HighlightCostTracker costTracker) {
+        this.client = client;
+        this.config = config;
+        this.thievingManager = thievingManager;
+        this.costTracker = costTracker;
+        
+        setPosition(OverlayPosition.DYNAMIC);
+        setLayer(OverlayLayer.ABOVE_WIDGETS);
+    }
+    
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        if (config.highlightStyle() != HighlightStyle.MINIMAP
+            || !ThievingHighlightOverlay.shouldHighlight(config, thievingManager)) {
+            return null;
+        }
+        
+        CitizenDistractionTracker distractions = thievingManager.getDistractions();
+        WorldView worldView = client.getTopLevelWorldView();
+        Player localPlayer = client.getLocalPlayer();
+        if (distractions.getDistractedCount() == 0 || worldView == null || localPlayer == null) {
+            return null;
+        }
+        LocalPoint playerLocation = localPlayer.getLocalLocation();
+        if (playerLocation == null) {
+            return null;
+        }
+        
+        long start = System.nanoTime();
+        long view = minimapKey(playerLocation);
+        boolean drawn = false;
+        for (int index = distractions.nextDistracted(0); index >= 0; index = distractions.nextDistracted(index + 1)) {
+            NPC npc = worldView.npcs().byIndex(index);
+            Point dot = npc != null ? dotOf(npc, view) : null;
+            if (dot != null) {
+                OverlayUtil.renderMinimapLocation(graphics, dot, DOT_COLOR);
+                drawn = true;
+            }
+        }
+        if (drawn) {
+            costTracker.record(HighlightStyle.MINIMAP, System.nanoTime() - start);
+        }
+        
+        return null;
+    }
+    
+    private Point dotOf(NPC npc, long view) {
+        LocalPoint location = npc.getLocalLocation();
+        if (location == null) {
+            return null;
+        }
+        
+        int index = npc.getIndex();
+        if (index >= dots.length) {
+            dots = Arrays.copyOf(dots, Math.max(index + 1, dots.length * 2));
+        }
+        CachedDot cached = dots[index];
+        if (cached == null) {
+            cached = new CachedDot();
+            dots[index] = cached;
+        }
+        
+        if (cached.npcId != npc.getId() || cached.view != view
+            || cached.x != location.getX() || cached.y != location.getY()) {
+            cached.npcId = npc.getId();
+            cached.view = view;
+            cached.x = location.getX();
+            cached.y = location.getY();
+            cached.dot = npc.getMinimapLocation();
+        }
+        return cached.dot;
+    }
+    
+    // Changes whenever the minimap scrolls, rotates, zooms or moves on screen
+    private long minimapKey(LocalPoint playerLocation) {
+        long key = playerLocation.getX();
+        key = key * 31 + playerLocation.getY();
+        key = key * 31 + client.getCameraYaw();
+        key = key * 31 + Double.hashCode(client.getMinimapZoom());
+        key = key * 31 + client.getCanvasWidth();
+        key = key * 31 + client.getCanvasHeight();
+        return key;
+    }
+    
+    private static final class CachedDot {
+        // Not the NPC itself, which would outlive its despawn here
+        int npcId = -1;
+        long view;
+        int x;
+        int y;
+        Point dot;
+    }
+}
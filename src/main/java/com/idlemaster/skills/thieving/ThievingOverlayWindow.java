@@ -1,6 +1,7 @@
 package com.idlemaster.skills.thieving;
 
 import com.idlemaster.IdleMasterConfig;
+import com.idlemaster.alerts.AlertLatencyTracker;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.util.ImageUtil;
 
@@ -41,6 +42,7 @@ public class ThievingOverlayWindow extends JFrame {
     private final ThievingInfo thievingInfo;
     private final IdleMasterConfig config;
     private ConfigManager configManager;
+    private final AlertLatencyTracker latencyTracker;
     private JPanel contentPanel;
     private JPanel infoPanel;
     
@@ -64,10 +66,15 @@ public class ThievingOverlayWindow extends JFrame {
     private boolean isResizing = false;
     private int resizeEdge = 0;
     
-    public ThievingOverlayWindow(ThievingInfo thievingInfo, IdleMasterConfig config, ConfigManager configManager) {
+    // Set once disposed so queued updates from the client thread become no-ops
+    private volatile boolean disposed = false;
+    
+    public ThievingOverlayWindow(ThievingInfo thievingInfo, IdleMasterConfig config, ConfigManager configManager,
+                                 AlertLatencyTracker latencyTracker) {
         this.thievingInfo = thievingInfo;
         this.config = config;
         this.configManager = configManager;
+        this.latencyTracker = latencyTracker;
         
         initializeWindow();
         loadIcons();
@@ -106,6 +113,7 @@ public class ThievingOverlayWindow extends JFrame {
                 g2d.drawRoundRect(0, 0, getWidth() - 1, getHeight() - 1, 10, 10);
                 
                 g2d.dispose();
+                latencyTracker.onOverlayPainted();
             }
         };
         contentPanel.setOpaque(false);
@@ -452,12 +460,36 @@ public class ThievingOverlayWindow extends JFrame {
         configManager.setConfiguration("idlemaster", "thievingWindowHeight", String.valueOf(getHeight()));
     }
     
+    @Override
+    public void dispose() {
+        disposed = true;
+        super.dispose();
+    }
+    
+    public boolean isDisposed() {
+        return disposed;
+    }
+    
     public void updateDisplay() {
+        updateDisplay(-1);
+    }
+
+    /**
+     * Applies the current info on the EDT. infoTick is the game tick the info was
+     * published on, or -1 when the update is not driven by a tick.
+     */
+    public void updateDisplay(int infoTick) {
         SwingUtilities.invokeLater(() -> {
+            if (disposed) {
+                return;
+            }
             updateDistractionStatusDisplay();
             updateCoinPouchDisplay();
             updatePlayerStatusDisplay();
             updateXpBarDisplay();
+            if (infoTick >= 0) {
+                latencyTracker.onInfoApplied(infoTick);
+            }
             contentPanel.repaint();
         });
     }
@@ -484,7 +516,7 @@ public class ThievingOverlayWindow extends JFrame {
     
     private void updateCoinPouchDisplay() {
         if (config.showThievingCoinPouches()) {
-            String pouchText = "Pouches: " + thievingInfo.getCoinPouchText();
+            String pouchText = "Pouches: " + thievingInfo.getCoinPouchText() + thievingInfo.getCoinPouchEtaText();
             coinPouchLabel.setText(pouchText);
             
             // Color based on fill percentage: green (low) -> orange (medium) -> red (full)
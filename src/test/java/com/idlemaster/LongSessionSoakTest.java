@@ -0,0 +1,497 @@
+package com.idlemaster;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.util.Providers;
+import com.idlemaster.skills.sailing.ShipwreckTracker;
+import com.idlemaster.skills.thieving.ThievingOverlayWindow;
+import net.runelite.api.Actor;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldEntity;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.WorldEntityDespawned;
+import net.runelite.api.events.WorldEntitySpawned;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.callback.Hooks;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.input.KeyManager;
+import net.runelite.client.input.MouseManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.outline.ModelOutlineRenderer;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.swing.SwingUtilities;
+import java.awt.HeadlessException;
+import java.awt.Window;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Soak check for multi-hour sessions: runs the plugin and its thieving manager through ten
+ * hours of client events against a stub client, with spawn churn, scene loads, world hops,
+ * logouts and plugin restarts. Fails if the retained heap grows after warmup, if scene
+ * objects the client dropped stay reachable, or if overlay windows pile up.
+ *
+ * The overlay windows need a display, without one their creation fails on the EDT and only
+ * the rest of the plugin is exercised.
+ */
+@Category(SoakTest.class)
+public class LongSessionSoakTest {
+
+    private static final int TICKS = 10 * 60 * 100; // 10 hours of 0.6s ticks
+    private static final int SCENE_LOAD_INTERVAL = 500;
+    private static final int SITE_INTERVAL = 1_500;
+    private static final int HOP_INTERVAL = 7_000;
+    private static final int RESTART_INTERVAL = 12_000;
+    private static final int SAMPLE_INTERVAL = 3_000;
+
+    // Heap is compared against the first sample after the first restart
+    private static final int WARMUP_TICKS = RESTART_INTERVAL;
+    private static final long HEAP_TOLERANCE_BYTES = 4L << 20;
+
+    private static final int MAX_SCENE_NPCS = 128;
+    private static final int MAX_OTHER_BOATS = 6;
+    private static final int WRECK_SITES = 24;
+    private static final int CITIZEN_ID = 13302;
+    private static final int MONSTER_ID = 15210;
+    private static final int COIN_POUCH_ID = 22521;
+    private static final String SORTING_DONE = "You have no more salvage to sort.";
+    private static final String WRECK_DEPLETED =
+        "You salvage all you can from the shipwreck before it is reclaimed by the sea.";
+
+    private final Random random = new Random(42);
+
+    // Everything the simulated client currently holds
+    private final Map<Integer, NPC> sceneNpcs = new HashMap<>();
+    private final Map<Integer, WorldEntity> sceneBoats = new HashMap<>();
+    private final Map<Long, GameObject> sceneWrecks = new HashMap<>();
+    private WorldView ownWorldView;
+    private Actor child;
+    private Player player;
+    private Item[] inventory = new Item[0];
+    private GameState gameState = GameState.LOGIN_SCREEN;
+    private int tick;
+    private int regionX;
+    private int nextWorldViewId;
+    private boolean thievingSite;
+
+    // Every scene stub handed to the plugin, to find the ones it still holds
+    private final List<WeakReference<Object>> created = new ArrayList<>();
+
+    // Client thread work queued for the end of the tick
+    private final Deque<Runnable> tickEnd = new ArrayDeque<>();
+    private final ClientThread clientThread = new ClientThread() {
+        @Override
+        public void invoke(Runnable runnable) {
+            runnable.run();
+        }
+
+        @Override
+        public void invokeLater(Runnable runnable) {
+            tickEnd.add(runnable);
+        }
+
+        @Override
+        public void invokeAtTickEnd(Runnable runnable) {
+            tickEnd.add(runnable);
+        }
+    };
+
+    private final WorldView topLevel = Stubs.of(WorldView.class, Map.of(
+        "getId", -1,
+        "isTopLevel", true,
+        "npcs", sceneNpcs.values(),
+        "players", (Supplier<Object>) () -> player != null ? List.of(player) : List.of(),
+        "worldEntities", sceneBoats.values()));
+
+    private final ItemContainer inventoryContainer = Stubs.of(ItemContainer.class, Map.of(
+        "getId", InventoryID.INV,
+        "getItems", (Supplier<Object>) () -> inventory));
+
+    private final Client client = Stubs.of(Client.class, Map.of(
+        "getTopLevelWorldView", topLevel,
+        "getLocalPlayer", (Supplier<Object>) () -> player,
+        "getGameState", (Supplier<Object>) () -> gameState,
+        "getTickCount", (Supplier<Object>) () -> tick,
+        "getAccountHash", 1L,
+        "getItemContainer", inventoryContainer));
+
+    private final IdleMasterConfig config = Stubs.of(IdleMasterConfig.class, Map.of(
+        "soundVolume", 0,
+        "recordSessionHistory", false,
+        "enableThievingOverlay", true,
+        "cullingMode", true,
+        "lowPowerMode", true));
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final List<Throwable> edtErrors = Collections.synchronizedList(new ArrayList<>());
+    private Thread.UncaughtExceptionHandler previousEdtHandler;
+    private IdleMasterPlugin plugin;
+
+    @Before
+    public void before() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            previousEdtHandler = Thread.currentThread().getUncaughtExceptionHandler();
+            Thread.currentThread().setUncaughtExceptionHandler((thread, e) -> {
+                if (!(e instanceof HeadlessException)) {
+                    edtErrors.add(e);
+                }
+            });
+        });
+
+        plugin = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Client.class).toInstance(client);
+                bind(IdleMasterConfig.class).toInstance(config);
+                bind(ScheduledExecutorService.class).toInstance(executor);
+                // Providers, so Guice leaves the members of these client classes alone
+                bind(ClientThread.class).toProvider(Providers.of(clientThread));
+                bind(ConfigManager.class).toProvider(Providers.of(Stubs.of(ConfigManager.class)));
+                bind(Hooks.class).toProvider(Providers.of(Stubs.of(Hooks.class)));
+                bind(OverlayManager.class).toProvider(Providers.of(Stubs.of(OverlayManager.class)));
+                bind(ClientToolbar.class).toProvider(Providers.of(Stubs.of(ClientToolbar.class)));
+                bind(KeyManager.class).toProvider(Providers.of(Stubs.of(KeyManager.class)));
+                bind(MouseManager.class).toProvider(Providers.of(Stubs.of(MouseManager.class)));
+                bind(ModelOutlineRenderer.class).toProvider(Providers.of(Stubs.of(ModelOutlineRenderer.class)));
+            }
+        }).getInstance(IdleMasterPlugin.class);
+    }
+
+    @After
+    public void after() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        SwingUtilities.invokeAndWait(() -> Thread.currentThread().setUncaughtExceptionHandler(previousEdtHandler));
+    }
+
+    @Test
+    public void retainedHeapStaysFlat() throws Exception {
+        plugin.startUp();
+        login();
+
+        long baseline = -1;
+        List<Long> samples = new ArrayList<>();
+        for (tick = 1; tick <= TICKS; tick++) {
+            if (tick % RESTART_INTERVAL == 0) {
+                plugin.shutDown();
+                plugin.startUp();
+            } else if (tick % HOP_INTERVAL == 0) {
+                if (tick % (2 * HOP_INTERVAL) == 0) {
+                    logout();
+                } else {
+                    hop();
+                }
+                // Nothing from the old scene may be left
+                assertBounded();
+                login();
+            } else if (tick % SCENE_LOAD_INTERVAL == 0) {
+                loadScene();
+            }
+            if (tick % SITE_INTERVAL == 0) {
+                // Alternate between salvaging and pickpocketing, showing and hiding the windows
+                thievingSite = !thievingSite;
+            }
+
+            churnNpcs();
+            churnBoats();
+            churnWrecks();
+            churnInventory();
+            chat();
+
+            plugin.onGameTick(new GameTick());
+            runTickEnd();
+
+            if (tick % SAMPLE_INTERVAL == 0) {
+                long heap = assertBounded();
+                if (heap < 0) {
+                    continue;
+                }
+                samples.add(heap);
+                if (baseline < 0 && tick >= WARMUP_TICKS) {
+                    baseline = heap;
+                } else if (baseline >= 0) {
+                    assertTrue("Retained heap grew after tick " + tick + ", samples " + samples,
+                        heap <= baseline + HEAP_TOLERANCE_BYTES);
+                }
+            }
+        }
+
+        plugin.shutDown();
+        runTickEnd();
+        SwingUtilities.invokeAndWait(() -> { });
+        Assume.assumeTrue("Explicit GC is disabled", baseline >= 0 && collectGarbage());
+        assertWindowsAtMost(0);
+        assertTrue("Errors on the EDT: " + edtErrors, edtErrors.isEmpty());
+    }
+
+    private void login() {
+        gameState = GameState.LOGGING_IN;
+        player = track(Stubs.of(Player.class, Map.of(
+            "getId", 0,
+            "getName", "Soak",
+            "getWorldView", (Supplier<Object>) () -> thievingSite ? topLevel : ownWorldView,
+            "getWorldLocation", (Supplier<Object>) () -> thievingSite
+                ? new WorldPoint(regionX + 12, 3212, 0) : new WorldPoint(regionX + 12, 3012, 0))));
+        ownWorldView = Stubs.of(WorldView.class, Map.of(
+            "getId", nextWorldViewId,
+            "npcs", (Supplier<Object>) () -> sceneNpcs.values().stream()
+                .filter(npc -> npc.getWorldView() == ownWorldView)
+                .collect(Collectors.toList())));
+        nextWorldViewId += 16;
+        child = Stubs.of(NPC.class, Map.of("getCombatLevel", 0, "getIndex", 65535));
+        WorldEntity boat = track(Stubs.of(WorldEntity.class, Map.of(
+            "getWorldView", ownWorldView,
+            "getOwnerType", WorldEntity.OWNER_TYPE_SELF_PLAYER)));
+        sceneBoats.put(ownWorldView.getId(), boat);
+        plugin.onWorldEntitySpawned(new WorldEntitySpawned(boat));
+        loadScene();
+    }
+
+    private void loadScene() {
+        // Wrecks and other boats are dropped without despawn events, NPCs and our boat stay
+        changeGameState(GameState.LOADING);
+        sceneWrecks.clear();
+        sceneBoats.keySet().removeIf(id -> id != ownWorldView.getId());
+        regionX = (regionX + 64) % 4096;
+        changeGameState(GameState.LOGGED_IN);
+    }
+
+    private void hop() {
+        // The client drops the whole scene
+        changeGameState(GameState.HOPPING);
+        dropScene();
+    }
+
+    private void logout() {
+        changeGameState(GameState.LOGIN_SCREEN);
+        dropScene();
+        inventory = new Item[0];
+    }
+
+    private void dropScene() {
+        sceneNpcs.clear();
+        sceneBoats.clear();
+        sceneWrecks.clear();
+        player = null;
+    }
+
+    private void changeGameState(GameState state) {
+        gameState = state;
+        GameStateChanged event = new GameStateChanged();
+        event.setGameState(state);
+        plugin.onGameStateChanged(event);
+    }
+
+    private void churnNpcs() {
+        for (int i = 0; i < 4; i++) {
+            int index = random.nextInt(MAX_SCENE_NPCS * 2);
+            NPC existing = sceneNpcs.remove(index);
+            if (existing != null) {
+                plugin.onNpcDespawned(new NpcDespawned(existing));
+                continue;
+            }
+            if (sceneNpcs.size() >= MAX_SCENE_NPCS) {
+                continue;
+            }
+
+            // Crew aboard our boat, monsters by the wrecks and citizens that may be distracted already
+            int kind = random.nextInt(8);
+            boolean aboard = kind == 0;
+            boolean monster = kind == 1;
+            boolean distracted = random.nextBoolean();
+            WorldPoint location = monster
+                ? new WorldPoint(regionX + random.nextInt(WRECK_SITES), 3000 + random.nextInt(WRECK_SITES), 0)
+                : new WorldPoint(regionX + random.nextInt(24), 3200 + random.nextInt(24), 0);
+            NPC npc = track(Stubs.of(NPC.class, Map.of(
+                "getIndex", index,
+                "getId", aboard ? 0 : monster ? MONSTER_ID : CITIZEN_ID,
+                "getName", aboard ? "Jobless Jim" : monster ? "Kraken" : "Wealthy citizen",
+                "getWorldView", aboard ? ownWorldView : topLevel,
+                "getWorldLocation", location,
+                "getInteracting", distracted ? child : player)));
+            sceneNpcs.put(index, npc);
+            plugin.onNpcSpawned(new NpcSpawned(npc));
+        }
+
+        // Citizens getting distracted and losing interest, monsters turning on us
+        int index = random.nextInt(MAX_SCENE_NPCS * 2);
+        NPC npc = sceneNpcs.get(index);
+        if (npc != null) {
+            Actor target = npc.getId() == MONSTER_ID ? player : random.nextBoolean() ? child : null;
+            plugin.onInteractingChanged(new InteractingChanged(npc, target));
+        }
+    }
+
+    private void churnBoats() {
+        if (random.nextInt(10) != 0) {
+            return;
+        }
+        int id = ownWorldView.getId() + 1 + random.nextInt(MAX_OTHER_BOATS);
+        WorldEntity existing = sceneBoats.remove(id);
+        if (existing != null) {
+            plugin.onWorldEntityDespawned(new WorldEntityDespawned(existing));
+            return;
+        }
+        WorldEntity boat = track(Stubs.of(WorldEntity.class, Map.of(
+            "getWorldView", Stubs.of(WorldView.class, Map.of("getId", id)),
+            "getOwnerType", WorldEntity.OWNER_TYPE_OTHER_PLAYER)));
+        sceneBoats.put(id, boat);
+        plugin.onWorldEntitySpawned(new WorldEntitySpawned(boat));
+    }
+
+    private void churnWrecks() {
+        int site = random.nextInt(WRECK_SITES);
+        WorldPoint location = new WorldPoint(regionX + site, 3000 + site, 0);
+        long packed = ShipwreckTracker.pack(location);
+        GameObject previous = sceneWrecks.get(packed);
+        // Salvageable and depleted objects swap on the same tile, the new one spawning first
+        int id = previous == null || !ShipwreckTracker.isSalvageable(previous.getId()) ? 60464 : 60465;
+        GameObject wreck = track(Stubs.of(GameObject.class, Map.of("getId", id, "getWorldLocation", location)));
+        sceneWrecks.put(packed, wreck);
+        GameObjectSpawned spawned = new GameObjectSpawned();
+        spawned.setGameObject(wreck);
+        plugin.onGameObjectSpawned(spawned);
+        if (previous != null) {
+            GameObjectDespawned despawned = new GameObjectDespawned();
+            despawned.setGameObject(previous);
+            plugin.onGameObjectDespawned(despawned);
+        }
+    }
+
+    private void churnInventory() {
+        if (random.nextInt(4) != 0) {
+            return;
+        }
+        inventory = new Item[]{new Item(COIN_POUCH_ID, random.nextInt(28))};
+        plugin.onItemContainerChanged(new ItemContainerChanged(InventoryID.INV, inventoryContainer));
+    }
+
+    private void chat() {
+        if (random.nextInt(20) != 0) {
+            return;
+        }
+        ChatMessage event = new ChatMessage();
+        event.setType(ChatMessageType.GAMEMESSAGE);
+        event.setMessage(random.nextBoolean() ? SORTING_DONE : WRECK_DEPLETED);
+        plugin.onChatMessage(event);
+    }
+
+    private void runTickEnd() {
+        for (Runnable runnable = tickEnd.poll(); runnable != null; runnable = tickEnd.poll()) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Checks that only what the client holds is reachable, returns the retained heap or -1
+     * when explicit GC is disabled.
+     */
+    private long assertBounded() throws Exception {
+        // Let the window updates queued by this tick run first
+        SwingUtilities.invokeAndWait(() -> { });
+        if (!collectGarbage()) {
+            return -1;
+        }
+
+        int alive = countAlive(created);
+        int held = sceneNpcs.size() + sceneBoats.size() + sceneWrecks.size() + (player != null ? 1 : 0);
+        assertEquals("Scene objects retained after tick " + tick, held, alive);
+        created.removeIf(reference -> reference.get() == null);
+
+        assertWindowsAtMost(1);
+        assertTrue("Errors on the EDT: " + edtErrors, edtErrors.isEmpty());
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private void assertWindowsAtMost(int max) throws Exception {
+        // Disposed windows stay listed until collected, so anything still holding one shows up here
+        int[] counts = new int[2];
+        SwingUtilities.invokeAndWait(() -> {
+            for (Window window : Window.getWindows()) {
+                if (window instanceof FloatingOverlayWindow) {
+                    counts[0]++;
+                } else if (window instanceof ThievingOverlayWindow) {
+                    counts[1]++;
+                }
+            }
+        });
+        assertTrue("Salvage windows alive after tick " + tick + ": " + counts[0], counts[0] <= max);
+        assertTrue("Thieving windows alive after tick " + tick + ": " + counts[1], counts[1] <= max);
+    }
+
+    private <T> T track(T stub) {
+        created.add(new WeakReference<>(stub));
+        return stub;
+    }
+
+    private static int countAlive(List<WeakReference<Object>> references) {
+        int alive = 0;
+        for (Iterator<WeakReference<Object>> it = references.iterator(); it.hasNext(); ) {
+            if (it.next().get() != null) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    // Runs full collections until an unreachable sentinel is gone, false if it never is
+    private static boolean collectGarbage() {
+        WeakReference<Object> sentinel = new WeakReference<>(new Object());
+        for (int i = 0; i < 10 && sentinel.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (sentinel.get() != null) {
+            return false;
+        }
+        // One more pass for anything only freed by the first collection
+        System.gc();
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package com.idlemaster;
+
+/**
+ * JUnit category of the long running soak tests. They are left out of the regular test
+ * task and run with {@code ./gradlew soakTest}.
+ */
+public interface SoakTest {
+}
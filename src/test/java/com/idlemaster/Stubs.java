@@ -0,0 +1,53 @@
+package com.idlemaster;
+
+import org.mockito.Answers;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Stubs backed by a map of method name to answer, for driving plugin components
+ * without a client.
+ *
+ * An answer that is a {@link Supplier} is called on every invocation. An {@link Iterable}
+ * answer for a method returning another interface, such as the indexed sets of a world
+ * view, is wrapped in a stub that iterates it. Methods without an answer run their default
+ * implementation if they have one, and otherwise return zero, false, null or an empty
+ * collection. Client classes can be stubbed as well as interfaces. Stubs don't
+ * record their invocations, so long runs don't grow the heap through them.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T of(Class<T> type) {
+        return of(type, Collections.emptyMap());
+    }
+
+    static <T> T of(Class<T> type, Map<String, Object> answers) {
+        return mock(type, withSettings().stubOnly().defaultAnswer(invocation -> {
+            Method method = invocation.getMethod();
+            Object answer = answers.get(method.getName());
+            if (answer instanceof Supplier) {
+                answer = ((Supplier<?>) answer).get();
+            }
+            if (answer instanceof Iterable && !method.getReturnType().isInstance(answer)) {
+                Iterable<?> elements = (Iterable<?>) answer;
+                return of(method.getReturnType(), Map.of("iterator", (Supplier<Object>) elements::iterator));
+            }
+            if (answer != null) {
+                return answer;
+            }
+            if (method.isDefault()) {
+                return invocation.callRealMethod();
+            }
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        }));
+    }
+}
@@ -0,0 +1,205 @@
+package com.idlemaster.alerts;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AlertEngineTest {
+
+    private final List<AlertType> fired = new ArrayList<>();
+    private final List<Integer> causeTicks = new ArrayList<>();
+    private AlertEngine engine;
+
+    @Before
+    public void setUp() {
+        engine = new AlertEngine((type, priority, causeTick, causeNanos) -> {
+            fired.add(type);
+            causeTicks.add(causeTick);
+        });
+    }
+
+    @Test
+    public void hysteresisStopsRetriggerInsideTheBand() {
+        engine.compile(Collections.singletonList(
+            AlertRule.above(AlertType.INVENTORY_FULL, AlertInput.INVENTORY_USED, 28, 26)));
+
+        engine.set(AlertInput.INVENTORY_USED, 28);
+        engine.evaluate(1);
+        assertEquals(1, fired.size());
+
+        // Hovering between release and trigger neither releases nor repeats the alert
+        engine.set(AlertInput.INVENTORY_USED, 27);
+        engine.evaluate(2);
+        engine.set(AlertInput.INVENTORY_USED, 28);
+        engine.evaluate(3);
+        assertEquals(1, fired.size());
+
+        engine.set(AlertInput.INVENTORY_USED, 25);
+        engine.evaluate(4);
+        engine.set(AlertInput.INVENTORY_USED, 28);
+        engine.evaluate(5);
+        assertEquals(2, fired.size());
+    }
+
+    @Test
+    public void belowRuleMirrorsAbove() {
+        engine.compile(Collections.singletonList(
+            AlertRule.below(AlertType.LOW_BOAT_HEALTH, AlertInput.BOAT_HEALTH_PERCENT, 30, 40)));
+
+        engine.set(AlertInput.BOAT_HEALTH_PERCENT, 30);
+        engine.evaluate(1);
+        engine.set(AlertInput.BOAT_HEALTH_PERCENT, 35);
+        engine.evaluate(2);
+        engine.set(AlertInput.BOAT_HEALTH_PERCENT, 20);
+        engine.evaluate(3);
+        assertEquals(1, fired.size());
+
+        engine.set(AlertInput.BOAT_HEALTH_PERCENT, 41);
+        engine.evaluate(4);
+        engine.set(AlertInput.BOAT_HEALTH_PERCENT, 29);
+        engine.evaluate(5);
+        assertEquals(2, fired.size());
+    }
+
+    @Test
+    public void debounceWaitsForTheConditionToHold() {
+        engine.compile(Collections.singletonList(
+            AlertRule.whenSet(AlertType.CREW_IDLE, AlertInput.CREW_IDLE).debounce(3)));
+
+        engine.set(AlertInput.CREW_IDLE, true);
+        engine.evaluate(10);
+        engine.evaluate(11);
+        engine.evaluate(12);
+        assertTrue(fired.isEmpty());
+
+        // Pending rules are evaluated without their input changing
+        engine.evaluate(13);
+        assertEquals(Collections.singletonList(AlertType.CREW_IDLE), fired);
+    }
+
+    @Test
+    public void debounceRestartsWhenTheConditionClears() {
+        engine.compile(Collections.singletonList(
+            AlertRule.whenSet(AlertType.CREW_IDLE, AlertInput.CREW_IDLE).debounce(3)));
+
+        engine.set(AlertInput.CREW_IDLE, true);
+        engine.evaluate(10);
+        engine.evaluate(11);
+        engine.set(AlertInput.CREW_IDLE, false);
+        engine.evaluate(12);
+        engine.set(AlertInput.CREW_IDLE, true);
+        engine.evaluate(13);
+        engine.evaluate(14);
+        engine.evaluate(15);
+        assertTrue(fired.isEmpty());
+
+        engine.evaluate(16);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void cooldownSuppressesRepeatedNotifications() {
+        engine.compile(Collections.singletonList(
+            AlertRule.whenSet(AlertType.MONSTER_ATTACK, AlertInput.MONSTER_ATTACKING).cooldown(10)));
+
+        engine.set(AlertInput.MONSTER_ATTACKING, true);
+        engine.evaluate(0);
+        engine.set(AlertInput.MONSTER_ATTACKING, false);
+        engine.evaluate(1);
+        engine.set(AlertInput.MONSTER_ATTACKING, true);
+        engine.evaluate(2);
+        assertEquals(1, fired.size());
+
+        engine.set(AlertInput.MONSTER_ATTACKING, false);
+        engine.evaluate(9);
+        engine.set(AlertInput.MONSTER_ATTACKING, true);
+        engine.evaluate(10);
+        assertEquals(2, fired.size());
+    }
+
+    @Test
+    public void unchangedInputsAreNotEvaluatedAgain() {
+        engine.compile(Collections.singletonList(
+            AlertRule.above(AlertType.CARGO_FULL, AlertInput.CARGO_ETA_SECONDS, 10, 10)
+                .when(AlertInput.PLAYER_SALVAGING)));
+
+        engine.set(AlertInput.CARGO_ETA_SECONDS, 20);
+        engine.evaluate(1);
+        // Setting the same value again does not mark the input as changed
+        engine.set(AlertInput.CARGO_ETA_SECONDS, 20);
+        engine.evaluate(3);
+        assertTrue(fired.isEmpty());
+
+        // The guard changing evaluates the rule, the cause is still the input's own change
+        engine.set(AlertInput.PLAYER_SALVAGING, true);
+        engine.evaluate(5);
+        assertEquals(Collections.singletonList(AlertType.CARGO_FULL), fired);
+        assertEquals(Collections.singletonList(1), causeTicks);
+
+        for (int tick = 6; tick < 20; tick++) {
+            engine.set(AlertInput.CARGO_ETA_SECONDS, 20);
+            engine.evaluate(tick);
+        }
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void pulsesFireOnConsecutiveTicks() {
+        engine.compile(Collections.singletonList(
+            AlertRule.whenSet(AlertType.SORTING_DONE, AlertInput.SORTING_DONE)));
+
+        engine.pulse(AlertInput.SORTING_DONE);
+        engine.evaluate(1);
+        engine.pulse(AlertInput.SORTING_DONE);
+        engine.evaluate(2);
+        engine.evaluate(3);
+        assertEquals(2, fired.size());
+        assertEquals(0, engine.get(AlertInput.SORTING_DONE));
+    }
+
+    @Test
+    public void recompileKeepsActiveRulesActive() {
+        AlertRule inventory = AlertRule.above(AlertType.INVENTORY_FULL, AlertInput.INVENTORY_USED, 28, 26);
+        engine.compile(Collections.singletonList(inventory));
+
+        engine.set(AlertInput.INVENTORY_USED, 28);
+        engine.set(AlertInput.CREW_IDLE, true);
+        engine.evaluate(1);
+        assertEquals(1, fired.size());
+
+        // A settings change adds a rule ahead of the active one, which moves its index
+        engine.compile(Arrays.asList(
+            AlertRule.whenSet(AlertType.CREW_IDLE, AlertInput.CREW_IDLE),
+            AlertRule.above(AlertType.INVENTORY_FULL, AlertInput.INVENTORY_USED, 28, 26)));
+        engine.evaluate(2);
+
+        // The new rule sees the current values, the active one does not repeat
+        assertEquals(Arrays.asList(AlertType.INVENTORY_FULL, AlertType.CREW_IDLE), fired);
+
+        engine.set(AlertInput.INVENTORY_USED, 20);
+        engine.evaluate(3);
+        engine.set(AlertInput.INVENTORY_USED, 28);
+        engine.evaluate(4);
+        assertEquals(AlertType.INVENTORY_FULL, fired.get(fired.size() - 1));
+        assertEquals(3, fired.size());
+    }
+
+    @Test
+    public void resetRearmsAnActiveAlert() {
+        engine.compile(Collections.singletonList(
+            AlertRule.below(AlertType.CARGO_FULL, AlertInput.CARGO_FREE, 0, 0)));
+
+        engine.set(AlertInput.CARGO_FREE, 0);
+        engine.evaluate(1);
+        engine.reset(AlertType.CARGO_FULL);
+        engine.evaluate(2);
+        assertEquals(2, fired.size());
+    }
+}
@@ -0,0 +1,119 @@
+package com.idlemaster.chat;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChatMessageRouterTest {
+
+    private final ChatMessageRouter router = new ChatMessageRouter();
+    private final List<String> handled = new ArrayList<>();
+
+    @Test
+    public void exactMessagesGoToEveryHandlerOfTheMessage() {
+        router.onExact(this, "Done.", message -> handled.add("first " + message));
+        router.onExact(this, "Done.", message -> handled.add("second " + message));
+        router.onExact(this, "Other.", message -> handled.add("other " + message));
+
+        assertTrue(router.route("Done."));
+        assertEquals(List.of("first Done.", "second Done."), handled);
+        assertFalse(router.route("Done"));
+    }
+
+    @Test
+    public void patternHandlersGetTheirOwnGroups() {
+        router.onPattern(this, "You steal (\\d+) coins\\.", matcher -> handled.add("coins " + matcher.group(1)));
+        router.onPattern(this, "(?<who>\\w+) stuns you for (\\d+) ticks\\.",
+            matcher -> handled.add(matcher.group("who") + " " + matcher.group(2)));
+
+        assertTrue(router.route("Guard stuns you for 4 ticks."));
+        assertTrue(router.route("You steal 25 coins."));
+        assertEquals(List.of("Guard 4", "coins 25"), handled);
+
+        // Patterns match the whole message
+        assertFalse(router.route("You steal 25 coins. Nice."));
+    }
+
+    @Test
+    public void groupsOfLaterPatternsAreNumberedFromOne() {
+        router.onPattern(this, "You fail to pick the (.+)'s pocket\\.", match -> handled.add("failed " + match.group(1)));
+        router.onPattern(this, "You (pick|steal from) the (.+)'s (pocket|purse)\\.",
+            match -> handled.add(match.groupCount() + " " + match.group(1) + " " + match.group(2) + " " + match.group()));
+
+        assertTrue(router.route("You pick the Wealthy citizen's pocket."));
+        assertTrue(router.route("You fail to pick the Wealthy citizen's pocket."));
+        assertEquals(List.of("3 pick Wealthy citizen You pick the Wealthy citizen's pocket.",
+            "failed Wealthy citizen"), handled);
+    }
+
+    @Test
+    public void firstRegisteredPatternWins() {
+        router.onPattern(this, "You steal (\\d+) coins\\.", matcher -> handled.add("specific"));
+        router.onPattern(this, "You steal .*", matcher -> handled.add("general"));
+
+        router.route("You steal 3 coins.");
+        router.route("You steal a gem.");
+        assertEquals(List.of("specific", "general"), handled);
+    }
+
+    @Test
+    public void exactHandlersTakePrecedenceOverPatterns() {
+        router.onPattern(this, ".*", matcher -> handled.add("pattern"));
+        router.onExact(this, "Done.", message -> handled.add("exact"));
+
+        router.route("Done.");
+        assertEquals(List.of("exact"), handled);
+    }
+
+    @Test
+    public void unregisterRemovesOnlyTheOwnersHandlers() {
+        Object other = new Object();
+        router.onExact(this, "Done.", message -> handled.add("mine"));
+        router.onPattern(this, "Pattern (\\d)", matcher -> handled.add("my pattern"));
+        router.onExact(other, "Done.", message -> handled.add("theirs"));
+        router.onPattern(other, "Other (\\d)", matcher -> handled.add("their pattern " + matcher.group(1)));
+
+        router.unregister(this);
+        assertTrue(router.route("Done."));
+        assertFalse(router.route("Pattern 1"));
+        assertTrue(router.route("Other 2"));
+        assertEquals(List.of("theirs", "their pattern 2"), handled);
+
+        router.unregister(other);
+        assertFalse(router.route("Done."));
+        assertFalse(router.route("Other 2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void numberedBackreferencesAreRejected() {
+        router.onPattern(this, "(\\w+) and \\1", matcher -> handled.add("twice"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void namedBackreferencesAreRejected() {
+        router.onPattern(this, "(?<word>\\w+) and \\k<word>", matcher -> handled.add("twice"));
+    }
+
+    @Test
+    public void rejectedPatternsLeaveTheRouterWorking() {
+        router.onPattern(this, "(?<n>\\d+) coins", matcher -> handled.add("coins"));
+        try {
+            router.onPattern(this, "(?<n>\\d+) gems", matcher -> handled.add("gems"));
+        } catch (IllegalArgumentException e) {
+            // The group name is already used by the first pattern
+        }
+
+        assertTrue(router.route("5 coins"));
+        assertFalse(router.route("5 gems"));
+        assertEquals(List.of("coins"), handled);
+
+        // Quoted text is not a backreference
+        router.onPattern(this, "\\Q\\1\\E", matcher -> handled.add("quoted"));
+        assertTrue(router.route("\\1"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.idlemaster.items;
+
+import net.runelite.api.Item;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContainerDiffEngineTest {
+
+    private static final int INVENTORY = 93;
+    private static final int CARGO = 963;
+
+    private final ContainerDiffEngine engine = new ContainerDiffEngine();
+    private final List<String> reported = new ArrayList<>();
+    private final ContainerDiffEngine.Listener listener = new ContainerDiffEngine.Listener() {
+        @Override
+        public void onItemDelta(int containerId, int itemId, int delta) {
+            reported.add(containerId + ":" + itemId + ":" + delta);
+        }
+
+        @Override
+        public void onDiffComplete(int containerId) {
+            reported.add(containerId + " done");
+        }
+    };
+
+    @Before
+    public void setUp() {
+        engine.track(INVENTORY);
+        engine.track(CARGO);
+    }
+
+    @Test
+    public void firstSnapshotIsTheBaseline() {
+        assertTrue(engine.update(INVENTORY, items(995, 100, 314, 5), listener));
+
+        assertEquals(List.of(), reported);
+    }
+
+    @Test
+    public void changesAreSummedPerItem() {
+        engine.update(INVENTORY, items(995, 100, 314, 5, 314, 5), listener);
+        // Coins grow, one stack of feathers goes, a new item shows up in another slot
+        engine.update(INVENTORY, items(995, 150, 314, 5, -1, 0, 1511, 1), listener);
+
+        assertEquals(List.of("93:995:50", "93:314:-5", "93:1511:1", "93 done"), reported);
+    }
+
+    @Test
+    public void movingItemsBetweenSlotsReportsNoChange() {
+        engine.update(INVENTORY, items(995, 100, -1, 0), listener);
+        engine.update(INVENTORY, items(-1, 0, 995, 100), listener);
+
+        assertEquals(List.of("93 done"), reported);
+    }
+
+    @Test
+    public void containersAreDiffedSeparately() {
+        engine.update(INVENTORY, items(995, 100), listener);
+        engine.update(CARGO, items(995, 100), listener);
+        engine.update(CARGO, items(995, 40), listener);
+
+        assertEquals(List.of("963:995:-60", "963 done"), reported);
+    }
+
+    @Test
+    public void snapshotsGrowWithTheContainer() {
+        Item[] small = items(995, 1);
+        Item[] large = new Item[40];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = new Item(1000 + i, 1);
+        }
+
+        engine.update(CARGO, small, listener);
+        engine.update(CARGO, large, listener);
+        reported.clear();
+        engine.update(CARGO, small, listener);
+
+        assertEquals(42, reported.size());
+        assertEquals("963:1000:-1", reported.get(0));
+        assertEquals("963:995:1", reported.get(40));
+        assertEquals("963 done", reported.get(41));
+    }
+
+    @Test
+    public void untrackedContainersAreIgnored() {
+        assertFalse(engine.update(95, items(995, 100), listener));
+        assertFalse(engine.isTracked(95));
+        assertEquals(List.of(), reported);
+    }
+
+    @Test
+    public void resetMakesTheNextSnapshotABaseline() {
+        engine.update(INVENTORY, items(995, 100), listener);
+        engine.reset();
+        engine.update(INVENTORY, items(995, 500), listener);
+
+        assertEquals(List.of(), reported);
+
+        engine.update(INVENTORY, items(995, 501), listener);
+        assertEquals(List.of("93:995:1", "93 done"), reported);
+    }
+
+    // Alternating item IDs and quantities, -1 for an empty slot
+    private static Item[] items(int... idsAndQuantities) {
+        Item[] items = new Item[idsAndQuantities.length / 2];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(idsAndQuantities[i * 2], idsAndQuantities[i * 2 + 1]);
+        }
+        return items;
+    }
+}
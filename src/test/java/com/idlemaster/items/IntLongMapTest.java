@@ -0,0 +1,68 @@
+package com.idlemaster.items;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntLongMapTest {
+
+    private final IntLongMap map = new IntLongMap(4);
+
+    @Test
+    public void addSumsAmountsPerKey() {
+        map.add(995, 100);
+        map.add(314, 2);
+        map.add(995, -30);
+
+        assertEquals(70, map.get(995));
+        assertEquals(2, map.get(314));
+        assertEquals(0, map.get(1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void collidingKeysAreFoundByProbing() {
+        // All four hash to the first slot of the initial table
+        int[] keys = {0, 5, 10, 26};
+        for (int i = 0; i < keys.length; i++) {
+            map.add(keys[i], i + 1);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i + 1, map.get(keys[i]));
+        }
+        assertEquals(0, map.get(31));
+    }
+
+    @Test
+    public void growingKeepsEntriesInInsertionOrder() {
+        for (int key = 0; key < 1000; key++) {
+            map.add(key * 31, key);
+        }
+
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 31, map.keyAt(i));
+            assertEquals(i, map.valueAt(i));
+            assertEquals(i, map.get(i * 31));
+        }
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        for (int key = 0; key < 100; key++) {
+            map.add(key, 1);
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(0, map.get(5));
+
+        // Sums start over after a clear
+        map.add(5, 3);
+        map.add(5, 4);
+        assertEquals(1, map.size());
+        assertEquals(7, map.get(5));
+        assertEquals(5, map.keyAt(0));
+    }
+}
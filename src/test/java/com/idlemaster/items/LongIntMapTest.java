@@ -0,0 +1,66 @@
+package com.idlemaster.items;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongIntMapTest {
+
+    private final LongIntMap map = new LongIntMap(4);
+
+    @Test
+    public void putReplacesTheValueOfAKey() {
+        map.put(1L << 32, 1);
+        map.put(7, 2);
+        map.put(1L << 32, 3);
+
+        assertEquals(3, map.get(1L << 32, -1));
+        assertEquals(2, map.get(7, -1));
+        assertEquals(-1, map.get(1, -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void collidingKeysAreFoundByProbing() {
+        // All four hash to the first slot of the initial table
+        long[] keys = {0, 2, 9, 18};
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i], -1));
+        }
+        assertEquals(-1, map.get(25, -1));
+    }
+
+    @Test
+    public void growingKeepsEntriesInInsertionOrder() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(((long) i << 32) | i, i);
+        }
+
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(((long) i << 32) | i, map.keyAt(i));
+            assertEquals(i, map.valueAt(i));
+            assertEquals(i, map.get(((long) i << 32) | i, -1));
+        }
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(5, -1));
+
+        map.put(5, 9);
+        assertEquals(1, map.size());
+        assertEquals(9, map.get(5, -1));
+        assertEquals(5, map.keyAt(0));
+    }
+}
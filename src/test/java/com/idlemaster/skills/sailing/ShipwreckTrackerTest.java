@@ -0,0 +1,167 @@
+package com.idlemaster.skills.sailing;
+
+import net.runelite.client.config.ConfigManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ShipwreckTrackerTest {
+
+    private static final int SALVAGEABLE = 60464;
+    private static final int DEPLETED = 60465;
+    private static final long WRECK = ShipwreckTracker.pack(0, 3012, 2987);
+
+    private final Map<String, String> config = new HashMap<>();
+    private final ConfigManager configManager = mock(ConfigManager.class);
+    private int writes;
+    private ShipwreckTracker tracker;
+
+    @Before
+    public void setUp() {
+        when(configManager.getConfiguration(anyString(), anyString()))
+            .thenAnswer(invocation -> config.get(invocation.<String>getArgument(1)));
+        doAnswer(invocation -> {
+            config.put(invocation.getArgument(1), invocation.getArgument(2));
+            writes++;
+            return null;
+        }).when(configManager).setConfiguration(anyString(), anyString(), anyString());
+
+        tracker = newTracker();
+    }
+
+    @Test
+    public void locationsPackAndUnpack() {
+        assertEquals(0, ShipwreckTracker.planeOf(WRECK));
+        assertEquals(3012, ShipwreckTracker.xOf(WRECK));
+        assertEquals(2987, ShipwreckTracker.yOf(WRECK));
+
+        long corner = ShipwreckTracker.pack(3, 65535, 0);
+        assertEquals(3, ShipwreckTracker.planeOf(corner));
+        assertEquals(65535, ShipwreckTracker.xOf(corner));
+        assertEquals(0, ShipwreckTracker.yOf(corner));
+    }
+
+    @Test
+    public void medianNeedsThreeRespawns() {
+        assertFalse(tracker.onSpawned(SALVAGEABLE, WRECK, 0));
+        respawn(10, 12);
+        respawn(100, 13);
+        assertEquals(-1, tracker.expectedRespawnTicks(WRECK));
+
+        respawn(200, 40);
+        // 12 and 13 ticks fall in the 10-14 bucket, reported by its middle
+        assertEquals(12, tracker.expectedRespawnTicks(WRECK));
+    }
+
+    @Test
+    public void longRespawnsFallInTheLastBucket() {
+        tracker.onSpawned(SALVAGEABLE, WRECK, 0);
+        for (int i = 0; i < 3; i++) {
+            respawn(i * 100_000, 10_000);
+        }
+
+        assertEquals(597, tracker.expectedRespawnTicks(WRECK));
+    }
+
+    @Test
+    public void countdownStartsAtTheDepletionAndStopsAtZero() {
+        tracker.onSpawned(SALVAGEABLE, WRECK, 0);
+        for (int i = 0; i < 3; i++) {
+            respawn(i * 100, 12);
+        }
+        assertEquals(-1, tracker.ticksUntilRespawn(WRECK, 1000));
+
+        tracker.onSpawned(DEPLETED, WRECK, 1000);
+        assertEquals(7, tracker.ticksUntilRespawn(WRECK, 1005));
+        assertEquals(0, tracker.ticksUntilRespawn(WRECK, 1100));
+        assertEquals(-1, tracker.ticksUntilRespawn(ShipwreckTracker.pack(0, 1, 1), 1005));
+    }
+
+    @Test
+    public void histogramsRoundTripThroughConfig() {
+        tracker.onSpawned(SALVAGEABLE, WRECK, 0);
+        respawn(10, 12);
+        respawn(100, 13);
+        respawn(200, 40);
+        tracker.flush();
+
+        // Trailing empty buckets are left out
+        assertEquals("0,0,2,0,0,0,0,0,1", config.get("wreckRespawn." + WRECK));
+        assertEquals(1, writes);
+        tracker.flush();
+        assertEquals(1, writes);
+
+        ShipwreckTracker next = newTracker();
+        assertEquals(-1, next.expectedRespawnTicks(WRECK));
+        next.onSpawned(DEPLETED, WRECK, 0);
+        assertEquals(12, next.expectedRespawnTicks(WRECK));
+    }
+
+    @Test
+    public void malformedBucketsAreReadAsEmpty() {
+        config.put("wreckRespawn." + WRECK, "3, x,-2");
+
+        tracker.onSpawned(SALVAGEABLE, WRECK, 0);
+
+        assertEquals(2, tracker.expectedRespawnTicks(WRECK));
+    }
+
+    @Test
+    public void respawnsAcrossASceneReloadAreNotTimed() {
+        tracker.onSpawned(SALVAGEABLE, WRECK, 0);
+        for (int i = 0; i < 3; i++) {
+            respawn(i * 100, 12);
+        }
+        tracker.flush();
+
+        tracker.onSpawned(DEPLETED, WRECK, 1000);
+        tracker.onSceneCleared();
+        assertEquals(-1, tracker.ticksUntilRespawn(WRECK, 1005));
+
+        // The wreck is still known to be depleted after the reload
+        assertFalse(tracker.onSpawned(DEPLETED, WRECK, 1010));
+        assertTrue(tracker.onSpawned(SALVAGEABLE, WRECK, 1050));
+        tracker.flush();
+        assertEquals(1, writes);
+
+        // The next depletion seen in the new scene is timed again
+        tracker.onSpawned(DEPLETED, WRECK, 2000);
+        assertEquals(7, tracker.ticksUntilRespawn(WRECK, 2005));
+    }
+
+    @Test
+    public void clearForgetsStatesButKeepsHistograms() {
+        tracker.onSpawned(SALVAGEABLE, WRECK, 0);
+        for (int i = 0; i < 3; i++) {
+            respawn(i * 100, 12);
+        }
+        tracker.onSpawned(DEPLETED, WRECK, 1000);
+
+        tracker.clear();
+
+        assertEquals(-1, tracker.ticksUntilRespawn(WRECK, 1005));
+        assertFalse(tracker.onSpawned(SALVAGEABLE, WRECK, 1010));
+        assertEquals(12, tracker.expectedRespawnTicks(WRECK));
+    }
+
+    private ShipwreckTracker newTracker() {
+        return new ShipwreckTracker(configManager, mock(ScheduledExecutorService.class));
+    }
+
+    // Depletes the salvageable wreck at the given tick and respawns it the given ticks later
+    private void respawn(int tick, int respawnTicks) {
+        assertFalse(tracker.onSpawned(DEPLETED, WRECK, tick));
+        assertTrue(tracker.onSpawned(SALVAGEABLE, WRECK, tick + respawnTicks));
+    }
+}